@@ -0,0 +1,68 @@
+// Concurrency load test for comparing platform and virtual request threads.
+//
+// Start the API once with VIRTUAL_THREADS_ENABLED=false and once with true (same
+// DATABASE_POOL_SIZE), run this script against each, and compare http_reqs/s and the
+// p(99) of http_req_duration. Every VU keeps a request in flight, so VUS well above the
+// Tomcat worker count (200) shows where the platform pool starts queueing.
+//
+//   k6 run -e BASE_URL=http://localhost:8080/api/v1 -e VUS=1000 loadtest/virtual-threads.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api/v1';
+const VUS = Number(__ENV.VUS || 1000);
+const USERS = Number(__ENV.USERS || 50);
+
+export const options = {
+  scenarios: {
+    ramp: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: VUS },
+        { duration: '2m', target: VUS },
+        { duration: '15s', target: 0 },
+      ],
+      gracefulRampDown: '10s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export function setup() {
+  const run = Date.now();
+  const tokens = [];
+  for (let i = 0; i < USERS; i++) {
+    const res = http.post(`${BASE_URL}/auth/register`, JSON.stringify({
+      email: `load-${run}-${i}@example.test`,
+      password: 'load-test-password',
+      fullName: `Load Test ${i}`,
+    }), { headers: { 'Content-Type': 'application/json' } });
+    check(res, { registered: (r) => r.status === 200 || r.status === 201 });
+    const token = res.json('tokens.accessToken');
+    http.put(`${BASE_URL}/profiles/me`, JSON.stringify({ country: 'India', pincode: '560001' }), {
+      headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${token}` },
+    });
+    tokens.push(token);
+  }
+  return { tokens };
+}
+
+export default function (data) {
+  const token = data.tokens[(__VU - 1) % data.tokens.length];
+  const params = { headers: { Authorization: `Bearer ${token}` } };
+
+  // Dashboard fans out to several blocking queries; search exercises the in-memory path
+  const dashboard = http.get(`${BASE_URL}/dashboard`, { ...params, tags: { name: 'dashboard' } });
+  check(dashboard, { 'dashboard 200': (r) => r.status === 200 });
+
+  const search = http.get(`${BASE_URL}/doctors/search?term=psychiatrist&limit=20`, { ...params, tags: { name: 'search' } });
+  check(search, { 'search 200': (r) => r.status === 200 });
+
+  const vitals = http.get(`${BASE_URL}/vitals?page=0&size=20`, { ...params, tags: { name: 'vitals' } });
+  check(vitals, { 'vitals 200': (r) => r.status === 200 });
+}
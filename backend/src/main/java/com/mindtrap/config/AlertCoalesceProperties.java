@@ -0,0 +1,16 @@
+package com.mindtrap.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "alerts.coalesce")
+public class AlertCoalesceProperties {
+
+	private boolean enabled = true;
+	/** Repeat alerts to the same contact within this interval are folded into one summary delivery. */
+	private Duration window = Duration.ofMinutes(2);
+	/** Upper bound on tracked user/contact pairs; beyond it alerts are sent uncoalesced. */
+	private int maxEntries = 100_000;
+}
@@ -0,0 +1,24 @@
+package com.mindtrap.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "alerts.dispatch")
+public class AlertDispatchProperties {
+
+	private boolean enabled = true;
+	/** Fallback poll for retries and alerts left by other nodes; new alerts wake the dispatcher directly. */
+	private Duration pollInterval = Duration.ofSeconds(1);
+	private int batchSize = 50;
+	/** How long a claimed alert stays invisible to other dispatchers while it is being delivered. */
+	private Duration lease = Duration.ofSeconds(30);
+	/** Longest a single provider call may take; must be well under {@link #lease} so a slow call cannot outlive its claim. */
+	private Duration providerTimeout = Duration.ofSeconds(10);
+	private int maxAttempts = 8;
+	private Duration initialBackoff = Duration.ofSeconds(2);
+	private Duration maxBackoff = Duration.ofMinutes(5);
+	/** How long {@code POST /contacts/alert-all} waits for the first delivery attempts before answering. */
+	private Duration fanOutDeadline = Duration.ofSeconds(3);
+}
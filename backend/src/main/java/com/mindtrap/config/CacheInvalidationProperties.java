@@ -0,0 +1,20 @@
+package com.mindtrap.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "cache-invalidation")
+public class CacheInvalidationProperties {
+
+	/** Only takes effect on PostgreSQL; other databases fall back to local eviction. */
+	private boolean enabled = true;
+	private String channel = "mindtrap_cache_invalidation";
+	/** How long one wait for notifications blocks before the listener checks its connection. */
+	private Duration pollTimeout = Duration.ofSeconds(5);
+	private Duration initialReconnectDelay = Duration.ofMillis(500);
+	private Duration maxReconnectDelay = Duration.ofSeconds(30);
+	/** How often changes announced with {@code publishBatched} are sent, one notification per batch. */
+	private Duration batchInterval = Duration.ofMillis(200);
+}
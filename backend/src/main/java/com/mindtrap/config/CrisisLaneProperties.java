@@ -0,0 +1,20 @@
+package com.mindtrap.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "alerts.crisis")
+public class CrisisLaneProperties {
+
+	private boolean enabled = true;
+	/** Dedicated, pre-started threads; they only ever run crisis work. */
+	private int threads = 2;
+	/** Dedicated, pre-started threads for the first delivery attempt of each crisis alert. */
+	private int deliveryThreads = 4;
+	/** Tasks each executor queues before rejecting; rejected work runs on the caller instead. */
+	private int queueCapacity = 100;
+	/** How long a crisis waits for its first delivery attempts before logging the outcome. */
+	private Duration deliveryDeadline = Duration.ofSeconds(10);
+}
@@ -0,0 +1,20 @@
+package com.mindtrap.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "dashboard")
+public class DashboardProperties {
+
+	/** Budget for the whole aggregate; sections still running when it expires are reported as TIMEOUT. */
+	private Duration deadline = Duration.ofSeconds(2);
+	/** Most recent vital readings included in the dashboard. */
+	private int recentVitals = 10;
+	/**
+	 * Sections loaded at the same time for one request, and so pool connections it can hold.
+	 * Defaults to all four; when the pool has no idle connection they load one at a time.
+	 */
+	private int maxConcurrentSections = 4;
+}
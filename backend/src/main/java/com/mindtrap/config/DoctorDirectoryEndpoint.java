@@ -0,0 +1,29 @@
+package com.mindtrap.config;
+
+import com.mindtrap.service.doctors.DoctorDirectory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/doctordirectory}: size, load duration and estimated memory of the
+ * current provider snapshot; POST reloads the dataset and swaps in a new snapshot.
+ */
+@Component
+@Endpoint(id = "doctordirectory")
+@RequiredArgsConstructor
+public class DoctorDirectoryEndpoint {
+	private final DoctorDirectory doctorDirectory;
+
+	@ReadOperation
+	public DoctorDirectory.LoadStats status() {
+		return doctorDirectory.lastLoad();
+	}
+
+	@WriteOperation
+	public DoctorDirectory.LoadStats reload() {
+		return doctorDirectory.reload();
+	}
+}
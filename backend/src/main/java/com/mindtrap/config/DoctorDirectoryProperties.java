@@ -0,0 +1,21 @@
+package com.mindtrap.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "doctors.directory")
+public class DoctorDirectoryProperties {
+
+	/** Provider dataset: CSV with a header row, or JSON/NDJSON by extension; any Spring resource location. */
+	private String location = "classpath:doctors/providers.csv";
+	/** How often the dataset's modification time is checked; a change triggers a reload. */
+	private Duration refreshInterval = Duration.ofMinutes(5);
+	/** Spatial grid cell size in degrees (0.1 is roughly 11 km north-south). */
+	private double cellDegrees = 0.1;
+	private int defaultLimit = 20;
+	private int maxLimit = 100;
+	/** Upper bound for both nearest-N expansion and explicit radius searches. */
+	private double maxRadiusKm = 100;
+}
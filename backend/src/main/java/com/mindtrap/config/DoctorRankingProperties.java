@@ -0,0 +1,21 @@
+package com.mindtrap.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "doctors.ranking")
+public class DoctorRankingProperties {
+
+	// Blend weights; each component is normalized to [0, 1] before weighting
+	private float distanceWeight = 0.5f;
+	private float ratingWeight = 0.3f;
+	private float matchWeight = 0.2f;
+	/** Distance at which the distance component drops to one half. */
+	private double distanceScaleKm = 5;
+	/** Rating assumed for providers without one, on the 0-5 scale. */
+	private float unratedRating = 3.5f;
+	/** Candidates pulled from the spatial index per requested result. */
+	private int candidatesPerResult = 5;
+	private int maxCandidates = 1000;
+}
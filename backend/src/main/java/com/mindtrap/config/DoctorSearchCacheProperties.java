@@ -0,0 +1,21 @@
+package com.mindtrap.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "doctors.search-cache")
+public class DoctorSearchCacheProperties {
+
+	private boolean enabled = true;
+	/** Distinct searches kept; the least recently used are evicted beyond this. */
+	private int maxEntries = 10_000;
+	private Duration ttl = Duration.ofMinutes(10);
+	/**
+	 * Grid cell, in degrees, that search locations are snapped to. Everyone in a cell shares
+	 * one cached result; 0.01 is roughly 1 km.
+	 */
+	private double cellDegrees = 0.01;
+}
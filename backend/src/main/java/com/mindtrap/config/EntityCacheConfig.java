@@ -0,0 +1,61 @@
+package com.mindtrap.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache on JCache (Caffeine). Every region is created here from
+ * {@code entity-cache.regions} with its own size bound and TTL; Hibernate is told to fail
+ * on a missing region so an unconfigured {@code @Cache} annotation is caught at startup.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class EntityCacheConfig {
+	private final EntityCacheProperties properties;
+
+	@Bean(destroyMethod = "close")
+	public CacheManager entityCacheManager() {
+		CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+			.getCacheManager();
+		properties.getRegions().forEach((name, region) -> {
+			CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+			configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+			if (region.getTtl() != null) {
+				configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+			}
+			configuration.setStatisticsEnabled(true);
+			if (cacheManager.getCache(name) == null) {
+				cacheManager.createCache(name, configuration);
+			}
+		});
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+		return hibernateProperties -> {
+			boolean enabled = properties.isEnabled();
+			hibernateProperties.putAll(Map.of(
+				AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled,
+				AvailableSettings.USE_QUERY_CACHE, enabled,
+				AvailableSettings.GENERATE_STATISTICS, true
+			));
+			if (enabled) {
+				hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+				hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+				hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+			}
+		};
+	}
+}
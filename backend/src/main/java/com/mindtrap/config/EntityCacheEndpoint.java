@@ -0,0 +1,63 @@
+package com.mindtrap.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** {@code /actuator/entitycache}: hit/miss/put counts per second-level cache region. */
+@Component
+@Endpoint(id = "entitycache")
+@RequiredArgsConstructor
+public class EntityCacheEndpoint {
+	private final EntityManagerFactory entityManagerFactory;
+	private final EntityCacheProperties properties;
+
+	@ReadOperation
+	public Map<String, Object> statistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		Map<String, Object> regions = new LinkedHashMap<>();
+		for (String name : properties.getRegions().keySet()) {
+			CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+			if (region != null) {
+				regions.put(name, Map.of(
+					"hits", region.getHitCount(),
+					"misses", region.getMissCount(),
+					"puts", region.getPutCount(),
+					"hitRatio", ratio(region.getHitCount(), region.getMissCount())
+				));
+			}
+		}
+
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("enabled", properties.isEnabled());
+		body.put("secondLevel", Map.of(
+			"hits", statistics.getSecondLevelCacheHitCount(),
+			"misses", statistics.getSecondLevelCacheMissCount(),
+			"puts", statistics.getSecondLevelCachePutCount(),
+			"hitRatio", ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount())
+		));
+		body.put("queryCache", Map.of(
+			"hits", statistics.getQueryCacheHitCount(),
+			"misses", statistics.getQueryCacheMissCount(),
+			"puts", statistics.getQueryCachePutCount(),
+			"hitRatio", ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount())
+		));
+		body.put("entityLoadsFromDatabase", statistics.getEntityLoadCount());
+		body.put("regions", regions);
+		return body;
+	}
+
+	private static double ratio(long hits, long misses) {
+		long total = hits + misses;
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+}
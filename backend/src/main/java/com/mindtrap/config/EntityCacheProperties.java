@@ -0,0 +1,23 @@
+package com.mindtrap.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "entity-cache")
+public class EntityCacheProperties {
+
+	private boolean enabled = true;
+	/** Hibernate second-level cache regions by name; each is a bounded Caffeine cache. */
+	private Map<String, Region> regions = new LinkedHashMap<>();
+
+	@Data
+	public static class Region {
+		private long maxSize = 10_000;
+		/** Expiry after write; {@code null} keeps entries until evicted by size. */
+		private Duration ttl;
+	}
+}
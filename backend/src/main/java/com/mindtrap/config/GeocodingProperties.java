@@ -0,0 +1,19 @@
+package com.mindtrap.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "geocoding")
+public class GeocodingProperties {
+
+	/** Postal-code centroids as CSV: country,postal_code,latitude,longitude. */
+	private String location = "classpath:geo/postal-codes.csv";
+	/** ISO country assumed when a profile has none. */
+	private String defaultCountry = "IN";
+	/**
+	 * Shortest postal-code prefix used when the exact code is unknown; the centroid of all
+	 * known codes sharing it is returned (3 digits is an Indian sorting district).
+	 */
+	private int minPrefixLength = 3;
+}
@@ -0,0 +1,76 @@
+package com.mindtrap.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/latency}: count, mean, max and configured percentiles (in ms) of every
+ * timer with {@code management.metrics.distribution.percentiles} set, one row per tag
+ * combination, slowest p99 first. {@code ?prefix=} narrows by meter name.
+ */
+@Component
+@Endpoint(id = "latency")
+@RequiredArgsConstructor
+public class LatencyEndpoint {
+	private final MeterRegistry meterRegistry;
+
+	public record TimerLatency(
+		String name,
+		Map<String, String> tags,
+		long count,
+		double meanMillis,
+		double maxMillis,
+		Map<String, Double> percentilesMillis
+	) {
+	}
+
+	@ReadOperation
+	public List<TimerLatency> latency(@Nullable String prefix) {
+		List<TimerLatency> rows = new ArrayList<>();
+		for (Meter meter : meterRegistry.getMeters()) {
+			if (!(meter instanceof Timer timer) || (prefix != null && !timer.getId().getName().startsWith(prefix))) {
+				continue;
+			}
+			HistogramSnapshot snapshot = timer.takeSnapshot();
+			if (snapshot.percentileValues().length == 0 || snapshot.count() == 0) {
+				continue;
+			}
+			Map<String, Double> percentiles = new LinkedHashMap<>();
+			for (ValueAtPercentile value : snapshot.percentileValues()) {
+				percentiles.put("p" + trim(value.percentile() * 100), value.value(TimeUnit.MILLISECONDS));
+			}
+			Map<String, String> tags = new LinkedHashMap<>();
+			for (Tag tag : timer.getId().getTagsAsIterable()) {
+				tags.put(tag.getKey(), tag.getValue());
+			}
+			rows.add(new TimerLatency(timer.getId().getName(), tags, snapshot.count(),
+				snapshot.mean(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS), percentiles));
+		}
+		rows.sort(Comparator.comparingDouble(LatencyEndpoint::slowest).reversed());
+		return rows;
+	}
+
+	private static double slowest(TimerLatency row) {
+		return row.percentilesMillis().values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+	}
+
+	private static String trim(double percent) {
+		return percent == Math.rint(percent) ? String.valueOf((long) percent) : String.valueOf(percent);
+	}
+}
@@ -0,0 +1,20 @@
+package com.mindtrap.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "virtual-threads.pinning")
+public class PinningDiagnosticsProperties {
+
+	/** Stream JFR pinning events in-process and report them as metrics and via /actuator/pinning. */
+	private boolean enabled = true;
+	/** Pins shorter than this are ignored (the JFR default is 20 ms). */
+	private Duration threshold = Duration.ofMillis(20);
+	/** Distinct pinning sites tracked; later ones are counted under "other". */
+	private int maxSites = 100;
+	/** Frames kept from the first stack trace seen at each site. */
+	private int stackDepth = 24;
+}
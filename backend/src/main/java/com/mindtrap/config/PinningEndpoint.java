@@ -0,0 +1,22 @@
+package com.mindtrap.config;
+
+import com.mindtrap.service.diagnostics.PinningMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/** {@code /actuator/pinning}: where virtual threads were pinned to their carrier, most frequent first. */
+@Component
+@Endpoint(id = "pinning")
+@RequiredArgsConstructor
+public class PinningEndpoint {
+	private final PinningMonitor pinningMonitor;
+
+	@ReadOperation
+	public List<PinningMonitor.SiteStats> sites() {
+		return pinningMonitor.sites();
+	}
+}
@@ -0,0 +1,33 @@
+package com.mindtrap.config;
+
+import com.mindtrap.service.diagnostics.SqlProfiler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/sqlprofile}: the top normalized SQL statements since startup (or the
+ * last reset), by total time unless {@code ?sort=count|mean|max|rows}; {@code ?limit=}
+ * sets N. DELETE resets the statistics.
+ */
+@Component
+@Endpoint(id = "sqlprofile")
+@RequiredArgsConstructor
+public class SqlProfileEndpoint {
+	private final SqlProfiler sqlProfiler;
+
+	@ReadOperation
+	public List<SqlProfiler.StatementProfile> top(@Nullable Integer limit, @Nullable SqlProfiler.SortBy sort) {
+		return sqlProfiler.top(limit, sort);
+	}
+
+	@DeleteOperation
+	public void reset() {
+		sqlProfiler.reset();
+	}
+}
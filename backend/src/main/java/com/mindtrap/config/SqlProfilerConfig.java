@@ -0,0 +1,34 @@
+package com.mindtrap.config;
+
+import com.mindtrap.service.diagnostics.ProfilingDataSource;
+import com.mindtrap.service.diagnostics.SqlProfiler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a {@link ProfilingDataSource} unless
+ * {@code sql-profiler.enabled} is false. Static so the post-processor is registered before
+ * the DataSource bean is created.
+ */
+@Configuration
+public class SqlProfilerConfig {
+
+	@Bean
+	static BeanPostProcessor sqlProfilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> profiler, Environment environment) {
+		boolean enabled = environment.getProperty("sql-profiler.enabled", Boolean.class, true);
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (enabled && bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)) {
+					return new ProfilingDataSource(dataSource, profiler::getObject);
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -0,0 +1,20 @@
+package com.mindtrap.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sql-profiler")
+public class SqlProfilerProperties {
+
+	/** Wrap the DataSource and record every statement; read once at startup. */
+	private boolean enabled = true;
+	/** Executions slower than this are logged with the endpoint that issued them. */
+	private Duration slowThreshold = Duration.ofMillis(200);
+	/** Distinct normalized statements tracked; later ones are pooled under one "other" entry. */
+	private int maxStatements = 500;
+	/** Default size of {@code /actuator/sqlprofile}. */
+	private int defaultTop = 20;
+}
@@ -0,0 +1,34 @@
+package com.mindtrap.config;
+
+import com.mindtrap.service.UserAccessService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * {@code /actuator/useraccess/{userId}}: a user's admin and enabled flags; POST with
+ * {@code admin} and/or {@code enabled} changes them and invalidates the cached user on
+ * every node.
+ */
+@Component
+@Endpoint(id = "useraccess")
+@RequiredArgsConstructor
+public class UserAccessEndpoint {
+	private final UserAccessService userAccessService;
+
+	@ReadOperation
+	public UserAccessService.UserAccess access(@Selector UUID userId) {
+		return userAccessService.getAccess(userId);
+	}
+
+	@WriteOperation
+	public UserAccessService.UserAccess update(@Selector UUID userId, @Nullable Boolean admin, @Nullable Boolean enabled) {
+		return userAccessService.updateAccess(userId, admin, enabled);
+	}
+}
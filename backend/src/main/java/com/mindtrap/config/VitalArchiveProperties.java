@@ -0,0 +1,17 @@
+package com.mindtrap.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "vitals.archive")
+public class VitalArchiveProperties {
+
+	private boolean enabled = true;
+	/** Root of the per-user-per-month segment files; shared storage when running several nodes. */
+	private Path directory = Path.of("data", "vitals-archive");
+	/** Whole months older than this are moved out of {@code vital_readings}. */
+	private Duration retention = Duration.ofDays(90);
+}
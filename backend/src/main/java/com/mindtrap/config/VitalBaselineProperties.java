@@ -0,0 +1,27 @@
+package com.mindtrap.config;
+
+import com.mindtrap.service.vitals.VitalSign;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "vitals.baseline")
+public class VitalBaselineProperties {
+
+	/** EWMA smoothing factor; higher adapts faster to recent readings. */
+	private double alpha = 0.1;
+	/** Readings required before deviations are flagged. */
+	private int warmupSamples = 10;
+	/** Deviation from the baseline mean, in standard deviations, that counts as an anomaly. */
+	private double deviationThreshold = 3.0;
+	/** Floor on the standard deviation so very stable users are not flagged for tiny changes. */
+	private Map<VitalSign, Double> minStdDev = new EnumMap<>(Map.of(
+		VitalSign.HEART_RATE, 5.0,
+		VitalSign.BLOOD_PRESSURE_SYSTOLIC, 8.0,
+		VitalSign.BLOOD_PRESSURE_DIASTOLIC, 6.0,
+		VitalSign.OXYGEN_SATURATION, 1.0,
+		VitalSign.TEMPERATURE, 0.5
+	));
+}
@@ -0,0 +1,14 @@
+package com.mindtrap.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "vitals.cache")
+public class VitalCacheProperties {
+
+	/** Most recent readings kept per user; pages that fit inside it are served from memory. */
+	private int capacity = 50;
+	/** Users kept resident; the least recently used are evicted beyond this. */
+	private int maxUsers = 10_000;
+}
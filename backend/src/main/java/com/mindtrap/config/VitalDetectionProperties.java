@@ -0,0 +1,51 @@
+package com.mindtrap.config;
+
+import com.mindtrap.service.vitals.VitalSign;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "vitals.detection")
+public class VitalDetectionProperties {
+
+	/** Readings kept per user; also the upper bound for count-rule windows (max 64). */
+	private int windowCapacity = 16;
+	private Duration idleTtl = Duration.ofHours(6);
+	private List<Rule> rules = new ArrayList<>();
+
+	@Data
+	public static class Rule {
+		private String name;
+		private VitalSign vital;
+		private RuleType type = RuleType.COUNT;
+
+		// COUNT: "operator threshold" held for `hits` of the last `readings` readings
+		private Operator operator = Operator.ABOVE;
+		private double threshold;
+		private int hits = 1;
+		private int readings = 1;
+
+		// TREND: value moved by at least `change` in `direction` within `within`
+		private Direction direction = Direction.FALLING;
+		private double change;
+		private Duration within = Duration.ofMinutes(10);
+	}
+
+	public enum RuleType {
+		COUNT,
+		TREND
+	}
+
+	public enum Operator {
+		ABOVE,
+		BELOW
+	}
+
+	public enum Direction {
+		RISING,
+		FALLING
+	}
+}
@@ -0,0 +1,16 @@
+package com.mindtrap.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "vitals.export")
+public class VitalExportProperties {
+
+	/** Rows per keyset page (each its own short query), and the fetch size when streaming a month. */
+	private int pageSize = 1000;
+	/** Exports running at once; further requests get 429. */
+	private int maxConcurrent = 4;
+	/** Rows written between explicit flushes to the client. */
+	private int flushEvery = 5000;
+}
@@ -0,0 +1,22 @@
+package com.mindtrap.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "vitals.stream")
+public class VitalStreamProperties {
+
+	/** Events buffered per connection; the oldest are dropped when a client falls behind. */
+	private int bufferSize = 32;
+	private int maxConnectionsPerUser = 5;
+	private Duration heartbeatInterval = Duration.ofSeconds(15);
+	/** Upper bound on a single stream's lifetime; clients reconnect afterwards. */
+	private Duration connectionTimeout = Duration.ofMinutes(30);
+	/**
+	 * How far before the newest pushed reading a catch-up for readings written on another
+	 * node looks back; covers commits that land out of order and clock skew between nodes.
+	 */
+	private Duration catchUpLookback = Duration.ofSeconds(10);
+}
@@ -1,11 +1,19 @@
 package com.mindtrap.config.security;
 
 import com.mindtrap.security.JwtAuthenticationConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
 import java.nio.charset.StandardCharsets;
 import javax.crypto.spec.SecretKeySpec;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -17,6 +25,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableMethodSecurity
@@ -25,17 +34,28 @@ public class SecurityConfig {
 
 	private final JwtProperties jwtProperties;
 	private final JwtAuthenticationConverter jwtAuthenticationConverter;
+	private final Environment environment;
 
 	@Bean
 	public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+		// On its own port the actuator is only reachable from the internal network, where Prometheus scrapes without a token
+		RequestMatcher internalScrape = ManagementPortType.get(environment) == ManagementPortType.DIFFERENT
+			? EndpointRequest.to(PrometheusScrapeEndpoint.class)
+			: request -> false;
 		http
 			.csrf(AbstractHttpConfigurer::disable)
 			.httpBasic(AbstractHttpConfigurer::disable)
 			.cors(Customizer.withDefaults())
 			.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 			.authorizeHttpRequests(authorize -> authorize
+				// Async dispatches (SSE streams) were already authorized on the original request
+				.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 				.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-				.requestMatchers("/actuator/**", "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/health").permitAll()
+				.requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+				.requestMatchers(internalScrape).permitAll()
+				// Metrics, profiles and the cache/directory/profiler controls are for operators only
+				.requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
+				.requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/health").permitAll()
 				.requestMatchers(HttpMethod.POST, "/auth/register", "/auth/login", "/auth/refresh").permitAll()
 				.anyRequest().authenticated()
 			)
@@ -46,17 +66,45 @@ public class SecurityConfig {
 		return http.build();
 	}
 
+	/** Verifies every bearer token; {@code auth.jwt.decode} times signature check and parsing. */
 	@Bean
-	public JwtDecoder jwtDecoder() {
+	public JwtDecoder jwtDecoder(MeterRegistry meterRegistry) {
 		SecretKeySpec secretKey = new SecretKeySpec(secret(), "HmacSHA256");
-		return NimbusJwtDecoder
+		JwtDecoder decoder = NimbusJwtDecoder
 			.withSecretKey(secretKey)
 			.build();
+		Timer timer = Timer.builder("auth.jwt.decode")
+			.description("Bearer token verification per request")
+			.register(meterRegistry);
+		return token -> timer.record(() -> decoder.decode(token));
 	}
 
+	/** BCrypt, timed as {@code auth.password.hash} and {@code auth.password.verify}. */
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+		PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+		Timer hash = Timer.builder("auth.password.hash")
+			.description("BCrypt hashing of a new password")
+			.register(meterRegistry);
+		Timer verify = Timer.builder("auth.password.verify")
+			.description("BCrypt check of a submitted password")
+			.register(meterRegistry);
+		return new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				return hash.record(() -> bcrypt.encode(rawPassword));
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return verify.record(() -> bcrypt.matches(rawPassword, encodedPassword));
+			}
+
+			@Override
+			public boolean upgradeEncoding(String encodedPassword) {
+				return bcrypt.upgradeEncoding(encodedPassword);
+			}
+		};
 	}
 
 	private byte[] secret() {
@@ -0,0 +1,7 @@
+package com.mindtrap.domain;
+
+public enum AlertStatus {
+	PENDING,
+	DELIVERED,
+	FAILED
+}
@@ -0,0 +1,23 @@
+package com.mindtrap.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/** Per-user counter bumped on every emergency contact change; backs the contacts ETag. */
+@Entity
+@Table(name = "contact_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContactsVersion {
+	@Id
+	@Column(name = "user_id")
+	private UUID userId;
+
+	@Column(nullable = false)
+	private Long version;
+}
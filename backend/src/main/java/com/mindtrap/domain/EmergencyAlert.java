@@ -0,0 +1,68 @@
+package com.mindtrap.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outbox row for one alert to one contact. The recipient is copied at enqueue time so
+ * a pending alert still goes out if the contact is edited or deleted meanwhile.
+ */
+@Entity
+@Table(name = "emergency_alert_outbox")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmergencyAlert {
+	@Id
+	@GeneratedValue(strategy = GenerationType.UUID)
+	private UUID id;
+
+	@Column(name = "user_id", nullable = false)
+	private UUID userId;
+
+	@Column(name = "contact_id")
+	private UUID contactId;
+
+	@Column(name = "recipient_name", nullable = false)
+	private String recipientName;
+
+	@Column(name = "recipient_phone", nullable = false, length = 50)
+	private String recipientPhone;
+
+	@Column(nullable = false, columnDefinition = "TEXT")
+	private String message;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	@Builder.Default
+	private AlertStatus status = AlertStatus.PENDING;
+
+	@Column(nullable = false)
+	@Builder.Default
+	private Integer attempts = 0;
+
+	@Column(nullable = false)
+	@Builder.Default
+	private Integer occurrences = 1;
+
+	@Column(name = "next_attempt_at", nullable = false)
+	private Instant nextAttemptAt;
+
+	@Column(name = "last_error", columnDefinition = "TEXT")
+	private String lastError;
+
+	@CreatedDate
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private Instant createdAt;
+
+	@Column(name = "delivered_at")
+	private Instant deliveredAt;
+}
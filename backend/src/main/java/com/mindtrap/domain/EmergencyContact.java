@@ -2,6 +2,8 @@ package com.mindtrap.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -9,6 +11,8 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "emergency-contacts")
 @Table(name = "emergency_contacts")
 @EntityListeners(AuditingEntityListener.class)
 @Getter
@@ -2,6 +2,8 @@ package com.mindtrap.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -10,6 +12,8 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profiles")
 @Table(name = "profiles")
 @EntityListeners(AuditingEntityListener.class)
 @Getter
@@ -45,10 +49,21 @@ public class Profile {
 	@Column
 	private String pincode;
 
+	/** Centroid of the pincode, set when country or pincode change; null if it could not be resolved. */
+	@Column
+	private Double latitude;
+
+	@Column
+	private Double longitude;
+
 	@Column(name = "initial_screening_completed")
 	@Builder.Default
 	private Boolean initialScreeningCompleted = false;
 
+	@Version
+	@Column(nullable = false)
+	private Long version;
+
 	@CreatedDate
 	@Column(name = "created_at", nullable = false, updatable = false)
 	private Instant createdAt;
@@ -2,6 +2,8 @@ package com.mindtrap.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -10,6 +12,8 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "users")
 @EntityListeners(AuditingEntityListener.class)
 @Getter
@@ -32,6 +36,11 @@ public class User {
 	@Builder.Default
 	private Boolean enabled = true;
 
+	/** Grants ROLE_ADMIN, which the actuator endpoints other than health require. */
+	@Column(nullable = false)
+	@Builder.Default
+	private Boolean admin = false;
+
 	@CreatedDate
 	@Column(nullable = false, updatable = false)
 	private Instant createdAt;
@@ -0,0 +1,107 @@
+package com.mindtrap.domain;
+
+import com.mindtrap.service.vitals.VitalSign;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "vital_baselines")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VitalBaseline {
+	@Id
+	@Column(name = "user_id")
+	private UUID userId;
+
+	@Column(name = "sample_count", nullable = false)
+	@Builder.Default
+	private Integer sampleCount = 0;
+
+	@Column(name = "heart_rate_mean")
+	private Double heartRateMean;
+
+	@Column(name = "heart_rate_variance")
+	private Double heartRateVariance;
+
+	@Column(name = "systolic_mean")
+	private Double systolicMean;
+
+	@Column(name = "systolic_variance")
+	private Double systolicVariance;
+
+	@Column(name = "diastolic_mean")
+	private Double diastolicMean;
+
+	@Column(name = "diastolic_variance")
+	private Double diastolicVariance;
+
+	@Column(name = "oxygen_saturation_mean")
+	private Double oxygenSaturationMean;
+
+	@Column(name = "oxygen_saturation_variance")
+	private Double oxygenSaturationVariance;
+
+	@Column(name = "temperature_mean")
+	private Double temperatureMean;
+
+	@Column(name = "temperature_variance")
+	private Double temperatureVariance;
+
+	@LastModifiedDate
+	@Column(name = "updated_at")
+	private Instant updatedAt;
+
+	public Double getMean(VitalSign vital) {
+		return switch (vital) {
+			case HEART_RATE -> heartRateMean;
+			case BLOOD_PRESSURE_SYSTOLIC -> systolicMean;
+			case BLOOD_PRESSURE_DIASTOLIC -> diastolicMean;
+			case OXYGEN_SATURATION -> oxygenSaturationMean;
+			case TEMPERATURE -> temperatureMean;
+		};
+	}
+
+	public Double getVariance(VitalSign vital) {
+		return switch (vital) {
+			case HEART_RATE -> heartRateVariance;
+			case BLOOD_PRESSURE_SYSTOLIC -> systolicVariance;
+			case BLOOD_PRESSURE_DIASTOLIC -> diastolicVariance;
+			case OXYGEN_SATURATION -> oxygenSaturationVariance;
+			case TEMPERATURE -> temperatureVariance;
+		};
+	}
+
+	public void setStatistics(VitalSign vital, double mean, double variance) {
+		switch (vital) {
+			case HEART_RATE -> {
+				heartRateMean = mean;
+				heartRateVariance = variance;
+			}
+			case BLOOD_PRESSURE_SYSTOLIC -> {
+				systolicMean = mean;
+				systolicVariance = variance;
+			}
+			case BLOOD_PRESSURE_DIASTOLIC -> {
+				diastolicMean = mean;
+				diastolicVariance = variance;
+			}
+			case OXYGEN_SATURATION -> {
+				oxygenSaturationMean = mean;
+				oxygenSaturationVariance = variance;
+			}
+			case TEMPERATURE -> {
+				temperatureMean = mean;
+				temperatureVariance = variance;
+			}
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package com.mindtrap.dto;
+
+import com.mindtrap.domain.AlertStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactAlertResultDto {
+	private UUID contactId;
+	private String name;
+	private String phone;
+	/** DELIVERED within the deadline, PENDING if still queued for (re)delivery, FAILED if abandoned. */
+	private AlertStatus status;
+	/** True when folded into an alert already sent to this contact within the coalescing window. */
+	private Boolean coalesced;
+}
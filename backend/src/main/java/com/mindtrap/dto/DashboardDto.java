@@ -0,0 +1,28 @@
+package com.mindtrap.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDto {
+	private ProfileDto profile;
+	private EmergencyContactDto defaultContact;
+	private List<AssessmentDto> latestAssessments;
+	private List<VitalReadingDto> recentVitals;
+	/** Outcome per section; a section that is not OK is null in the body. */
+	private Map<String, SectionStatus> sections;
+
+	public enum SectionStatus {
+		OK,
+		TIMEOUT,
+		ERROR
+	}
+}
@@ -6,16 +6,22 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class DoctorDto {
+	private String id;
 	private String name;
 	private String specialty;
 	private String address;
+	private String city;
+	private String postalCode;
 	private String phone;
 	private Double rating;
+	/** Kilometres from the search point; null when the search had no location. */
 	private Double distance;
+	private Double latitude;
+	private Double longitude;
 }
 
 
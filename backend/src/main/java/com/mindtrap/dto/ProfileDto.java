@@ -20,9 +20,13 @@ public class ProfileDto {
 	private String homeAddress;
 	private String country;
 	private String pincode;
+	/** Resolved from the pincode; null when it is unknown. */
+	private Double latitude;
+	private Double longitude;
 	private Boolean initialScreeningCompleted;
 	private Instant createdAt;
 	private Instant updatedAt;
+	private Long version;
 }
 
 
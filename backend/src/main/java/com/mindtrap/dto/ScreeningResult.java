@@ -13,6 +13,8 @@ public class ScreeningResult {
 	private Integer score;
 	private String severity;
 	private String diagnosis;
+	/** Question-15 override hit; emergency contacts are alerted server-side. */
+	private Boolean crisis;
 }
 
 
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -22,6 +23,10 @@ public class VitalReadingDto {
 	private BigDecimal temperature;
 	private Boolean isEmergency;
 	private Instant createdAt;
+	// Detection rules fired by this reading; only populated on create
+	private List<String> triggeredRules;
+	// Vitals that deviate from the user's own baseline; only populated on create
+	private List<String> anomalies;
 }
 
 
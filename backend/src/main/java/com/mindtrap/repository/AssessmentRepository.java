@@ -5,14 +5,31 @@ import com.mindtrap.domain.AssessmentType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface AssessmentRepository extends JpaRepository<Assessment, UUID> {
 	Page<Assessment> findByUserId(UUID userId, Pageable pageable);
 	Page<Assessment> findByUserIdAndAssessmentType(UUID userId, AssessmentType type, Pageable pageable);
+	Page<Assessment> findByUserIdAndCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+		UUID userId, Instant from, Instant to, Pageable pageable);
+	Page<Assessment> findByUserIdAndAssessmentTypeAndCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+		UUID userId, AssessmentType type, Instant from, Instant to, Pageable pageable);
+
+	/** The newest assessment of each type the user has taken. */
+	@Query("""
+		SELECT a FROM Assessment a
+		WHERE a.user.id = ?1 AND a.createdAt = (
+			SELECT MAX(b.createdAt) FROM Assessment b
+			WHERE b.user.id = ?1 AND b.assessmentType = a.assessmentType)
+		ORDER BY a.createdAt DESC
+		""")
+	List<Assessment> findLatestPerType(UUID userId);
 }
 
 
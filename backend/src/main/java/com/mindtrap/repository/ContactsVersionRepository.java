@@ -0,0 +1,26 @@
+package com.mindtrap.repository;
+
+import com.mindtrap.domain.ContactsVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ContactsVersionRepository extends JpaRepository<ContactsVersion, UUID> {
+	@Query("SELECT v.version FROM ContactsVersion v WHERE v.userId = ?1")
+	Optional<Long> findVersion(UUID userId);
+
+	@Modifying
+	@Query("UPDATE ContactsVersion v SET v.version = v.version + 1 WHERE v.userId = :userId")
+	int increment(@Param("userId") UUID userId);
+
+	/** Bumps only if the version is still {@code expected}; 0 rows means a concurrent change won. */
+	@Modifying
+	@Query("UPDATE ContactsVersion v SET v.version = v.version + 1 WHERE v.userId = :userId AND v.version = :expected")
+	int incrementIfMatches(@Param("userId") UUID userId, @Param("expected") long expected);
+}
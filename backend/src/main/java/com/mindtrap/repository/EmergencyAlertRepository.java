@@ -0,0 +1,63 @@
+package com.mindtrap.repository;
+
+import com.mindtrap.domain.AlertStatus;
+import com.mindtrap.domain.EmergencyAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmergencyAlertRepository extends JpaRepository<EmergencyAlert, UUID> {
+
+	/** Locks due alerts, skipping rows another dispatcher already holds. Call inside a transaction. */
+	@Query(value = """
+		SELECT * FROM emergency_alert_outbox
+		WHERE status = 'PENDING' AND next_attempt_at <= :now
+		ORDER BY next_attempt_at
+		LIMIT :limit
+		FOR UPDATE SKIP LOCKED
+		""", nativeQuery = true)
+	List<EmergencyAlert> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+	/**
+	 * Locks the given alerts if no dispatcher has claimed them yet ({@code attempts = 0}).
+	 * A reserved alert whose reservation ran out before this call may already have been
+	 * claimed by the poll; it is then skipped, like rows another dispatcher holds.
+	 */
+	@Query(value = """
+		SELECT * FROM emergency_alert_outbox
+		WHERE id IN (:ids) AND status = 'PENDING' AND attempts = 0
+		FOR UPDATE SKIP LOCKED
+		""", nativeQuery = true)
+	List<EmergencyAlert> lockUnclaimed(@Param("ids") Collection<UUID> ids);
+
+	/**
+	 * Records the outcome of claim {@code attempt}. Matches no row (returns 0) once the
+	 * lease expired and another dispatcher claimed the alert again.
+	 */
+	@Modifying
+	@Query("""
+		UPDATE EmergencyAlert a SET a.status = :status, a.deliveredAt = :deliveredAt, a.lastError = null
+		WHERE a.id = :id AND a.attempts = :attempt
+		""")
+	int markDelivered(@Param("id") UUID id, @Param("attempt") int attempt, @Param("status") AlertStatus status,
+		@Param("deliveredAt") Instant deliveredAt);
+
+	/** Like {@link #markDelivered}, a no-op (returning 0) for a claim that was superseded. */
+	@Modifying
+	@Query("""
+		UPDATE EmergencyAlert a SET a.status = :status, a.nextAttemptAt = :nextAttemptAt, a.lastError = :error
+		WHERE a.id = :id AND a.attempts = :attempt
+		""")
+	int markFailedAttempt(@Param("id") UUID id, @Param("attempt") int attempt, @Param("status") AlertStatus status,
+		@Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error);
+
+	long countByStatus(AlertStatus status);
+}
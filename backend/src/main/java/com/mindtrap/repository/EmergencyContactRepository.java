@@ -1,7 +1,13 @@
 package com.mindtrap.repository;
 
 import com.mindtrap.domain.EmergencyContact;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,9 +16,24 @@ import java.util.UUID;
 
 @Repository
 public interface EmergencyContactRepository extends JpaRepository<EmergencyContact, UUID> {
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "contacts-by-user")
+	})
 	List<EmergencyContact> findByUserIdOrderByCreatedAtDesc(UUID userId);
 	Optional<EmergencyContact> findByIdAndUserId(UUID id, UUID userId);
-	Optional<EmergencyContact> findByUserIdAndIsDefaultTrue(UUID userId);
+
+	/**
+	 * Makes {@code contactId} the user's only default in one statement. Callers hold the
+	 * user's row lock ({@link UserRepository#findForUpdate}) so the statement's snapshot
+	 * already includes contacts inserted by a concurrent request.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("""
+		UPDATE EmergencyContact c SET c.isDefault = CASE WHEN c.id = :contactId THEN true ELSE false END
+		WHERE c.user.id = :userId AND (c.isDefault = true OR c.id = :contactId)
+		""")
+	int makeDefault(@Param("userId") UUID userId, @Param("contactId") UUID contactId);
 }
 
 
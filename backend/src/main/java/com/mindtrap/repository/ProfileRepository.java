@@ -2,6 +2,7 @@ package com.mindtrap.repository;
 
 import com.mindtrap.domain.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,7 +10,13 @@ import java.util.UUID;
 
 @Repository
 public interface ProfileRepository extends JpaRepository<Profile, UUID> {
-	Optional<Profile> findByUserId(UUID userId);
+	/** Profiles share their user's id ({@code @MapsId}), so this is a primary-key lookup served from the entity cache. */
+	default Optional<Profile> findByUserId(UUID userId) {
+		return findById(userId);
+	}
+
+	@Query("SELECT p.version FROM Profile p WHERE p.id = ?1")
+	Optional<Long> findVersion(UUID userId);
 }
 
 
@@ -1,7 +1,10 @@
 package com.mindtrap.repository;
 
 import com.mindtrap.domain.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,6 +14,11 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
 	Optional<User> findByEmail(String email);
 	boolean existsByEmail(String email);
+
+	/** Row lock used to serialize per-user changes such as switching the default contact. */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT u FROM User u WHERE u.id = ?1")
+	Optional<User> findForUpdate(UUID id);
 }
 
 
@@ -0,0 +1,26 @@
+package com.mindtrap.repository;
+
+import com.mindtrap.domain.VitalBaseline;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface VitalBaselineRepository extends JpaRepository<VitalBaseline, UUID> {
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT b FROM VitalBaseline b WHERE b.userId = ?1")
+	Optional<VitalBaseline> findForUpdate(UUID userId);
+
+	/** Creates an empty baseline unless one exists; a concurrent insert is a no-op, not an error. */
+	@Modifying
+	@Query(value = "INSERT INTO vital_baselines (user_id, sample_count) VALUES (:userId, 0) ON CONFLICT (user_id) DO NOTHING",
+		nativeQuery = true)
+	int insertIfAbsent(@Param("userId") UUID userId);
+}
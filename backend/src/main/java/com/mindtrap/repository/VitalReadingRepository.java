@@ -4,13 +4,31 @@ import com.mindtrap.domain.VitalReading;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface VitalReadingRepository extends JpaRepository<VitalReading, UUID> {
 	Page<VitalReading> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
-}
+	Page<VitalReading> findByUserIdAndCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtDesc(
+		UUID userId, Instant from, Instant to, Pageable pageable);
+	List<VitalReading> findByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(UUID userId, Instant from, Pageable pageable);
+
+	@Query("SELECT DISTINCT r.user.id FROM VitalReading r WHERE r.createdAt < ?1")
+	List<UUID> findUserIdsWithReadingsBefore(Instant cutoff);
 
+	@Query("SELECT MIN(r.createdAt) FROM VitalReading r WHERE r.user.id = ?1")
+	Instant findOldestCreatedAt(UUID userId);
 
+	@Query("SELECT r FROM VitalReading r WHERE r.user.id = ?1 AND r.createdAt >= ?2 AND r.createdAt < ?3 ORDER BY r.createdAt")
+	List<VitalReading> findInRange(UUID userId, Instant from, Instant to);
+
+	@Modifying
+	@Query("DELETE FROM VitalReading r WHERE r.user.id = ?1 AND r.createdAt >= ?2 AND r.createdAt < ?3")
+	int deleteInRange(UUID userId, Instant from, Instant to);
+}
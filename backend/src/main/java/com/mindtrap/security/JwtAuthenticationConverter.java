@@ -4,6 +4,7 @@ import com.mindtrap.domain.User;
 import com.mindtrap.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -25,6 +26,10 @@ public class JwtAuthenticationConverter implements Converter<Jwt, UsernamePasswo
 
 		User user = userRepository.findById(userId)
 			.orElseThrow(() -> new UsernameNotFoundException("User not found: " + userId));
+		if (!Boolean.TRUE.equals(user.getEnabled())) {
+			// Takes effect on every node once UserAccessService evicts the cached user
+			throw new DisabledException("User is disabled: " + userId);
+		}
 
 		UserPrincipal principal = UserPrincipal.create(user);
 		return new UsernamePasswordAuthenticationToken(principal, jwt, principal.getAuthorities());
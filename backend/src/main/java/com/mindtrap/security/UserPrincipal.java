@@ -8,6 +8,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 @Getter
@@ -16,12 +17,14 @@ public class UserPrincipal implements UserDetails {
 	private final String email;
 	private final String password;
 	private final boolean enabled;
+	private final boolean admin;
 
-	public UserPrincipal(UUID id, String email, String password, boolean enabled) {
+	public UserPrincipal(UUID id, String email, String password, boolean enabled, boolean admin) {
 		this.id = id;
 		this.email = email;
 		this.password = password;
 		this.enabled = enabled;
+		this.admin = admin;
 	}
 
 	public static UserPrincipal create(User user) {
@@ -29,13 +32,16 @@ public class UserPrincipal implements UserDetails {
 			user.getId(),
 			user.getEmail(),
 			user.getPasswordHash(),
-			user.getEnabled()
+			user.getEnabled(),
+			Boolean.TRUE.equals(user.getAdmin())
 		);
 	}
 
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
-		return Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+		return admin
+			? List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+			: Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
 	}
 
 	@Override
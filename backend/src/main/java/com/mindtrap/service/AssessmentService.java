@@ -15,6 +15,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -31,6 +33,26 @@ public class AssessmentService {
 		return assessments.map(this::toDto);
 	}
 
+	public Page<AssessmentDto> getAssessments(UUID userId, AssessmentType type, Instant from, Instant to, Pageable pageable) {
+		if (from == null && to == null) {
+			return getAssessments(userId, type, pageable);
+		}
+		TimeRange range = TimeRange.of(from, to);
+		Page<Assessment> assessments = type != null
+			? assessmentRepository.findByUserIdAndAssessmentTypeAndCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+				userId, type, range.from(), range.to(), pageable)
+			: assessmentRepository.findByUserIdAndCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+				userId, range.from(), range.to(), pageable);
+
+		return assessments.map(this::toDto);
+	}
+
+	public List<AssessmentDto> getLatestPerType(UUID userId) {
+		return assessmentRepository.findLatestPerType(userId).stream()
+			.map(this::toDto)
+			.toList();
+	}
+
 	public AssessmentDto getAssessment(UUID userId, UUID assessmentId) {
 		Assessment assessment = assessmentRepository.findById(assessmentId)
 			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Assessment not found"));
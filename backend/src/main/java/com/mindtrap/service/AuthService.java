@@ -1,12 +1,16 @@
 package com.mindtrap.service;
 
+import com.mindtrap.domain.ContactsVersion;
 import com.mindtrap.domain.Profile;
 import com.mindtrap.domain.RefreshToken;
 import com.mindtrap.domain.User;
 import com.mindtrap.dto.*;
+import com.mindtrap.repository.ContactsVersionRepository;
 import com.mindtrap.repository.ProfileRepository;
 import com.mindtrap.repository.RefreshTokenRepository;
 import com.mindtrap.repository.UserRepository;
+import com.mindtrap.service.cache.CacheInvalidationBus;
+import com.mindtrap.service.cache.CachedEntity;
 import com.mindtrap.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -27,6 +31,8 @@ public class AuthService {
 	private final PasswordEncoder passwordEncoder;
 	private final JwtUtil jwtUtil;
 	private final ProfileService profileService;
+	private final CacheInvalidationBus cacheInvalidationBus;
+	private final ContactsVersionRepository contactsVersionRepository;
 
 	@Transactional
 	public AuthResponse register(RegisterRequest request) {
@@ -48,6 +54,9 @@ public class AuthService {
 			.initialScreeningCompleted(false)
 			.build();
 		profile = profileRepository.save(profile);
+		contactsVersionRepository.save(ContactsVersion.builder().userId(user.getId()).version(0L).build());
+		cacheInvalidationBus.publish(CachedEntity.USER, user.getId());
+		cacheInvalidationBus.publish(CachedEntity.PROFILE, user.getId());
 
 		String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getEmail());
 		String refreshToken = jwtUtil.generateRefreshToken(user.getId());
@@ -0,0 +1,168 @@
+package com.mindtrap.service;
+
+import com.mindtrap.config.DashboardProperties;
+import com.mindtrap.dto.DashboardDto;
+import com.mindtrap.dto.DashboardDto.SectionStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard in one request. Each section is loaded on its own virtual thread
+ * and all of them share a single deadline. At most {@code max-concurrent-sections} run at
+ * once (all of them by default), so one dashboard holds no more than that many pool
+ * connections; when the Hikari pool has no idle connection left, the sections are loaded
+ * one at a time instead so a burst of dashboards does not drain it further. Sections that
+ * fail or miss the deadline are returned as null with their status, and the rest are
+ * still served.
+ */
+@Slf4j
+@Service
+public class DashboardService {
+	private static final String PROFILE = "profile";
+	private static final String DEFAULT_CONTACT = "defaultContact";
+	private static final String ASSESSMENTS = "latestAssessments";
+	private static final String VITALS = "recentVitals";
+
+	private final ProfileService profileService;
+	private final EmergencyContactService contactService;
+	private final AssessmentService assessmentService;
+	private final VitalReadingService vitalReadingService;
+	private final DashboardProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final HikariDataSource pool;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	public DashboardService(
+		ProfileService profileService,
+		EmergencyContactService contactService,
+		AssessmentService assessmentService,
+		VitalReadingService vitalReadingService,
+		DashboardProperties properties,
+		MeterRegistry meterRegistry,
+		DataSource dataSource
+	) {
+		this.profileService = profileService;
+		this.contactService = contactService;
+		this.assessmentService = assessmentService;
+		this.vitalReadingService = vitalReadingService;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.pool = hikariPool(dataSource);
+	}
+
+	public DashboardDto getDashboard(UUID userId) {
+		long deadline = System.nanoTime() + properties.getDeadline().toNanos();
+		// Fair, so sections start roughly in submission order: the profile first
+		Semaphore connections = new Semaphore(sectionPermits(), true);
+
+		Future<?> profile = submit(PROFILE, connections, () -> profileService.getProfile(userId));
+		Future<?> defaultContact = submit(DEFAULT_CONTACT, connections, () -> contactService.getContacts(userId).stream()
+			.filter(contact -> Boolean.TRUE.equals(contact.getIsDefault()))
+			.findFirst()
+			.orElse(null));
+		Future<?> assessments = submit(ASSESSMENTS, connections, () -> assessmentService.getLatestPerType(userId));
+		Future<?> vitals = submit(VITALS, connections, () -> vitalReadingService
+			.getReadings(userId, PageRequest.of(0, properties.getRecentVitals()))
+			.getContent());
+
+		Map<String, SectionStatus> sections = new LinkedHashMap<>();
+		DashboardDto dashboard = DashboardDto.builder().sections(sections).build();
+		dashboard.setProfile(await(userId, PROFILE, profile, deadline, sections));
+		dashboard.setDefaultContact(await(userId, DEFAULT_CONTACT, defaultContact, deadline, sections));
+		dashboard.setLatestAssessments(await(userId, ASSESSMENTS, assessments, deadline, sections));
+		dashboard.setRecentVitals(await(userId, VITALS, vitals, deadline, sections));
+		return dashboard;
+	}
+
+	private int sectionPermits() {
+		HikariPoolMXBean state = pool != null ? pool.getHikariPoolMXBean() : null;
+		if (state != null && state.getIdleConnections() == 0) {
+			meterRegistry.counter("dashboard.sequential").increment();
+			return 1;
+		}
+		return Math.max(1, properties.getMaxConcurrentSections());
+	}
+
+	private Future<?> submit(String section, Semaphore connections, Supplier<?> loader) {
+		return executor.submit(() -> {
+			// Interrupted by cancel() if the deadline passes while still waiting
+			connections.acquire();
+			long start = System.nanoTime();
+			String outcome = "error";
+			try {
+				Object value = loader.get();
+				outcome = "ok";
+				return value;
+			} finally {
+				connections.release();
+				Timer.builder("dashboard.section.duration")
+					.description("Time to load one dashboard section")
+					.tag("section", section)
+					.tag("outcome", outcome)
+					.publishPercentiles(0.5, 0.95, 0.99)
+					.register(meterRegistry)
+					.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T await(UUID userId, String section, Future<?> future, long deadline, Map<String, SectionStatus> sections) {
+		try {
+			T value = (T) future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			sections.put(section, SectionStatus.OK);
+			return value;
+		} catch (TimeoutException | CancellationException e) {
+			future.cancel(true);
+			log.warn("[DASHBOARD] Section {} for user {} missed the {} deadline", section, userId, properties.getDeadline());
+			sections.put(section, SectionStatus.TIMEOUT);
+		} catch (ExecutionException e) {
+			log.warn("[DASHBOARD] Section {} for user {} failed: {}", section, userId, e.getCause().toString());
+			sections.put(section, SectionStatus.ERROR);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			sections.put(section, SectionStatus.TIMEOUT);
+		}
+		meterRegistry.counter("dashboard.section.degraded", "section", section).increment();
+		return null;
+	}
+
+	/** Null unless the (possibly wrapped) DataSource is Hikari. */
+	private static HikariDataSource hikariPool(DataSource dataSource) {
+		try {
+			if (dataSource.isWrapperFor(HikariDataSource.class)) {
+				return dataSource.unwrap(HikariDataSource.class);
+			}
+		} catch (SQLException e) {
+			log.warn("[DASHBOARD] Could not reach the connection pool, sections always load concurrently: {}", e.toString());
+		}
+		return null;
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdownNow();
+	}
+}
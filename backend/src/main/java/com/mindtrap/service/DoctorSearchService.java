@@ -1,46 +1,221 @@
 package com.mindtrap.service;
 
+import com.mindtrap.config.DoctorDirectoryProperties;
 import com.mindtrap.dto.DoctorDto;
+import com.mindtrap.service.doctors.DoctorDirectory;
+import com.mindtrap.service.doctors.DoctorSearchCache;
+import com.mindtrap.service.doctors.GeoHits;
+import com.mindtrap.service.doctors.ProviderDirectory;
+import com.mindtrap.service.doctors.ProviderRanker;
+import com.mindtrap.service.doctors.TextHits;
+import com.mindtrap.service.doctors.TopK;
+import com.mindtrap.service.geocoding.GeoPoint;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.function.IntPredicate;
 
 @Service
 @RequiredArgsConstructor
 public class DoctorSearchService {
-	private static final List<String> SPECIALTIES = Arrays.asList(
-		"Psychiatrist",
-		"Psychologist",
-		"Therapist",
-		"Counselor",
-		"Mental Health Clinic",
-		"Crisis Center"
-	);
-
-	public List<DoctorDto> searchDoctors(String term, Double lat, Double lng) {
-		// In a real implementation, this would integrate with Google Maps API
-		// or a healthcare provider directory API
-		// For now, return placeholder data
-		return SPECIALTIES.stream()
-			.filter(specialty -> term == null || specialty.toLowerCase().contains(term.toLowerCase()))
-			.map(specialty -> DoctorDto.builder()
-				.name("Sample " + specialty)
-				.specialty(specialty)
-				.address("Address not available - Use Google Maps search")
-				.phone("Contact not available")
-				.rating(4.5)
-				.distance(null)
-				.build())
-			.collect(Collectors.toList());
+	private final DoctorDirectory doctorDirectory;
+	private final DoctorDirectoryProperties properties;
+	private final ProviderRanker providerRanker;
+	private final DoctorSearchCache searchCache;
+	private final ProfileService profileService;
+
+	/**
+	 * Searches the provider directory. Retrieval gathers a candidate pool bounded by the
+	 * requested limit (the nearest providers, or every provider within {@code radiusKm},
+	 * with a location; text matches or the best rated without one), and
+	 * {@link ProviderRanker} orders it by a blend of distance, rating and match. A
+	 * {@code term} that names a specialty ranks that specialty first; any other term is
+	 * matched against names, specialties and cities with prefix and typo tolerance and
+	 * must match. {@code specialty} is a strict filter. Without {@code lat}/{@code lng} the
+	 * search is centred on the user's profile pincode when it is known. Results are served
+	 * through {@link DoctorSearchCache}.
+	 */
+	public List<DoctorDto> searchDoctors(UUID userId, String term, Double lat, Double lng, String specialty, Double radiusKm,
+		Integer limit) {
+		int max = limit == null ? properties.getDefaultLimit() : Math.min(Math.max(limit, 1), properties.getMaxLimit());
+		if (lat != null && lng != null) {
+			if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "lat/lng out of range");
+			}
+		} else if (userId != null) {
+			GeoPoint home = profileService.getLocation(userId).orElse(null);
+			if (home != null) {
+				lat = home.latitude();
+				lng = home.longitude();
+			}
+		}
+		return searchCache.search(new DoctorSearchCache.Query(term, lat, lng, specialty, radiusKm, max), this::search);
+	}
+
+	private List<DoctorDto> search(DoctorSearchCache.Query query) {
+		ProviderDirectory directory = doctorDirectory.current();
+		int max = query.limit();
+		int pool = providerRanker.candidatePool(max);
+		String term = query.term();
+		String specialty = query.specialty();
+		Double radiusKm = query.radiusKm();
+
+		IntPredicate filter = null;
+		if (specialty != null && !specialty.isBlank()) {
+			int code = directory.lookupSpecialty(specialty);
+			filter = provider -> directory.specialtyCode(provider) == code;
+		}
+		int preferredSpecialty = -1;
+		TextHits text = null;
+		if (term != null && !term.isBlank()) {
+			preferredSpecialty = directory.lookupSpecialty(term);
+			if (preferredSpecialty < 0) {
+				text = directory.searchText(term);
+			}
+		}
+		boolean located = query.located();
+		double lat = located ? query.lat() : 0;
+		double lng = located ? query.lng() : 0;
+
+		Candidates candidates;
+		if (text != null) {
+			candidates = textCandidates(directory, text, filter, lat, lng, located, radiusKm, pool);
+		} else if (located) {
+			// Geo retrieval is already nearest-first, so for a specialty preference pull the
+			// pool from that specialty and top it up with the nearest of any specialty
+			candidates = geoCandidates(directory, lat, lng, radiusKm, pool, filter, preferredSpecialty);
+		} else {
+			int[] providers = directory.topRated(pool, filter);
+			candidates = new Candidates(providers, providers.length, null, null);
+		}
+
+		ProviderRanker.Ranked ranked = providerRanker.rank(directory, candidates.providers(), candidates.count(),
+			candidates.distancesKm(), candidates.relevance(), preferredSpecialty, max);
+		List<DoctorDto> results = new ArrayList<>(ranked.providers().length);
+		for (int i = 0; i < ranked.providers().length; i++) {
+			results.add(toDto(directory, ranked.providers()[i], ranked.distancesKm() == null ? null : ranked.distancesKm()[i]));
+		}
+		return results;
 	}
 
 	public List<String> getSpecialties() {
-		return SPECIALTIES;
+		return doctorDirectory.current().specialties();
+	}
+
+	/** Autocomplete over specialties, cities and provider names; all specialties for a blank query. */
+	public List<String> suggest(String query, int limit) {
+		if (query == null || query.isBlank()) {
+			return getSpecialties();
+		}
+		return doctorDirectory.current().suggest(query, Math.min(Math.max(limit, 1), properties.getMaxLimit()));
 	}
-}
 
+	/**
+	 * Text matches passing the filter (and the radius, with a location). Beyond the pool
+	 * size only the most relevant are kept, so ranking cost stays bounded by the limit.
+	 */
+	private Candidates textCandidates(ProviderDirectory directory, TextHits text, IntPredicate filter,
+		double lat, double lng, boolean located, Double radiusKm, int pool) {
+		int[] providers = new int[text.size()];
+		float[] relevance = new float[text.size()];
+		int count = 0;
+		for (int i = 0; i < text.size(); i++) {
+			int provider = text.providers()[i];
+			if (filter == null || filter.test(provider)) {
+				providers[count] = provider;
+				relevance[count++] = text.scores()[i];
+			}
+		}
+		if (located && count > pool) {
+			// Many matches: let the spatial index pick the nearest matching ones instead
+			TextHits matched = text;
+			IntPredicate matches = filter == null ? matched::contains : filter.and(matched::contains);
+			GeoHits hits = geoHits(directory, lat, lng, radiusKm, pool, matches);
+			float[] hitRelevance = new float[hits.size()];
+			for (int i = 0; i < hits.size(); i++) {
+				hitRelevance[i] = text.score(hits.providers()[i]);
+			}
+			return new Candidates(hits.providers(), hits.size(), hits.distancesKm(), hitRelevance);
+		}
+		if (count > pool) {
+			TopK top = new TopK(pool);
+			for (int i = 0; i < count; i++) {
+				top.offer(i, relevance[i]);
+			}
+			int[] slots = top.drainDescending();
+			int[] kept = new int[slots.length];
+			float[] keptRelevance = new float[slots.length];
+			for (int i = 0; i < slots.length; i++) {
+				kept[i] = providers[slots[i]];
+				keptRelevance[i] = relevance[slots[i]];
+			}
+			return new Candidates(kept, kept.length, null, keptRelevance);
+		}
+		if (!located) {
+			return new Candidates(providers, count, null, relevance);
+		}
 
+		double[] distances = directory.distancesKm(lat, lng, providers, count);
+		double maxKm = radiusKm != null ? Math.min(radiusKm, properties.getMaxRadiusKm()) : properties.getMaxRadiusKm();
+		int kept = 0;
+		for (int i = 0; i < count; i++) {
+			if (distances[i] <= maxKm) {
+				providers[kept] = providers[i];
+				relevance[kept] = relevance[i];
+				distances[kept++] = distances[i];
+			}
+		}
+		return new Candidates(providers, kept, distances, relevance);
+	}
+
+	private Candidates geoCandidates(ProviderDirectory directory, double lat, double lng, Double radiusKm, int pool,
+		IntPredicate filter, int preferredSpecialty) {
+		if (preferredSpecialty < 0) {
+			GeoHits hits = geoHits(directory, lat, lng, radiusKm, pool, filter);
+			return new Candidates(hits.providers(), hits.size(), hits.distancesKm(), null);
+		}
+		IntPredicate preferred = provider -> directory.specialtyCode(provider) == preferredSpecialty;
+		GeoHits first = geoHits(directory, lat, lng, radiusKm, pool, filter == null ? preferred : filter.and(preferred));
+		IntPredicate others = preferred.negate();
+		GeoHits rest = geoHits(directory, lat, lng, radiusKm, pool - first.size(), filter == null ? others : filter.and(others));
+		int count = first.size() + rest.size();
+		int[] providers = Arrays.copyOf(first.providers(), count);
+		double[] distances = Arrays.copyOf(first.distancesKm(), count);
+		System.arraycopy(rest.providers(), 0, providers, first.size(), rest.size());
+		System.arraycopy(rest.distancesKm(), 0, distances, first.size(), rest.size());
+		return new Candidates(providers, count, distances, null);
+	}
+
+	private GeoHits geoHits(ProviderDirectory directory, double lat, double lng, Double radiusKm, int limit, IntPredicate filter) {
+		return radiusKm != null
+			? directory.within(lat, lng, Math.min(radiusKm, properties.getMaxRadiusKm()), limit, filter)
+			: directory.nearest(lat, lng, limit, properties.getMaxRadiusKm(), filter);
+	}
 
+	/** Retrieval output: {@code count} providers with parallel distances and relevance (either may be null). */
+	private record Candidates(int[] providers, int count, double[] distancesKm, float[] relevance) {
+	}
+
+	private DoctorDto toDto(ProviderDirectory directory, int provider, Double distanceKm) {
+		float rating = directory.rating(provider);
+		return DoctorDto.builder()
+			.id(directory.id(provider))
+			.name(directory.name(provider))
+			.specialty(directory.specialty(provider))
+			.address(directory.address(provider))
+			.city(directory.city(provider))
+			.postalCode(directory.postalCode(provider))
+			.phone(directory.phone(provider))
+			.rating(Float.isNaN(rating) ? null : (double) rating)
+			.distance(distanceKm == null ? null : Math.round(distanceKm * 100) / 100.0)
+			.latitude(directory.latitude(provider))
+			.longitude(directory.longitude(provider))
+			.build();
+	}
+}
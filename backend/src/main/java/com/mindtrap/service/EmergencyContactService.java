@@ -1,18 +1,37 @@
 package com.mindtrap.service;
 
+import com.mindtrap.config.AlertDispatchProperties;
+import com.mindtrap.domain.AlertStatus;
+import com.mindtrap.domain.ContactsVersion;
+import com.mindtrap.domain.EmergencyAlert;
 import com.mindtrap.domain.EmergencyContact;
+import com.mindtrap.domain.Profile;
 import com.mindtrap.domain.User;
+import com.mindtrap.dto.ContactAlertResultDto;
 import com.mindtrap.dto.CreateContactRequest;
 import com.mindtrap.dto.EmergencyContactDto;
+import com.mindtrap.repository.ContactsVersionRepository;
+import com.mindtrap.repository.EmergencyAlertRepository;
 import com.mindtrap.repository.EmergencyContactRepository;
+import com.mindtrap.repository.ProfileRepository;
 import com.mindtrap.repository.UserRepository;
+import com.mindtrap.service.alerts.AlertCoalescer;
+import com.mindtrap.service.alerts.EmergencyAlertDispatcher;
+import com.mindtrap.service.alerts.EmergencyAlertQueuedEvent;
+import com.mindtrap.service.cache.CacheInvalidationBus;
+import com.mindtrap.service.cache.CachedEntity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -21,6 +40,15 @@ import java.util.stream.Collectors;
 public class EmergencyContactService {
 	private final EmergencyContactRepository contactRepository;
 	private final UserRepository userRepository;
+	private final ProfileRepository profileRepository;
+	private final EmergencyAlertRepository alertRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final EmergencyAlertDispatcher alertDispatcher;
+	private final AlertCoalescer alertCoalescer;
+	private final AlertDispatchProperties dispatchProperties;
+	private final TransactionTemplate transactionTemplate;
+	private final CacheInvalidationBus cacheInvalidationBus;
+	private final ContactsVersionRepository contactsVersionRepository;
 
 	public List<EmergencyContactDto> getContacts(UUID userId) {
 		return contactRepository.findByUserIdOrderByCreatedAtDesc(userId)
@@ -29,34 +57,54 @@ public class EmergencyContactService {
 			.collect(Collectors.toList());
 	}
 
+	/** Current contacts version, read on its own; only good for answering a conditional GET. */
+	public long getContactsVersion(UUID userId) {
+		return contactsVersionRepository.findVersion(userId).orElse(0L);
+	}
+
+	/**
+	 * The contacts together with their version, read in one repeatable-read transaction so
+	 * both come from the same snapshot and the version always describes the list returned.
+	 */
+	@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+	public VersionedContacts getVersionedContacts(UUID userId) {
+		List<EmergencyContactDto> contacts = getContacts(userId);
+		return new VersionedContacts(contacts, getContactsVersion(userId));
+	}
+
 	@Transactional
-	public EmergencyContactDto createContact(UUID userId, CreateContactRequest request) {
-		User user = userRepository.findById(userId)
+	public EmergencyContactDto createContact(UUID userId, CreateContactRequest request, Long expectedVersion) {
+		boolean makeDefault = Boolean.TRUE.equals(request.getIsDefault());
+		User user = (makeDefault ? userRepository.findForUpdate(userId) : userRepository.findById(userId))
 			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+		bumpContactsVersion(userId, expectedVersion);
 
-		// If this is set as default, unset other defaults
-		if (Boolean.TRUE.equals(request.getIsDefault())) {
-			contactRepository.findByUserIdAndIsDefaultTrue(userId)
-				.ifPresent(existing -> {
-					existing.setIsDefault(false);
-					contactRepository.save(existing);
-				});
-		}
-
+		// Inserted as non-default; becoming the default is a single swap statement
 		EmergencyContact contact = EmergencyContact.builder()
 			.user(user)
 			.name(request.getName())
 			.phone(request.getPhone())
 			.relationship(request.getRelationship())
-			.isDefault(Boolean.TRUE.equals(request.getIsDefault()))
+			.isDefault(false)
 			.build();
 
 		contact = contactRepository.save(contact);
+		if (makeDefault) {
+			contactRepository.makeDefault(userId, contact.getId());
+			contact.setIsDefault(true);
+		}
+		cacheInvalidationBus.publish(CachedEntity.CONTACTS, userId);
 		return toDto(contact);
 	}
 
 	@Transactional
-	public EmergencyContactDto updateContact(UUID userId, UUID contactId, CreateContactRequest request) {
+	public EmergencyContactDto updateContact(UUID userId, UUID contactId, CreateContactRequest request, Long expectedVersion) {
+		if (Boolean.TRUE.equals(request.getIsDefault())) {
+			// Serializes default swaps for this user; see EmergencyContactRepository.makeDefault
+			userRepository.findForUpdate(userId)
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+		}
+		bumpContactsVersion(userId, expectedVersion);
 		EmergencyContact contact = contactRepository.findByIdAndUserId(contactId, userId)
 			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
 
@@ -69,23 +117,22 @@ public class EmergencyContactService {
 		if (request.getRelationship() != null) {
 			contact.setRelationship(request.getRelationship());
 		}
-		if (request.getIsDefault() != null) {
-			if (Boolean.TRUE.equals(request.getIsDefault())) {
-				contactRepository.findByUserIdAndIsDefaultTrue(userId)
-					.ifPresent(existing -> {
-						existing.setIsDefault(false);
-						contactRepository.save(existing);
-					});
-			}
-			contact.setIsDefault(request.getIsDefault());
+		if (Boolean.FALSE.equals(request.getIsDefault())) {
+			contact.setIsDefault(false);
 		}
 
 		contact = contactRepository.save(contact);
+		if (Boolean.TRUE.equals(request.getIsDefault())) {
+			contactRepository.makeDefault(userId, contactId);
+			contact.setIsDefault(true);
+		}
+		cacheInvalidationBus.publish(CachedEntity.CONTACTS, userId);
 		return toDto(contact);
 	}
 
 	@Transactional
-	public void deleteContact(UUID userId, UUID contactId) {
+	public void deleteContact(UUID userId, UUID contactId, Long expectedVersion) {
+		bumpContactsVersion(userId, expectedVersion);
 		EmergencyContact contact = contactRepository.findByIdAndUserId(contactId, userId)
 			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
 
@@ -94,6 +141,7 @@ public class EmergencyContactService {
 		}
 
 		contactRepository.delete(contact);
+		cacheInvalidationBus.publish(CachedEntity.CONTACTS, userId);
 	}
 
 	@Transactional
@@ -101,8 +149,126 @@ public class EmergencyContactService {
 		EmergencyContact contact = contactRepository.findByIdAndUserId(contactId, userId)
 			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
 
-		// In a real implementation, this would trigger SMS/push notifications
-		// For now, this is a placeholder
+		String text = alertText(userId);
+		if (!alertCoalescer.admit(userId, contact, text)) {
+			return;
+		}
+		// Only the outbox row is written here; EmergencyAlertDispatcher delivers it after commit
+		alertRepository.save(newAlert(userId, contact, text, Instant.now()));
+		eventPublisher.publishEvent(new EmergencyAlertQueuedEvent());
+	}
+
+	/**
+	 * Queues one alert per contact in a single transaction, then delivers them concurrently
+	 * and reports each contact's status once all finish or the fan-out deadline passes.
+	 * Anything not delivered by then stays in the outbox and is retried as usual. The rows
+	 * are reserved for one lease, like crisis alerts, so the poll cannot claim them before
+	 * this call does.
+	 */
+	public List<ContactAlertResultDto> alertAllContacts(UUID userId) {
+		List<FanOut> fanOut = transactionTemplate.execute(status -> {
+			List<EmergencyContact> contacts = contactRepository.findByUserIdOrderByCreatedAtDesc(userId);
+			if (contacts.isEmpty()) {
+				return List.<FanOut>of();
+			}
+			String text = alertText(userId);
+			Instant reservedUntil = reservedUntil();
+			return contacts.stream()
+				.map(contact -> new FanOut(contact, alertCoalescer.admit(userId, contact, text)
+					? alertRepository.save(newAlert(userId, contact, text, reservedUntil))
+					: null))
+				.toList();
+		});
+
+		Map<UUID, AlertStatus> statuses = alertDispatcher.deliverNow(
+			fanOut.stream().filter(FanOut::queued).map(entry -> entry.alert().getId()).toList(),
+			dispatchProperties.getFanOutDeadline()
+		);
+		return fanOut.stream()
+			.map(entry -> ContactAlertResultDto.builder()
+				.contactId(entry.contact().getId())
+				.name(entry.contact().getName())
+				.phone(entry.contact().getPhone())
+				.status(entry.queued() ? statuses.get(entry.alert().getId()) : AlertStatus.PENDING)
+				.coalesced(!entry.queued())
+				.build())
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Queues a crisis alert for every contact in one transaction. Crisis alerts skip the
+	 * coalescer and carry their own text. Each row is reserved for one lease, so the poll
+	 * leaves it to the crisis lane, which claims it directly. If the lane never does, for
+	 * example because the node died, the poll picks the row up once the lease runs out.
+	 */
+	@Transactional
+	public List<EmergencyAlert> queueCrisisAlerts(UUID userId) {
+		List<EmergencyContact> contacts = contactRepository.findByUserIdOrderByCreatedAtDesc(userId);
+		if (contacts.isEmpty()) {
+			return List.of();
+		}
+		String text = crisisText(userId);
+		Instant reservedUntil = reservedUntil();
+		return contacts.stream()
+			.map(contact -> alertRepository.save(newAlert(userId, contact, text, reservedUntil)))
+			.toList();
+	}
+
+	/**
+	 * Bumps the user's contacts version, first checking it against {@code expectedVersion}
+	 * (from If-Match) when given. The row update also serializes contact writes per user.
+	 */
+	private void bumpContactsVersion(UUID userId, Long expectedVersion) {
+		int updated = expectedVersion == null
+			? contactsVersionRepository.increment(userId)
+			: contactsVersionRepository.incrementIfMatches(userId, expectedVersion);
+		if (updated == 0) {
+			// No row yet counts as version 0
+			if ((expectedVersion != null && expectedVersion != 0) || contactsVersionRepository.existsById(userId)) {
+				throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Contacts were modified since they were read");
+			}
+			contactsVersionRepository.save(ContactsVersion.builder().userId(userId).version(1L).build());
+		}
+	}
+
+	/** Next attempt for an alert that the caller claims directly; the poll may take it after that. */
+	private Instant reservedUntil() {
+		return Instant.now().plus(dispatchProperties.getLease());
+	}
+
+	private EmergencyAlert newAlert(UUID userId, EmergencyContact contact, String text, Instant nextAttemptAt) {
+		return EmergencyAlert.builder()
+			.userId(userId)
+			.contactId(contact.getId())
+			.recipientName(contact.getName())
+			.recipientPhone(contact.getPhone())
+			.message(text)
+			.nextAttemptAt(nextAttemptAt)
+			.build();
+	}
+
+	private String alertText(UUID userId) {
+		return senderName(userId) + " has sent you an emergency alert from Mind Trap and may need help. Please contact them now.";
+	}
+
+	private String crisisText(UUID userId) {
+		return senderName(userId) + " has just completed a Mind Trap screening that indicates they may be in crisis. "
+			+ "Please contact them right away, and call local emergency services if you cannot reach them.";
+	}
+
+	private String senderName(UUID userId) {
+		return profileRepository.findByUserId(userId)
+			.map(Profile::getFullName)
+			.orElse("A Mind Trap user");
+	}
+
+	public record VersionedContacts(List<EmergencyContactDto> contacts, long version) {
+	}
+
+	private record FanOut(EmergencyContact contact, EmergencyAlert alert) {
+		boolean queued() {
+			return alert != null;
+		}
 	}
 
 	private EmergencyContactDto toDto(EmergencyContact contact) {
@@ -12,9 +12,15 @@ import com.mindtrap.dto.ScreeningResult;
 import com.mindtrap.repository.AssessmentRepository;
 import com.mindtrap.repository.ProfileRepository;
 import com.mindtrap.repository.UserRepository;
+import com.mindtrap.service.alerts.CrisisScreeningEvent;
+import com.mindtrap.service.cache.CacheInvalidationBus;
+import com.mindtrap.service.cache.CachedEntity;
 import lombok.RequiredArgsConstructor;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,6 +41,10 @@ public class InitialScreeningService {
 	private final UserRepository userRepository;
 	private final AssessmentRepository assessmentRepository;
 	private final ProfileRepository profileRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final CacheInvalidationBus cacheInvalidationBus;
+	private final MeterRegistry meterRegistry;
+	private Timer analyzeTimer;
 	private static final String AGENT_LOG_PATH = "c:\\Users\\tanma\\mind-trap\\.cursor\\debug.log";
 	private static final String AGENT_SESSION_ID = "debug-session";
 	private static final String AGENT_RUN_ID = "pre-fix";
@@ -65,6 +75,13 @@ public class InitialScreeningService {
 	}
 	// #endregion
 
+	@PostConstruct
+	void registerMeters() {
+		analyzeTimer = Timer.builder("screening.analyze")
+			.description("Scoring screening responses")
+			.register(meterRegistry);
+	}
+
 	@PostConstruct
 	private void logBeanInitialization() {
 		Map<String, Object> data = new HashMap<>();
@@ -76,6 +93,7 @@ public class InitialScreeningService {
 
 	@Transactional
 	public InitialScreeningResponse processScreening(UUID userId, InitialScreeningRequest request) {
+		long submittedNanos = System.nanoTime();
 		Map<String, Object> entryData = new HashMap<>();
 		entryData.put("userId", userId);
 		entryData.put("responsesType", request.getResponses() != null ? request.getResponses().getNodeType().toString() : "null");
@@ -85,7 +103,7 @@ public class InitialScreeningService {
 		User user = userRepository.findById(userId)
 			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
-		ScreeningResult result = analyzeResponses(request.getResponses());
+		ScreeningResult result = analyzeTimer.record(() -> analyzeResponses(request.getResponses()));
 
 		Assessment assessment = Assessment.builder()
 			.user(user)
@@ -96,6 +114,10 @@ public class InitialScreeningService {
 			.responses(request.getResponses())
 			.build();
 		assessmentRepository.save(assessment);
+		if (Boolean.TRUE.equals(result.getCrisis())) {
+			// Handled on the crisis lane once this transaction commits
+			eventPublisher.publishEvent(new CrisisScreeningEvent(userId, assessment.getId(), submittedNanos));
+		}
 
 		Map<String, Object> assessmentData = new HashMap<>();
 		assessmentData.put("assessmentId", assessment.getId());
@@ -108,6 +130,7 @@ public class InitialScreeningService {
 			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Profile not found"));
 		profile.setInitialScreeningCompleted(true);
 		profile = profileRepository.save(profile);
+		cacheInvalidationBus.publish(CachedEntity.PROFILE, userId);
 
 		Map<String, Object> profileData = new HashMap<>();
 		profileData.put("profileId", profile.getId());
@@ -238,7 +261,8 @@ public class InitialScreeningService {
 		}
 
 		// Check for suicidal ideation (question 15, if present)
-		if (responses != null && responses.has("15") && responses.get("15").asInt(0) >= 2) {
+		boolean crisis = responses != null && responses.has("15") && responses.get("15").asInt(0) >= 2;
+		if (crisis) {
 			severity = "Severe symptoms - Immediate attention required";
 			diagnosis = "URGENT: Please seek immediate professional help or contact emergency services";
 		}
@@ -253,6 +277,7 @@ public class InitialScreeningService {
 			.score(totalScore[0])
 			.severity(severity)
 			.diagnosis(diagnosis)
+			.crisis(crisis)
 			.build();
 	}
 }
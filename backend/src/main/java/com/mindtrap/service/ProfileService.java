@@ -4,18 +4,25 @@ import com.mindtrap.domain.Profile;
 import com.mindtrap.dto.ProfileDto;
 import com.mindtrap.dto.UpdateProfileRequest;
 import com.mindtrap.repository.ProfileRepository;
+import com.mindtrap.service.cache.CacheInvalidationBus;
+import com.mindtrap.service.cache.CachedEntity;
+import com.mindtrap.service.geocoding.GeoPoint;
+import com.mindtrap.service.geocoding.PostalGeocoder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class ProfileService {
 	private final ProfileRepository profileRepository;
+	private final CacheInvalidationBus cacheInvalidationBus;
+	private final PostalGeocoder postalGeocoder;
 
 	public ProfileDto getProfile(UUID userId) {
 		Profile profile = profileRepository.findByUserId(userId)
@@ -23,10 +30,23 @@ public class ProfileService {
 		return toDto(profile);
 	}
 
+	/** Current profile version, read without loading the entity; the basis of the profile ETag. */
+	public long getVersion(UUID userId) {
+		return profileRepository.findVersion(userId)
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Profile not found"));
+	}
+
+	/**
+	 * Applies the update; when {@code expectedVersion} is given it must match the stored
+	 * version (a concurrent change caught at flush surfaces as an optimistic-lock failure).
+	 */
 	@Transactional
-	public ProfileDto updateProfile(UUID userId, UpdateProfileRequest request) {
+	public ProfileDto updateProfile(UUID userId, UpdateProfileRequest request, Long expectedVersion) {
 		Profile profile = profileRepository.findByUserId(userId)
 			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Profile not found"));
+		if (expectedVersion != null && !expectedVersion.equals(profile.getVersion())) {
+			throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Profile was modified since it was read");
+		}
 
 		if (request.getPhone() != null) {
 			profile.setPhone(request.getPhone());
@@ -40,17 +60,37 @@ public class ProfileService {
 		if (request.getPincode() != null) {
 			profile.setPincode(request.getPincode());
 		}
+		if (request.getCountry() != null || request.getPincode() != null) {
+			GeoPoint location = postalGeocoder.geocode(profile.getCountry(), profile.getPincode()).orElse(null);
+			profile.setLatitude(location == null ? null : location.latitude());
+			profile.setLongitude(location == null ? null : location.longitude());
+		}
 
-		profile = profileRepository.save(profile);
+		profile = profileRepository.saveAndFlush(profile);
+		cacheInvalidationBus.publish(CachedEntity.PROFILE, userId);
 		return toDto(profile);
 	}
 
+	/**
+	 * The user's stored pincode location. Profiles saved before coordinates were stored are
+	 * geocoded on the fly (without writing back).
+	 */
+	public Optional<GeoPoint> getLocation(UUID userId) {
+		return profileRepository.findByUserId(userId).flatMap(profile -> {
+			if (profile.getLatitude() != null && profile.getLongitude() != null) {
+				return Optional.of(new GeoPoint(profile.getLatitude(), profile.getLongitude()));
+			}
+			return postalGeocoder.geocode(profile.getCountry(), profile.getPincode());
+		});
+	}
+
 	@Transactional
 	public ProfileDto markScreeningCompleted(UUID userId) {
 		Profile profile = profileRepository.findByUserId(userId)
 			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Profile not found"));
 		profile.setInitialScreeningCompleted(true);
 		profile = profileRepository.save(profile);
+		cacheInvalidationBus.publish(CachedEntity.PROFILE, userId);
 		return toDto(profile);
 	}
 
@@ -63,9 +103,12 @@ public class ProfileService {
 			.homeAddress(profile.getHomeAddress())
 			.country(profile.getCountry())
 			.pincode(profile.getPincode())
+			.latitude(profile.getLatitude())
+			.longitude(profile.getLongitude())
 			.initialScreeningCompleted(profile.getInitialScreeningCompleted())
 			.createdAt(profile.getCreatedAt())
 			.updatedAt(profile.getUpdatedAt())
+			.version(profile.getVersion())
 			.build();
 	}
 }
@@ -0,0 +1,24 @@
+package com.mindtrap.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+
+/**
+ * Half-open {@code [from, to)} range for time-range queries. Open ends become concrete
+ * bounds so the query stays a plain range scan on {@code (user_id, created_at)}.
+ */
+record TimeRange(Instant from, Instant to) {
+	private static final Instant MIN = Instant.EPOCH;
+	private static final Instant MAX = Instant.parse("9999-12-31T23:59:59Z");
+
+	static TimeRange of(Instant from, Instant to) {
+		Instant start = from != null ? from : MIN;
+		Instant end = to != null ? to : MAX;
+		if (!start.isBefore(end)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before 'to'");
+		}
+		return new TimeRange(start, end);
+	}
+}
@@ -0,0 +1,56 @@
+package com.mindtrap.service;
+
+import com.mindtrap.domain.User;
+import com.mindtrap.repository.UserRepository;
+import com.mindtrap.service.cache.CacheInvalidationBus;
+import com.mindtrap.service.cache.CachedEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.UUID;
+
+/**
+ * Grants and revokes {@code users.admin} and {@code users.enabled}. Both are read from the
+ * cached {@link User} on every request, so changes must go through here: editing the
+ * columns by hand leaves other nodes' second-level caches serving the old values until
+ * the entry expires.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserAccessService {
+	private final UserRepository userRepository;
+	private final CacheInvalidationBus cacheInvalidationBus;
+
+	public record UserAccess(UUID id, String email, boolean admin, boolean enabled) {
+		static UserAccess of(User user) {
+			return new UserAccess(user.getId(), user.getEmail(), Boolean.TRUE.equals(user.getAdmin()), Boolean.TRUE.equals(user.getEnabled()));
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public UserAccess getAccess(UUID userId) {
+		return UserAccess.of(findUser(userId));
+	}
+
+	/** Updates whichever flags are given and evicts the user from every node's cache. */
+	@Transactional
+	public UserAccess updateAccess(UUID userId, Boolean admin, Boolean enabled) {
+		User user = findUser(userId);
+		if (admin != null) {
+			user.setAdmin(admin);
+		}
+		if (enabled != null) {
+			user.setEnabled(enabled);
+		}
+		cacheInvalidationBus.publish(CachedEntity.USER, userId);
+		return UserAccess.of(user);
+	}
+
+	private User findUser(UUID userId) {
+		return userRepository.findById(userId)
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+	}
+}
@@ -0,0 +1,150 @@
+package com.mindtrap.service;
+
+import com.mindtrap.config.VitalArchiveProperties;
+import com.mindtrap.domain.VitalReading;
+import com.mindtrap.dto.VitalReadingDto;
+import com.mindtrap.repository.VitalReadingRepository;
+import com.mindtrap.service.cache.CacheInvalidationBus;
+import com.mindtrap.service.cache.CachedEntity;
+import com.mindtrap.service.vitals.VitalArchive;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves whole months of readings older than the retention period out of
+ * {@code vital_readings} into {@link VitalArchive} segments. Each user-month is written
+ * and fsynced before its rows are deleted in the same transaction; if the delete fails
+ * the next run re-merges the same rows into the segment by id.
+ *
+ * <p>On Postgres a run holds a session advisory lock, so with several nodes only one of
+ * them archives at a time. The segment directory must be storage every node shares: at
+ * startup each node checks the directory's store id against the one recorded in
+ * {@code vital_archive_store} and refuses to start if they differ.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VitalArchiveService {
+	/** Advisory lock key held for the duration of an archive run ("vitalarc"). */
+	private static final long ARCHIVE_LOCK = 0x766974616c617263L;
+
+	private final VitalArchiveProperties properties;
+	private final VitalReadingRepository vitalReadingRepository;
+	private final VitalReadingService vitalReadingService;
+	private final VitalArchive vitalArchive;
+	private final TransactionTemplate transactionTemplate;
+	private final JdbcTemplate jdbcTemplate;
+	private final DataSourceProperties dataSourceProperties;
+	private final CacheInvalidationBus cacheInvalidationBus;
+
+	@PostConstruct
+	void verifySharedStore() {
+		if (!properties.isEnabled() || !isPostgres()) {
+			return;
+		}
+		UUID local = vitalArchive.storeId();
+		jdbcTemplate.update("INSERT INTO vital_archive_store (store_id) VALUES (?) ON CONFLICT (id) DO NOTHING", local);
+		UUID registered = jdbcTemplate.queryForObject("SELECT store_id FROM vital_archive_store WHERE id = 1", UUID.class);
+		if (!local.equals(registered)) {
+			// Another node archives into a different directory: readings it moved are invisible here
+			throw new IllegalStateException("vitals.archive.directory " + properties.getDirectory().toAbsolutePath()
+				+ " is not the shared archive store (" + registered + "); mount the same directory on every node");
+		}
+	}
+
+	@Scheduled(cron = "${vitals.archive.cron:0 30 3 * * *}", zone = "UTC")
+	public void archiveOldReadings() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		if (!isPostgres()) {
+			archive();
+			return;
+		}
+		// Session-level lock on one pooled connection; the work itself uses other connections
+		jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+			if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(?)")) {
+				log.info("[ARCHIVE] Another node is archiving vital readings; skipping this run");
+				return null;
+			}
+			try {
+				archive();
+			} finally {
+				advisoryLock(connection, "SELECT pg_advisory_unlock(?)");
+			}
+			return null;
+		});
+	}
+
+	private void archive() {
+		YearMonth cutoffMonth = YearMonth.from(Instant.now().minus(properties.getRetention()).atZone(ZoneOffset.UTC));
+		Instant cutoff = monthStart(cutoffMonth);
+
+		List<UUID> userIds = vitalReadingRepository.findUserIdsWithReadingsBefore(cutoff);
+		log.info("[ARCHIVE] Archiving vital readings before {} for {} users", cutoff, userIds.size());
+		for (UUID userId : userIds) {
+			try {
+				archiveUser(userId, cutoffMonth);
+			} catch (RuntimeException ex) {
+				log.error("[ARCHIVE] Failed to archive vital readings for user {}", userId, ex);
+			}
+		}
+	}
+
+	private void archiveUser(UUID userId, YearMonth cutoffMonth) {
+		Instant oldest = vitalReadingRepository.findOldestCreatedAt(userId);
+		if (oldest == null) {
+			return;
+		}
+		for (YearMonth month = YearMonth.from(oldest.atZone(ZoneOffset.UTC)); month.isBefore(cutoffMonth); month = month.plusMonths(1)) {
+			YearMonth segment = month;
+			Instant from = monthStart(segment);
+			Instant to = monthStart(segment.plusMonths(1));
+			transactionTemplate.executeWithoutResult(status -> {
+				List<VitalReading> rows = vitalReadingRepository.findInRange(userId, from, to);
+				if (rows.isEmpty()) {
+					return;
+				}
+				List<VitalReadingDto> readings = rows.stream().map(vitalReadingService::toDto).toList();
+				vitalArchive.write(userId, segment, readings);
+				int deleted = vitalReadingRepository.deleteInRange(userId, from, to);
+				cacheInvalidationBus.publish(CachedEntity.VITAL_ARCHIVE, userId);
+				log.debug("[ARCHIVE] User {} {}: archived {} readings, deleted {} rows", userId, segment, readings.size(), deleted);
+			});
+		}
+	}
+
+	private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setLong(1, ARCHIVE_LOCK);
+			try (ResultSet result = statement.executeQuery()) {
+				return result.next() && result.getBoolean(1);
+			}
+		}
+	}
+
+	private boolean isPostgres() {
+		return dataSourceProperties.determineUrl().startsWith("jdbc:postgresql:");
+	}
+
+	private static Instant monthStart(YearMonth month) {
+		return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+	}
+}
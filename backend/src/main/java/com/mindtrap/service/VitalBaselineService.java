@@ -0,0 +1,75 @@
+package com.mindtrap.service;
+
+import com.mindtrap.config.VitalBaselineProperties;
+import com.mindtrap.domain.VitalBaseline;
+import com.mindtrap.repository.VitalBaselineRepository;
+import com.mindtrap.service.vitals.VitalSample;
+import com.mindtrap.service.vitals.VitalSign;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintains each user's running baseline (EWMA mean and variance per vital). Every
+ * reading costs a no-op insert, one locked primary-key read and one row update; no
+ * history is replayed.
+ */
+@Service
+@RequiredArgsConstructor
+public class VitalBaselineService {
+	private final VitalBaselineRepository baselineRepository;
+	private final VitalBaselineProperties properties;
+
+	/**
+	 * Scores the sample against the user's current baseline, then folds it in.
+	 *
+	 * @return vitals whose value deviates from the baseline beyond the configured threshold
+	 */
+	@Transactional
+	public List<String> update(UUID userId, VitalSample sample) {
+		// The row must exist before locking: with nothing to lock, two first readings would
+		// both insert the same key and the loser's whole reading would roll back
+		baselineRepository.insertIfAbsent(userId);
+		VitalBaseline baseline = baselineRepository.findForUpdate(userId)
+			.orElseThrow(() -> new IllegalStateException("Baseline row missing for user " + userId));
+
+		int count = baseline.getSampleCount() + 1;
+		// During warm-up behave like a cumulative average so early readings are not over-weighted
+		double alpha = Math.max(properties.getAlpha(), 1.0 / count);
+		boolean warmedUp = baseline.getSampleCount() >= properties.getWarmupSamples();
+
+		List<String> anomalies = new ArrayList<>(1);
+		for (VitalSign vital : VitalSign.values()) {
+			int scaled = sample.get(vital);
+			if (scaled == VitalSample.MISSING) {
+				continue;
+			}
+			double value = vital.fromScaled(scaled);
+			Double mean = baseline.getMean(vital);
+			if (mean == null) {
+				baseline.setStatistics(vital, value, 0.0);
+				continue;
+			}
+
+			double variance = baseline.getVariance(vital);
+			double diff = value - mean;
+			if (warmedUp) {
+				double stdDev = Math.max(Math.sqrt(variance), properties.getMinStdDev().getOrDefault(vital, 0.0));
+				if (Math.abs(diff) > properties.getDeviationThreshold() * stdDev) {
+					anomalies.add(vital.name());
+				}
+			}
+
+			double increment = alpha * diff;
+			baseline.setStatistics(vital, mean + increment, (1 - alpha) * (variance + diff * increment));
+		}
+
+		baseline.setSampleCount(count);
+		baselineRepository.save(baseline);
+		return anomalies;
+	}
+}
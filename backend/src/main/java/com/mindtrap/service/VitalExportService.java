@@ -0,0 +1,392 @@
+package com.mindtrap.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindtrap.config.VitalArchiveProperties;
+import com.mindtrap.config.VitalExportProperties;
+import com.mindtrap.dto.VitalReadingDto;
+import com.mindtrap.service.vitals.VitalArchive;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams a user's full reading history oldest-first without holding a connection or
+ * transaction for the length of the download, and with at most
+ * {@code vitals.export.max-concurrent} exports running at once.
+ *
+ * <p>Rows go straight from the {@link ResultSet} (or the decoded segment) to the CSV or
+ * JSON generator, without building a DTO or a list per row.
+ *
+ * <p>The archive boundary is taken once, at the start: no run of the archiver during the
+ * export can reach past it. Months before it are read one at a time, each through a
+ * read-only transaction whose cursor fetches {@code page-size} rows at a time. The
+ * month's segment is read only once the hot query has run; the archiver writes a segment
+ * before it deletes the month's rows, so a month moved mid-export is seen on at least one
+ * side. Usually only one side has rows and it is streamed as is; only when both do
+ * (archived while being read, or a delete that failed) is the month merged by id. Rows
+ * from the boundary on are read in keyset pages, each a short query of its own.
+ *
+ * <p>The export slot is released when the async request completes, times out or fails,
+ * so a body that never runs does not keep its slot.
+ */
+@Service
+@RequiredArgsConstructor
+public class VitalExportService {
+	/** Key of the interceptor that frees a request's export slot. */
+	static final String EXPORT_SLOT = VitalExportService.class.getName() + ".slot";
+	private static final String COLUMNS = """
+		SELECT id, created_at, heart_rate, blood_pressure_systolic, blood_pressure_diastolic,
+		       oxygen_saturation, temperature, is_emergency
+		FROM vital_readings
+		""";
+	private static final String MONTH_SQL = COLUMNS + """
+		WHERE user_id = ? AND created_at >= ? AND created_at < ?
+		ORDER BY created_at, id
+		""";
+	private static final String FIRST_PAGE_SQL = COLUMNS + """
+		WHERE user_id = ? AND created_at >= ?
+		ORDER BY created_at, id
+		LIMIT ?
+		""";
+	private static final String NEXT_PAGE_SQL = COLUMNS + """
+		WHERE user_id = ? AND (created_at, id) > (?, ?)
+		ORDER BY created_at, id
+		LIMIT ?
+		""";
+	/** Only used to merge a month that has rows on both sides. */
+	private static final RowMapper<VitalReadingDto> ROW = (rs, rowNum) -> VitalReadingDto.builder()
+		.id(rs.getObject(1, UUID.class))
+		.createdAt(rs.getObject(2, LocalDateTime.class).toInstant(ZoneOffset.UTC))
+		.heartRate(rs.getObject(3, Integer.class))
+		.bloodPressureSystolic(rs.getObject(4, Integer.class))
+		.bloodPressureDiastolic(rs.getObject(5, Integer.class))
+		.oxygenSaturation(rs.getBigDecimal(6))
+		.temperature(rs.getBigDecimal(7))
+		.isEmergency(rs.getObject(8, Boolean.class))
+		.build();
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+	private final VitalArchive vitalArchive;
+	private final VitalArchiveProperties archiveProperties;
+	private final VitalExportProperties properties;
+	private Semaphore slots;
+	private JdbcTemplate cursorJdbcTemplate;
+	private TransactionTemplate readOnlyTransaction;
+
+	public enum Format {
+		CSV,
+		NDJSON
+	}
+
+	@PostConstruct
+	void init() {
+		slots = new Semaphore(properties.getMaxConcurrent());
+		cursorJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+		cursorJdbcTemplate.setFetchSize(properties.getPageSize());
+		readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+		readOnlyTransaction.setReadOnly(true);
+	}
+
+	/**
+	 * Reserves an export slot, failing with 429 when all are taken, and returns the body
+	 * that writes the export. The slot is freed when the request's async processing
+	 * completes, whether or not the body ever ran.
+	 */
+	public StreamingResponseBody export(UUID userId, Format format, NativeWebRequest request) {
+		if (!slots.tryAcquire()) {
+			throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many exports in progress; try again shortly");
+		}
+		try {
+			WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_SLOT, new CallableProcessingInterceptor() {
+				@Override
+				public <T> void afterCompletion(NativeWebRequest completed, Callable<T> task) {
+					slots.release();
+				}
+			});
+		} catch (RuntimeException ex) {
+			slots.release();
+			throw ex;
+		}
+		return out -> export(userId, format, out);
+	}
+
+	private void export(UUID userId, Format format, OutputStream out) throws IOException {
+		RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+		writer.begin();
+
+		// The archiver only moves months before (now - retention); one month of slack covers
+		// a run that starts after a month rollover while this export is still going
+		YearMonth boundary = YearMonth.from(Instant.now().minus(archiveProperties.getRetention()).atZone(ZoneOffset.UTC))
+			.plusMonths(1);
+		YearMonth first = oldestMonth(userId);
+		for (YearMonth month = first; month != null && month.isBefore(boundary); month = month.plusMonths(1)) {
+			exportMonth(userId, month, writer);
+		}
+
+		PageCursor cursor = new PageCursor(writer);
+		cursorJdbcTemplate.query(FIRST_PAGE_SQL, cursor, userId, utc(monthStart(boundary)), properties.getPageSize());
+		while (cursor.rows == properties.getPageSize()) {
+			LocalDateTime lastCreatedAt = cursor.lastCreatedAt;
+			Object lastId = cursor.lastId;
+			cursor.rows = 0;
+			cursorJdbcTemplate.query(NEXT_PAGE_SQL, cursor, userId, lastCreatedAt, lastId, properties.getPageSize());
+		}
+
+		writer.end();
+	}
+
+	private void exportMonth(UUID userId, YearMonth month, RowWriter writer) {
+		// The cursor needs a transaction to fetch in batches rather than all at once
+		readOnlyTransaction.executeWithoutResult(status -> cursorJdbcTemplate.query(MONTH_SQL, (ResultSetExtractor<Void>) rs -> {
+			// Hot query first: once its rows are gone, the segment is guaranteed to hold them
+			boolean hot = rs.next();
+			if (!hot) {
+				vitalArchive.readMonth(userId, month, writer::writeUnchecked);
+			} else if (!vitalArchive.hasMonth(userId, month)) {
+				do {
+					writer.writeUnchecked(rs);
+				} while (rs.next());
+			} else {
+				mergeMonth(userId, month, rs, writer);
+			}
+			return null;
+		}, userId, utc(monthStart(month)), utc(monthStart(month.plusMonths(1)))));
+	}
+
+	/** Archived while this export read it (or a delete that failed): merge by id. */
+	private void mergeMonth(UUID userId, YearMonth month, ResultSet rs, RowWriter writer) throws SQLException {
+		Map<UUID, VitalReadingDto> merged = new HashMap<>();
+		int rowNum = 0;
+		do {
+			VitalReadingDto reading = ROW.mapRow(rs, rowNum++);
+			merged.put(reading.getId(), reading);
+		} while (rs.next());
+		vitalArchive.readMonth(userId, month, reading -> merged.putIfAbsent(reading.getId(), reading));
+		List<VitalReadingDto> sorted = new ArrayList<>(merged.values());
+		sorted.sort(Comparator.comparing(VitalReadingDto::getCreatedAt));
+		sorted.forEach(writer::writeUnchecked);
+	}
+
+	private YearMonth oldestMonth(UUID userId) {
+		LocalDateTime oldestHot = jdbcTemplate.queryForObject(
+			"SELECT MIN(created_at) FROM vital_readings WHERE user_id = ?", LocalDateTime.class, userId);
+		YearMonth hot = oldestHot == null ? null : YearMonth.from(oldestHot);
+		YearMonth archived = vitalArchive.months(userId).isEmpty() ? null : vitalArchive.months(userId).first();
+		if (hot == null || archived == null) {
+			return hot == null ? archived : hot;
+		}
+		return hot.isBefore(archived) ? hot : archived;
+	}
+
+	private static Instant monthStart(YearMonth month) {
+		return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+	}
+
+	private static LocalDateTime utc(Instant instant) {
+		return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+	}
+
+	private static String text(Object value) {
+		if (value instanceof BigDecimal decimal) {
+			return decimal.toPlainString();
+		}
+		return value == null ? null : value.toString();
+	}
+
+	/** Writes one keyset page and remembers where it ended. */
+	private static final class PageCursor implements RowCallbackHandler {
+		private final RowWriter writer;
+		private int rows;
+		private LocalDateTime lastCreatedAt;
+		private Object lastId;
+
+		PageCursor(RowWriter writer) {
+			this.writer = writer;
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			writer.writeUnchecked(rs);
+			lastId = rs.getObject(1);
+			lastCreatedAt = rs.getObject(2, LocalDateTime.class);
+			rows++;
+		}
+	}
+
+	private abstract class RowWriter {
+		private long rows;
+
+		abstract void begin() throws IOException;
+
+		abstract void write(String id, String createdAt, String heartRate, String systolic, String diastolic,
+			String oxygenSaturation, String temperature, boolean emergency) throws IOException;
+
+		abstract void flush() throws IOException;
+
+		abstract void end() throws IOException;
+
+		void writeUnchecked(VitalReadingDto reading) {
+			try {
+				write(reading.getId().toString(),
+					reading.getCreatedAt().toString(),
+					text(reading.getHeartRate()),
+					text(reading.getBloodPressureSystolic()),
+					text(reading.getBloodPressureDiastolic()),
+					text(reading.getOxygenSaturation()),
+					text(reading.getTemperature()),
+					Boolean.TRUE.equals(reading.getIsEmergency()));
+				counted();
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		/** Writes the current row of a {@link #COLUMNS} result set. */
+		void writeUnchecked(ResultSet rs) throws SQLException {
+			try {
+				write(rs.getObject(1, UUID.class).toString(),
+					rs.getObject(2, LocalDateTime.class).toInstant(ZoneOffset.UTC).toString(),
+					rs.getString(3),
+					rs.getString(4),
+					rs.getString(5),
+					text(rs.getBigDecimal(6)),
+					text(rs.getBigDecimal(7)),
+					rs.getBoolean(8));
+				counted();
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		private void counted() throws IOException {
+			if (++rows % properties.getFlushEvery() == 0) {
+				flush();
+			}
+		}
+	}
+
+	private final class CsvRowWriter extends RowWriter {
+		private final Writer writer;
+
+		CsvRowWriter(OutputStream out) {
+			this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+		}
+
+		@Override
+		void begin() throws IOException {
+			writer.write("id,createdAt,heartRate,bloodPressureSystolic,bloodPressureDiastolic,oxygenSaturation,temperature,isEmergency\n");
+		}
+
+		@Override
+		void write(String id, String createdAt, String heartRate, String systolic, String diastolic,
+			String oxygenSaturation, String temperature, boolean emergency) throws IOException {
+			// Every field is a UUID, ISO instant, number or boolean, so no quoting is needed
+			writer.write(id);
+			writer.write(',');
+			writer.write(createdAt);
+			for (String value : new String[] {heartRate, systolic, diastolic, oxygenSaturation, temperature}) {
+				writer.write(',');
+				if (value != null) {
+					writer.write(value);
+				}
+			}
+			writer.write(emergency ? ",true\n" : ",false\n");
+		}
+
+		@Override
+		void flush() throws IOException {
+			writer.flush();
+		}
+
+		@Override
+		void end() throws IOException {
+			writer.flush();
+		}
+	}
+
+	private final class NdjsonRowWriter extends RowWriter {
+		private final JsonGenerator generator;
+
+		NdjsonRowWriter(OutputStream out) throws IOException {
+			this.generator = objectMapper.getFactory().createGenerator(out);
+			this.generator.setRootValueSeparator(new SerializedString("\n"));
+		}
+
+		@Override
+		void begin() {
+		}
+
+		@Override
+		void write(String id, String createdAt, String heartRate, String systolic, String diastolic,
+			String oxygenSaturation, String temperature, boolean emergency) throws IOException {
+			generator.writeStartObject();
+			generator.writeStringField("id", id);
+			generator.writeStringField("createdAt", createdAt);
+			writeNumber("heartRate", heartRate);
+			writeNumber("bloodPressureSystolic", systolic);
+			writeNumber("bloodPressureDiastolic", diastolic);
+			writeNumber("oxygenSaturation", oxygenSaturation);
+			writeNumber("temperature", temperature);
+			generator.writeBooleanField("isEmergency", emergency);
+			generator.writeEndObject();
+		}
+
+		private void writeNumber(String field, String value) throws IOException {
+			generator.writeFieldName(field);
+			if (value == null) {
+				generator.writeNull();
+			} else {
+				generator.writeNumber(value);
+			}
+		}
+
+		@Override
+		void flush() throws IOException {
+			generator.flush();
+		}
+
+		@Override
+		void end() throws IOException {
+			generator.writeRaw('\n');
+			generator.flush();
+		}
+	}
+}
@@ -6,14 +6,27 @@ import com.mindtrap.dto.CreateVitalReadingRequest;
 import com.mindtrap.dto.VitalReadingDto;
 import com.mindtrap.repository.UserRepository;
 import com.mindtrap.repository.VitalReadingRepository;
+import com.mindtrap.service.cache.CacheInvalidationBus;
+import com.mindtrap.service.cache.CachedEntity;
+import com.mindtrap.service.vitals.EmergencyDetectionEngine;
+import com.mindtrap.service.vitals.RecentVitalsCache;
+import com.mindtrap.service.vitals.VitalArchive;
+import com.mindtrap.service.vitals.VitalReadingCreatedEvent;
+import com.mindtrap.service.vitals.VitalSample;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -21,15 +34,74 @@ import java.util.UUID;
 public class VitalReadingService {
 	private final VitalReadingRepository vitalReadingRepository;
 	private final UserRepository userRepository;
+	private final EmergencyDetectionEngine emergencyDetectionEngine;
+	private final VitalBaselineService vitalBaselineService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final RecentVitalsCache recentVitalsCache;
+	private final VitalArchive vitalArchive;
+	private final CacheInvalidationBus cacheInvalidationBus;
 
 	public Page<VitalReadingDto> getReadings(UUID userId, Pageable pageable) {
-		return vitalReadingRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
+		// Pages inside the recent window (the common "last N" read) never reach the database
+		if (recentVitalsCache.covers(pageable)) {
+			return recentVitalsCache.page(userId, pageable,
+				() -> readHotAndArchived(userId, PageRequest.of(0, recentVitalsCache.capacity())),
+				() -> readHotAndArchived(userId, pageable));
+		}
+		return readHotAndArchived(userId, pageable);
+	}
+
+	public Page<VitalReadingDto> getReadings(UUID userId, Instant from, Instant to, Pageable pageable) {
+		if (from == null && to == null) {
+			return getReadings(userId, pageable);
+		}
+		TimeRange range = TimeRange.of(from, to);
+		Page<VitalReadingDto> hot = vitalReadingRepository
+			.findByUserIdAndCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtDesc(
+				userId, range.from(), range.to(), pageable)
 			.map(this::toDto);
+		long archived = vitalArchive.count(userId, range.from(), range.to());
+		return appendArchived(hot, pageable, archived,
+			(offset, limit) -> vitalArchive.newest(userId, range.from(), range.to(), offset, limit));
+	}
+
+	private Page<VitalReadingDto> readHotAndArchived(UUID userId, Pageable pageable) {
+		Page<VitalReadingDto> hot = vitalReadingRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
+			.map(this::toDto);
+		return appendArchived(hot, pageable, vitalArchive.count(userId),
+			(offset, limit) -> vitalArchive.newest(userId, offset, limit));
+	}
+
+	/**
+	 * Pages over hot rows first and continues into archived segments once they run out;
+	 * archived readings are always older than any hot row.
+	 */
+	private Page<VitalReadingDto> appendArchived(Page<VitalReadingDto> hot, Pageable pageable, long archived,
+		ArchiveReader archive) {
+		if (archived == 0 || pageable.isUnpaged()) {
+			return hot;
+		}
+
+		List<VitalReadingDto> content = new ArrayList<>(hot.getContent());
+		if (content.size() < pageable.getPageSize()) {
+			long archiveOffset = Math.max(0, pageable.getOffset() - hot.getTotalElements());
+			content.addAll(archive.newest(archiveOffset, pageable.getPageSize() - content.size()));
+		}
+		return new PageImpl<>(content, pageable, hot.getTotalElements() + archived);
+	}
+
+	@FunctionalInterface
+	private interface ArchiveReader {
+		List<VitalReadingDto> newest(long offset, int limit);
 	}
 
 	public VitalReadingDto getReading(UUID userId, UUID readingId) {
-		VitalReading reading = vitalReadingRepository.findById(readingId)
-			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reading not found"));
+		VitalReading reading = vitalReadingRepository.findById(readingId).orElse(null);
+		if (reading == null) {
+			// Moved to the cold tier; only the caller's own segments are searched
+			return vitalArchive.find(userId, readingId)
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reading not found"));
+		}
 
 		if (!reading.getUser().getId().equals(userId)) {
 			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied");
@@ -43,8 +115,11 @@ public class VitalReadingService {
 		User user = userRepository.findById(userId)
 			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
-		// Determine if this is an emergency based on vital thresholds
-		boolean isEmergency = isEmergencyReading(request);
+		// Evaluate the reading against the user's recent window rather than in isolation
+		VitalSample sample = VitalSample.of(request, System.currentTimeMillis());
+		List<String> triggeredRules = emergencyDetectionEngine.evaluate(userId, sample);
+		List<String> anomalies = vitalBaselineService.update(userId, sample);
+		boolean isEmergency = !triggeredRules.isEmpty();
 
 		VitalReading reading = VitalReading.builder()
 			.user(user)
@@ -57,19 +132,17 @@ public class VitalReadingService {
 			.build();
 
 		reading = vitalReadingRepository.save(reading);
-		return toDto(reading);
-	}
-
-	private boolean isEmergencyReading(CreateVitalReadingRequest request) {
-		// Basic emergency thresholds
-		return (request.getHeartRate() != null && (request.getHeartRate() < 50 || request.getHeartRate() > 120))
-			|| (request.getBloodPressureSystolic() != null && request.getBloodPressureSystolic() > 180)
-			|| (request.getBloodPressureDiastolic() != null && request.getBloodPressureDiastolic() > 120)
-			|| (request.getOxygenSaturation() != null && request.getOxygenSaturation().doubleValue() < 90)
-			|| (request.getTemperature() != null && (request.getTemperature().doubleValue() < 95 || request.getTemperature().doubleValue() > 104));
+		// Batched after commit: a NOTIFY inside every ingest transaction would serialize their commits
+		cacheInvalidationBus.publishBatched(CachedEntity.VITALS, userId);
+		VitalReadingDto dto = toDto(reading);
+		dto.setTriggeredRules(triggeredRules);
+		dto.setAnomalies(anomalies);
+		// Once the transaction commits, the detection window records this and live views get it over SSE
+		eventPublisher.publishEvent(new VitalReadingCreatedEvent(userId, dto, sample));
+		return dto;
 	}
 
-	private VitalReadingDto toDto(VitalReading reading) {
+	public VitalReadingDto toDto(VitalReading reading) {
 		return VitalReadingDto.builder()
 			.id(reading.getId())
 			.heartRate(reading.getHeartRate())
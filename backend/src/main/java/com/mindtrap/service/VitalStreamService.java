@@ -0,0 +1,270 @@
+package com.mindtrap.service;
+
+import com.mindtrap.config.VitalStreamProperties;
+import com.mindtrap.domain.VitalReading;
+import com.mindtrap.dto.VitalReadingDto;
+import com.mindtrap.repository.VitalReadingRepository;
+import com.mindtrap.service.vitals.RemoteVitalReadingsEvent;
+import com.mindtrap.service.vitals.VitalReadingCreatedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes newly created vital readings and emergency flags to the owner's open
+ * Server-Sent Events connections. Each connection has a bounded buffer drained off the
+ * request thread, so a slow client only ever loses its own oldest events; stalled or
+ * broken connections are dropped by the heartbeat.
+ *
+ * <p>Readings committed on this node are pushed from the commit event. Readings committed
+ * on another node arrive as a {@link RemoteVitalReadingsEvent} from the cache invalidation
+ * bus; only nodes holding a stream for that user then re-read the readings newer than the
+ * last one pushed (minus {@code catch-up-lookback}) and push those not yet sent.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VitalStreamService {
+	private final VitalStreamProperties properties;
+	private final VitalReadingRepository vitalReadingRepository;
+	private final VitalReadingService vitalReadingService;
+	private final Map<UUID, Set<Connection>> connections = new ConcurrentHashMap<>();
+	private final Map<UUID, Cursor> cursors = new ConcurrentHashMap<>();
+	private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+	public SseEmitter subscribe(UUID userId) {
+		SseEmitter emitter = new SseEmitter(properties.getConnectionTimeout().toMillis());
+		Connection connection = new Connection(userId, emitter);
+		// Check and add under the map's per-key lock, the same lock remove() takes, so the
+		// cap holds under concurrent subscribes and a set is never dropped after an add
+		Set<Connection> userConnections = connections.compute(userId, (id, current) -> {
+			Set<Connection> updated = current != null ? current : ConcurrentHashMap.newKeySet();
+			if (updated.size() >= properties.getMaxConnectionsPerUser()) {
+				return current;
+			}
+			updated.add(connection);
+			cursors.computeIfAbsent(userId, ignored -> new Cursor(Instant.now()));
+			return updated;
+		});
+		if (userConnections == null || !userConnections.contains(connection)) {
+			throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many open vital streams");
+		}
+
+		emitter.onCompletion(() -> remove(connection));
+		emitter.onTimeout(() -> remove(connection));
+		emitter.onError(ex -> remove(connection));
+
+		// Flush headers immediately so the client knows the stream is live
+		connection.offer(SseEmitter.event().comment("connected").build());
+		return emitter;
+	}
+
+	@TransactionalEventListener
+	public void onReadingCreated(VitalReadingCreatedEvent event) {
+		Set<Connection> userConnections = connections.get(event.userId());
+		Cursor cursor = cursors.get(event.userId());
+		if (userConnections == null || userConnections.isEmpty() || cursor == null) {
+			return;
+		}
+		if (cursor.markSent(event.reading())) {
+			Set<DataWithMediaType> payload = payload(event.reading());
+			userConnections.forEach(connection -> connection.offer(payload));
+		}
+	}
+
+	@EventListener
+	public void onRemoteReadings(RemoteVitalReadingsEvent event) {
+		if (connections.containsKey(event.userId())) {
+			// Off the bus listener thread, which must keep draining notifications
+			sender.execute(() -> catchUp(event.userId()));
+		}
+	}
+
+	private void catchUp(UUID userId) {
+		Cursor cursor = cursors.get(userId);
+		if (cursor == null) {
+			return;
+		}
+		try {
+			List<VitalReading> newest = vitalReadingRepository.findByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+				userId, cursor.mark().minus(properties.getCatchUpLookback()), PageRequest.of(0, properties.getBufferSize()));
+			for (int i = newest.size() - 1; i >= 0; i--) {
+				VitalReadingDto reading = vitalReadingService.toDto(newest.get(i));
+				Set<Connection> userConnections = connections.get(userId);
+				if (userConnections == null) {
+					return;
+				}
+				if (cursor.markSent(reading)) {
+					Set<DataWithMediaType> payload = payload(reading);
+					userConnections.forEach(connection -> connection.offer(payload));
+				}
+			}
+		} catch (RuntimeException ex) {
+			log.warn("[SSE] Catch-up on readings from other nodes failed for user {}: {}", userId, ex.getMessage());
+		}
+	}
+
+	private static Set<DataWithMediaType> payload(VitalReadingDto reading) {
+		boolean emergency = Boolean.TRUE.equals(reading.getIsEmergency());
+		return SseEmitter.event()
+			.id(String.valueOf(reading.getId()))
+			.name(emergency ? "emergency" : "reading")
+			.data(reading, MediaType.APPLICATION_JSON)
+			.build();
+	}
+
+	@Scheduled(fixedDelayString = "${vitals.stream.heartbeat-interval:PT15S}")
+	void heartbeat() {
+		long stalledBefore = System.currentTimeMillis() - 2 * properties.getHeartbeatInterval().toMillis();
+		Set<DataWithMediaType> ping = SseEmitter.event().comment("heartbeat").build();
+		connections.values().forEach(userConnections -> userConnections.forEach(connection -> {
+			if (connection.isStalled(stalledBefore)) {
+				log.debug("[SSE] Closing stalled vital stream for user {}", connection.userId);
+				connection.close();
+			} else {
+				connection.offer(ping);
+			}
+		}));
+	}
+
+	public int openConnections() {
+		return connections.values().stream().mapToInt(Set::size).sum();
+	}
+
+	@PreDestroy
+	void shutdown() {
+		connections.values().forEach(userConnections -> userConnections.forEach(Connection::close));
+		sender.shutdownNow();
+	}
+
+	private void remove(Connection connection) {
+		connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+			userConnections.remove(connection);
+			if (userConnections.isEmpty()) {
+				cursors.remove(id);
+				return null;
+			}
+			return userConnections;
+		});
+	}
+
+	/**
+	 * What a user's streams have been sent: recent reading ids, so a reading pushed from
+	 * the commit event is not pushed again by a catch-up, and the newest creation time.
+	 */
+	private final class Cursor {
+		private final LinkedHashSet<UUID> sent = new LinkedHashSet<>();
+		private Instant mark;
+
+		Cursor(Instant mark) {
+			this.mark = mark;
+		}
+
+		synchronized Instant mark() {
+			return mark;
+		}
+
+		/** Records the reading; false if it was already sent. */
+		synchronized boolean markSent(VitalReadingDto reading) {
+			if (!sent.add(reading.getId())) {
+				return false;
+			}
+			if (sent.size() > 4 * properties.getBufferSize()) {
+				Iterator<UUID> oldest = sent.iterator();
+				oldest.next();
+				oldest.remove();
+			}
+			if (reading.getCreatedAt() != null && reading.getCreatedAt().isAfter(mark)) {
+				mark = reading.getCreatedAt();
+			}
+			return true;
+		}
+	}
+
+	private final class Connection {
+		private final UUID userId;
+		private final SseEmitter emitter;
+		private final ArrayDeque<Set<DataWithMediaType>> buffer;
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private volatile long lastSendMillis = System.currentTimeMillis();
+
+		Connection(UUID userId, SseEmitter emitter) {
+			this.userId = userId;
+			this.emitter = emitter;
+			this.buffer = new ArrayDeque<>(properties.getBufferSize());
+		}
+
+		void offer(Set<DataWithMediaType> event) {
+			synchronized (buffer) {
+				if (buffer.size() >= properties.getBufferSize()) {
+					buffer.pollFirst();
+				}
+				buffer.addLast(event);
+			}
+			if (draining.compareAndSet(false, true)) {
+				sender.execute(this::drain);
+			}
+		}
+
+		boolean isStalled(long stalledBefore) {
+			return draining.get() && lastSendMillis < stalledBefore;
+		}
+
+		void close() {
+			remove(this);
+			try {
+				emitter.complete();
+			} catch (Exception ignored) {
+				// Already completed or the response is gone
+			}
+		}
+
+		private void drain() {
+			while (true) {
+				Set<DataWithMediaType> next;
+				synchronized (buffer) {
+					next = buffer.pollFirst();
+					if (next == null) {
+						draining.set(false);
+						return;
+					}
+				}
+				try {
+					emitter.send(next);
+					lastSendMillis = System.currentTimeMillis();
+				} catch (Exception ex) {
+					log.debug("[SSE] Vital stream for user {} closed: {}", userId, ex.getMessage());
+					synchronized (buffer) {
+						buffer.clear();
+						draining.set(false);
+					}
+					close();
+					return;
+				}
+			}
+		}
+	}
+}
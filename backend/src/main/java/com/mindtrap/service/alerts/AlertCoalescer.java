@@ -0,0 +1,194 @@
+package com.mindtrap.service.alerts;
+
+import com.mindtrap.config.AlertCoalesceProperties;
+import com.mindtrap.domain.EmergencyAlert;
+import com.mindtrap.domain.EmergencyContact;
+import com.mindtrap.repository.EmergencyAlertRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collapses repeat alerts to the same contact. The first alert in a window is sent at
+ * once; repeats inside the window only bump an occurrence count, and when the window
+ * closes a single summary carrying that count is queued and opens the next window. A
+ * sustained emergency therefore costs one delivery per window per contact.
+ *
+ * <p>Windows are immutable values swapped with compare-and-set on a
+ * {@link ConcurrentHashMap}, so the alert path never blocks. The map is capped at
+ * {@code max-entries}; past that alerts go out uncoalesced rather than being dropped.
+ *
+ * <p>Windows are per node and in memory only. Counts not yet summarised are lost on
+ * restart, and with N nodes behind the load balancer a contact can get up to N "first"
+ * alerts (and N summaries) per window, one from each node its user's requests reach.
+ */
+@Slf4j
+@Component
+public class AlertCoalescer {
+	private final AlertCoalesceProperties properties;
+	private final EmergencyAlertRepository alertRepository;
+	private final EmergencyAlertDispatcher alertDispatcher;
+	private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+
+	private final Counter coalesced;
+	private final Counter summaries;
+	private final Counter bypassed;
+
+	public AlertCoalescer(
+		AlertCoalesceProperties properties,
+		EmergencyAlertRepository alertRepository,
+		EmergencyAlertDispatcher alertDispatcher,
+		MeterRegistry meterRegistry
+	) {
+		this.properties = properties;
+		this.alertRepository = alertRepository;
+		this.alertDispatcher = alertDispatcher;
+		this.coalesced = meterRegistry.counter("alerts.coalesce.suppressed");
+		this.summaries = meterRegistry.counter("alerts.coalesce.summaries");
+		this.bypassed = meterRegistry.counter("alerts.coalesce.bypassed");
+		meterRegistry.gauge("alerts.coalesce.windows", windows, Map::size);
+	}
+
+	/**
+	 * Returns {@code true} if the caller should queue the alert now, or {@code false} if it
+	 * was folded into the contact's open window. A window opened or an occurrence counted
+	 * inside a transaction that later rolls back is undone, so alerts that were never
+	 * committed neither inflate a summary nor keep the window from closing quietly.
+	 */
+	public boolean admit(UUID userId, EmergencyContact contact, String text) {
+		if (!properties.isEnabled()) {
+			return true;
+		}
+		Key key = new Key(userId, contact.getId());
+		long now = System.currentTimeMillis();
+		long windowMillis = properties.getWindow().toMillis();
+
+		while (true) {
+			Window current = windows.get(key);
+			if (current == null) {
+				if (windows.size() >= properties.getMaxEntries()) {
+					evictIdle(now);
+					if (windows.size() >= properties.getMaxEntries()) {
+						bypassed.increment();
+						return true;
+					}
+				}
+				Window opened = new Window(contact.getName(), contact.getPhone(), text, now, 0);
+				if (windows.putIfAbsent(key, opened) == null) {
+					onRollback(() -> windows.remove(key, opened));
+					return true;
+				}
+			} else if (current.occurrences() == 0 && now - current.openedAt() >= windowMillis) {
+				Window opened = new Window(contact.getName(), contact.getPhone(), text, now, 0);
+				if (windows.replace(key, current, opened)) {
+					onRollback(() -> windows.remove(key, opened));
+					return true;
+				}
+			} else if (windows.replace(key, current, current.withOccurrence())) {
+				// Lands in the summary even if this window expired and is awaiting the next flush
+				coalesced.increment();
+				long openedAt = current.openedAt();
+				// Too late once the window has been flushed: its summary already went out
+				onRollback(() -> windows.computeIfPresent(key, (k, window) ->
+					window.openedAt() == openedAt && window.occurrences() > 0 ? window.withoutOccurrence() : window));
+				return false;
+			}
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${alerts.coalesce.flush-interval:PT1S}")
+	void flushExpired() {
+		long now = System.currentTimeMillis();
+		long windowMillis = properties.getWindow().toMillis();
+		boolean queued = false;
+
+		for (Map.Entry<Key, Window> entry : windows.entrySet()) {
+			Window window = entry.getValue();
+			if (now - window.openedAt() < windowMillis) {
+				continue;
+			}
+			if (window.occurrences() == 0) {
+				windows.remove(entry.getKey(), window);
+			} else if (queueSummary(entry.getKey(), window)) {
+				// Reopen only once the summary is saved; a failed save is retried on the next flush.
+				// Occurrences counted while saving carry over into the new window.
+				queued = true;
+				windows.computeIfPresent(entry.getKey(), (key, current) -> current.openedAt() == window.openedAt()
+					? current.reopen(now, Math.max(0, current.occurrences() - window.occurrences()))
+					: current);
+			}
+		}
+		if (queued) {
+			alertDispatcher.wake();
+		}
+	}
+
+	private boolean queueSummary(Key key, Window window) {
+		try {
+			alertRepository.save(EmergencyAlert.builder()
+				.userId(key.userId())
+				.contactId(key.contactId())
+				.recipientName(window.name())
+				.recipientPhone(window.phone())
+				.message(window.text() + " This alert was raised " + window.occurrences() + " more time(s) in the last "
+					+ properties.getWindow().toMinutes() + " minute(s).")
+				.occurrences(window.occurrences())
+				.nextAttemptAt(Instant.now())
+				.build());
+			summaries.increment();
+			return true;
+		} catch (RuntimeException ex) {
+			log.error("[ALERT] Failed to queue coalesced alert for contact {} ({} occurrences)", key.contactId(), window.occurrences(), ex);
+			return false;
+		}
+	}
+
+	private void evictIdle(long now) {
+		long windowMillis = properties.getWindow().toMillis();
+		windows.entrySet().removeIf(entry -> entry.getValue().occurrences() == 0 && now - entry.getValue().openedAt() >= windowMillis);
+	}
+
+	private static void onRollback(Runnable undo) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status != STATUS_COMMITTED) {
+					undo.run();
+				}
+			}
+		});
+	}
+
+	private record Key(UUID userId, UUID contactId) {
+	}
+
+	private record Window(String name, String phone, String text, long openedAt, int occurrences) {
+		Window withOccurrence() {
+			return new Window(name, phone, text, openedAt, occurrences + 1);
+		}
+
+		Window withoutOccurrence() {
+			return new Window(name, phone, text, openedAt, occurrences - 1);
+		}
+
+		/**
+		 * The summary sent for this window counts as the opening alert of the next one,
+		 * which starts with the occurrences the summary did not include.
+		 */
+		Window reopen(long now, int carried) {
+			return new Window(name, phone, text, now, carried);
+		}
+	}
+}
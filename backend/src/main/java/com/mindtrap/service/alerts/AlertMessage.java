@@ -0,0 +1,6 @@
+package com.mindtrap.service.alerts;
+
+import java.util.UUID;
+
+public record AlertMessage(UUID alertId, UUID userId, String recipientName, String recipientPhone, String text, int occurrences) {
+}
@@ -0,0 +1,11 @@
+package com.mindtrap.service.alerts;
+
+/**
+ * Delivery channel for emergency alerts (SMS gateway, push service, ...). Implementations
+ * may block; they are only ever called from the dispatcher, never on a request thread.
+ * Throwing marks the attempt failed and schedules a retry.
+ */
+public interface AlertProvider {
+
+	void deliver(AlertMessage message) throws Exception;
+}
@@ -0,0 +1,147 @@
+package com.mindtrap.service.alerts;
+
+import com.mindtrap.config.CrisisLaneProperties;
+import com.mindtrap.domain.AlertStatus;
+import com.mindtrap.domain.EmergencyAlert;
+import com.mindtrap.service.EmergencyContactService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handles crisis screening outcomes on their own executors: pre-started platform threads
+ * with private queues that nothing else submits to, so routine load cannot delay them.
+ * Each crisis queues an uncoalesced crisis alert for every emergency contact and makes
+ * the first delivery attempts on the lane's own delivery threads.
+ *
+ * <p>Both queues are bounded by {@code queue-capacity}. A crisis the lane cannot queue is
+ * handled on the publishing thread instead, and a delivery the delivery threads cannot
+ * queue falls back to the dispatcher's own threads; either way
+ * {@code screening.crisis.rejected} counts it. A delivery that waited so long its claim
+ * could expire mid-call is left to the poll (see {@link EmergencyAlertDispatcher}).
+ *
+ * <p>{@code screening.crisis.latency} measures submission to alert dispatch end to end;
+ * {@code screening.crisis.queue} isolates time spent waiting for a lane thread.
+ */
+@Slf4j
+@Component
+public class CrisisLane {
+	private final EmergencyContactService contactService;
+	private final EmergencyAlertDispatcher alertDispatcher;
+	private final CrisisLaneProperties properties;
+	private final ThreadPoolExecutor executor;
+	private final ThreadPoolExecutor deliveryExecutor;
+	private final Timer endToEnd;
+	private final Timer queueWait;
+
+	public CrisisLane(
+		EmergencyContactService contactService,
+		EmergencyAlertDispatcher alertDispatcher,
+		CrisisLaneProperties properties,
+		MeterRegistry meterRegistry
+	) {
+		this.contactService = contactService;
+		this.alertDispatcher = alertDispatcher;
+		this.properties = properties;
+
+		// Platform threads on purpose, also in virtual-thread mode: they never share carriers with request handling
+		this.executor = dedicatedPool("crisis-lane-", properties.getThreads(), properties.getQueueCapacity(),
+			rejections(meterRegistry, "lane"));
+		this.deliveryExecutor = dedicatedPool("crisis-delivery-", properties.getDeliveryThreads(), properties.getQueueCapacity(),
+			rejections(meterRegistry, "delivery"));
+
+		this.endToEnd = Timer.builder("screening.crisis.latency")
+			.description("Crisis screening submission to emergency alert dispatch")
+			.publishPercentiles(0.5, 0.95, 0.99)
+			.register(meterRegistry);
+		this.queueWait = Timer.builder("screening.crisis.queue")
+			.description("Time a crisis event waited for a crisis-lane thread")
+			.register(meterRegistry);
+		meterRegistry.gauge("screening.crisis.queue.size", executor.getQueue(), Collection::size);
+	}
+
+	@TransactionalEventListener
+	public void onCrisis(CrisisScreeningEvent event) {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		long enqueuedNanos = System.nanoTime();
+		try {
+			executor.execute(() -> {
+				queueWait.record(System.nanoTime() - enqueuedNanos, TimeUnit.NANOSECONDS);
+				handle(event);
+			});
+		} catch (RejectedExecutionException ex) {
+			// Counted by the pool; a crisis is never dropped, so the publishing thread handles it
+			log.error("[CRISIS] Lane queue full ({} waiting); handling assessment {} on the calling thread",
+				executor.getQueue().size(), event.assessmentId());
+			handle(event);
+		}
+	}
+
+	private void handle(CrisisScreeningEvent event) {
+		try {
+			List<EmergencyAlert> alerts = contactService.queueCrisisAlerts(event.userId());
+			if (alerts.isEmpty()) {
+				log.warn("[CRISIS] Assessment {} for user {} hit the crisis override but the user has no emergency contacts",
+					event.assessmentId(), event.userId());
+				return;
+			}
+			Map<UUID, AlertStatus> statuses = alertDispatcher.deliverNow(
+				alerts.stream().map(EmergencyAlert::getId).toList(), properties.getDeliveryDeadline(), deliveryExecutor);
+			long delivered = statuses.values().stream().filter(status -> status == AlertStatus.DELIVERED).count();
+			log.warn("[CRISIS] Assessment {} for user {}: alerted {} contacts ({} delivered)",
+				event.assessmentId(), event.userId(), alerts.size(), delivered);
+		} catch (RuntimeException ex) {
+			log.error("[CRISIS] Failed to alert contacts for assessment {} (user {})", event.assessmentId(), event.userId(), ex);
+		} finally {
+			endToEnd.record(System.nanoTime() - event.submittedNanos(), TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+		deliveryExecutor.shutdown();
+	}
+
+	private static ThreadPoolExecutor dedicatedPool(String prefix, int threads, int capacity, Counter rejections) {
+		AtomicInteger threadCount = new AtomicInteger();
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(
+			threads, threads, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(capacity),
+			runnable -> {
+				Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			},
+			(runnable, rejectedBy) -> {
+				rejections.increment();
+				throw new RejectedExecutionException(prefix + "queue full");
+			}
+		);
+		pool.prestartAllCoreThreads();
+		return pool;
+	}
+
+	private static Counter rejections(MeterRegistry registry, String executor) {
+		return Counter.builder("screening.crisis.rejected")
+			.description("Crisis work a full crisis executor queue turned away")
+			.tag("executor", executor)
+			.register(registry);
+	}
+}
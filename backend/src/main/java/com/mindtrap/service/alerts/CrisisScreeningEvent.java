@@ -0,0 +1,7 @@
+package com.mindtrap.service.alerts;
+
+import java.util.UUID;
+
+/** A screening hit the crisis override; {@code submittedNanos} is {@link System#nanoTime()} at request entry. */
+public record CrisisScreeningEvent(UUID userId, UUID assessmentId, long submittedNanos) {
+}
@@ -0,0 +1,341 @@
+package com.mindtrap.service.alerts;
+
+import com.mindtrap.config.AlertDispatchProperties;
+import com.mindtrap.domain.AlertStatus;
+import com.mindtrap.domain.EmergencyAlert;
+import com.mindtrap.repository.EmergencyAlertRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Delivers alerts from {@code emergency_alert_outbox}. A short transaction claims due rows
+ * with {@code FOR UPDATE SKIP LOCKED} and pushes their next attempt out by the lease, so
+ * several nodes can dispatch without double-sending and a crashed node's claims expire.
+ * Delivery then happens outside any transaction, one virtual thread per alert; failures
+ * are retried with capped exponential backoff until {@code max-attempts}.
+ * {@link #deliverNow} runs the same path for specific alerts while the caller waits.
+ *
+ * <p>Each provider call is cut off after {@code provider-timeout}, which must be shorter
+ * than the lease. The attempt count doubles as the claim token: an outcome is recorded
+ * only if the row still carries the attempt that was claimed, so a dispatcher whose lease
+ * ran out cannot overwrite the state of a newer claim. A claim that waited so long before
+ * its attempt that the call could outlive the lease is not attempted; the poll takes the
+ * row once the lease ends. A row whose lease expired on its last attempt (its dispatcher
+ * died) is failed instead of being claimed again.
+ */
+@Slf4j
+@Component
+public class EmergencyAlertDispatcher {
+	private static final int MAX_ERROR_LENGTH = 1000;
+
+	private final EmergencyAlertRepository alertRepository;
+	private final AlertProvider alertProvider;
+	private final AlertDispatchProperties properties;
+	private final TransactionTemplate transactionTemplate;
+
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final AtomicBoolean draining = new AtomicBoolean();
+	private final AtomicBoolean pending = new AtomicBoolean();
+
+	private final Timer deliveryLatency;
+	private final Timer providerSuccess;
+	private final Timer providerFailure;
+	private final Counter delivered;
+	private final Counter retried;
+	private final Counter failed;
+
+	public EmergencyAlertDispatcher(
+		EmergencyAlertRepository alertRepository,
+		AlertProvider alertProvider,
+		AlertDispatchProperties properties,
+		TransactionTemplate transactionTemplate,
+		MeterRegistry meterRegistry
+	) {
+		this.alertRepository = alertRepository;
+		this.alertProvider = alertProvider;
+		this.properties = properties;
+		this.transactionTemplate = transactionTemplate;
+		if (properties.getProviderTimeout().compareTo(properties.getLease()) >= 0) {
+			throw new IllegalStateException("alerts.dispatch.provider-timeout (" + properties.getProviderTimeout()
+				+ ") must be shorter than alerts.dispatch.lease (" + properties.getLease() + ")");
+		}
+
+		this.deliveryLatency = Timer.builder("alerts.delivery.latency")
+			.description("Time from an alert being queued to the provider accepting it")
+			.publishPercentiles(0.5, 0.95, 0.99)
+			.register(meterRegistry);
+		this.providerSuccess = providerTimer(meterRegistry, "success");
+		this.providerFailure = providerTimer(meterRegistry, "failure");
+		this.delivered = attempts(meterRegistry, "delivered");
+		this.retried = attempts(meterRegistry, "retry");
+		this.failed = attempts(meterRegistry, "failed");
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onAlertQueued(EmergencyAlertQueuedEvent event) {
+		wake();
+	}
+
+	@Scheduled(fixedDelayString = "${alerts.dispatch.poll-interval:PT1S}")
+	void poll() {
+		wake();
+	}
+
+	/** Starts a drain unless one is running, in which case that drain goes round once more. */
+	public void wake() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		pending.set(true);
+		if (draining.compareAndSet(false, true)) {
+			executor.execute(this::drain);
+		}
+	}
+
+	/**
+	 * Claims the given alerts and delivers them concurrently, waiting at most
+	 * {@code deadline} in total. Alerts still in flight at the deadline keep going in the
+	 * background and are reported PENDING, as are alerts another dispatcher holds or has
+	 * already claimed.
+	 *
+	 * <p>The alerts should be queued with their next attempt pushed out by one lease, so
+	 * the poll leaves them alone; only alerts that were never claimed are taken, so if the
+	 * reservation runs out first the poll's claim wins and nothing is sent twice.
+	 */
+	public Map<UUID, AlertStatus> deliverNow(Collection<UUID> alertIds, Duration deadline) {
+		return deliverNow(alertIds, deadline, executor);
+	}
+
+	/**
+	 * Same as {@link #deliverNow(Collection, Duration)}, but the first attempts run on
+	 * {@code deliveryExecutor}, so a caller with its own threads never waits for routine
+	 * deliveries. Retries go back through the regular poll. If {@code deliveryExecutor}
+	 * rejects an attempt, it runs on this dispatcher's threads instead.
+	 */
+	public Map<UUID, AlertStatus> deliverNow(Collection<UUID> alertIds, Duration deadline, ExecutorService deliveryExecutor) {
+		Map<UUID, AlertStatus> statuses = new HashMap<>();
+		alertIds.forEach(id -> statuses.put(id, AlertStatus.PENDING));
+		if (alertIds.isEmpty()) {
+			return statuses;
+		}
+
+		long deadlineNanos = System.nanoTime() + deadline.toNanos();
+		Map<UUID, Future<AlertStatus>> inFlight = new HashMap<>();
+		for (Claim claim : claim(now -> alertRepository.lockUnclaimed(alertIds))) {
+			Future<AlertStatus> attempt;
+			try {
+				attempt = deliveryExecutor.submit(() -> deliver(claim));
+			} catch (RejectedExecutionException ex) {
+				log.warn("[ALERT] Delivery executor full; attempting alert {} on the dispatcher's threads", claim.message().alertId());
+				attempt = executor.submit(() -> deliver(claim));
+			}
+			inFlight.put(claim.message().alertId(), attempt);
+		}
+		for (Map.Entry<UUID, Future<AlertStatus>> entry : inFlight.entrySet()) {
+			try {
+				long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+				statuses.put(entry.getKey(), entry.getValue().get(remaining, TimeUnit.NANOSECONDS));
+			} catch (TimeoutException ex) {
+				log.warn("[ALERT] Alert {} not delivered within {}; continuing in background", entry.getKey(), deadline);
+			} catch (ExecutionException ex) {
+				log.error("[ALERT] Alert {} delivery crashed", entry.getKey(), ex.getCause());
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		return statuses;
+	}
+
+	private void drain() {
+		try {
+			while (pending.getAndSet(false)) {
+				List<Claim> claimed;
+				do {
+					claimed = claim();
+					deliverAll(claimed);
+				} while (claimed.size() == properties.getBatchSize());
+			}
+		} catch (RuntimeException ex) {
+			log.error("[ALERT] Dispatch cycle failed", ex);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} finally {
+			draining.set(false);
+		}
+		// A wake() that raced with the end of the loop found draining still set
+		if (pending.get() && !executor.isShutdown()) {
+			wake();
+		}
+	}
+
+	private List<Claim> claim() {
+		return claim(now -> alertRepository.lockDue(now, properties.getBatchSize()));
+	}
+
+	private List<Claim> claim(Function<Instant, List<EmergencyAlert>> lock) {
+		return transactionTemplate.execute(status -> {
+			Instant now = Instant.now();
+			long leaseEndNanos = System.nanoTime() + properties.getLease().toNanos();
+			List<Claim> claims = new ArrayList<>();
+			for (EmergencyAlert alert : lock.apply(now)) {
+				if (alert.getAttempts() >= properties.getMaxAttempts()) {
+					// The dispatcher that made the last attempt died before recording it
+					alert.setStatus(AlertStatus.FAILED);
+					alert.setLastError("Lease expired on attempt " + alert.getAttempts() + " of " + properties.getMaxAttempts());
+					failed.increment();
+					log.error("[ALERT] Giving up on alert {}: lease expired on its last attempt", alert.getId());
+					continue;
+				}
+				alert.setAttempts(alert.getAttempts() + 1);
+				alert.setNextAttemptAt(now.plus(properties.getLease()));
+				claims.add(Claim.of(alert, leaseEndNanos));
+			}
+			return claims;
+		});
+	}
+
+	private void deliverAll(List<Claim> claimed) throws InterruptedException {
+		if (claimed.size() == 1) {
+			deliver(claimed.get(0));
+			return;
+		}
+		List<Callable<AlertStatus>> tasks = claimed.stream().<Callable<AlertStatus>>map(claim -> () -> deliver(claim)).toList();
+		executor.invokeAll(tasks);
+	}
+
+	private AlertStatus deliver(Claim claim) {
+		long start = System.nanoTime();
+		if (start + properties.getProviderTimeout().toNanos() > claim.leaseEndNanos()) {
+			// Waited in a queue so long the lease could run out mid-call and another dispatcher send it too
+			log.warn("[ALERT] Claim on alert {} is too close to its lease end to attempt; leaving it to the poll",
+				claim.message().alertId());
+			return AlertStatus.PENDING;
+		}
+		try {
+			callProvider(claim.message());
+		} catch (Exception ex) {
+			providerFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			return recordFailure(claim, ex);
+		}
+		providerSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+		Instant now = Instant.now();
+		Integer updated = transactionTemplate.execute(status -> alertRepository.markDelivered(
+			claim.message().alertId(), claim.attempt(), AlertStatus.DELIVERED, now));
+		if (updated == null || updated == 0) {
+			log.warn("[ALERT] Alert {} delivered by attempt {} after its claim was taken over; the newer claim may send it again",
+				claim.message().alertId(), claim.attempt());
+		}
+		delivered.increment();
+		deliveryLatency.record(Duration.between(claim.createdAt(), now));
+		return AlertStatus.DELIVERED;
+	}
+
+	/** Runs the provider call on its own virtual thread so it can be abandoned at {@code provider-timeout}. */
+	private void callProvider(AlertMessage message) throws Exception {
+		Future<?> call = executor.submit(() -> {
+			alertProvider.deliver(message);
+			return null;
+		});
+		try {
+			call.get(properties.getProviderTimeout().toNanos(), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException ex) {
+			call.cancel(true);
+			throw new TimeoutException("Provider did not answer within " + properties.getProviderTimeout());
+		} catch (ExecutionException ex) {
+			throw ex.getCause() instanceof Exception cause ? cause : ex;
+		} catch (InterruptedException ex) {
+			call.cancel(true);
+			throw ex;
+		}
+	}
+
+	private AlertStatus recordFailure(Claim claim, Exception ex) {
+		boolean exhausted = claim.attempt() >= properties.getMaxAttempts();
+		Instant next = Instant.now().plus(backoff(claim.attempt()));
+		String error = String.valueOf(ex);
+		String truncated = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+		Integer updated = transactionTemplate.execute(status -> alertRepository.markFailedAttempt(
+			claim.message().alertId(), claim.attempt(), exhausted ? AlertStatus.FAILED : AlertStatus.PENDING, next, truncated));
+
+		if (updated == null || updated == 0) {
+			// Lease ran out and another dispatcher owns the alert now; its outcome stands
+			log.warn("[ALERT] Attempt {} for alert {} failed after its claim was taken over: {}",
+				claim.attempt(), claim.message().alertId(), error);
+			return AlertStatus.PENDING;
+		}
+		if (exhausted) {
+			failed.increment();
+			log.error("[ALERT] Giving up on alert {} after {} attempts: {}", claim.message().alertId(), claim.attempt(), error);
+		} else {
+			retried.increment();
+			log.warn("[ALERT] Attempt {} for alert {} failed, retrying at {}: {}", claim.attempt(), claim.message().alertId(), next, error);
+		}
+		return exhausted ? AlertStatus.FAILED : AlertStatus.PENDING;
+	}
+
+	/** Capped exponential backoff with jitter in the upper half, so retries from a burst spread out. */
+	private Duration backoff(int attempt) {
+		long initial = properties.getInitialBackoff().toMillis();
+		long cap = properties.getMaxBackoff().toMillis();
+		long delay = attempt >= 32 ? cap : Math.min(cap, initial << (attempt - 1));
+		return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private static Timer providerTimer(MeterRegistry registry, String outcome) {
+		return Timer.builder("alerts.provider.duration")
+			.description("Time spent in the alert provider per attempt")
+			.tag("outcome", outcome)
+			.register(registry);
+	}
+
+	private static Counter attempts(MeterRegistry registry, String outcome) {
+		return Counter.builder("alerts.delivery.attempts")
+			.tag("outcome", outcome)
+			.register(registry);
+	}
+
+	private record Claim(AlertMessage message, int attempt, Instant createdAt, long leaseEndNanos) {
+		static Claim of(EmergencyAlert alert, long leaseEndNanos) {
+			return new Claim(
+				new AlertMessage(alert.getId(), alert.getUserId(), alert.getRecipientName(), alert.getRecipientPhone(), alert.getMessage(), alert.getOccurrences()),
+				alert.getAttempts(),
+				alert.getCreatedAt(),
+				leaseEndNanos
+			);
+		}
+	}
+}
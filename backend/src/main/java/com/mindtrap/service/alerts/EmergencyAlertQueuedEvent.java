@@ -0,0 +1,5 @@
+package com.mindtrap.service.alerts;
+
+/** Published when alerts are written to the outbox; wakes the dispatcher once the transaction commits. */
+public record EmergencyAlertQueuedEvent() {
+}
@@ -0,0 +1,18 @@
+package com.mindtrap.service.alerts;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Local stand-in that only logs; active unless another provider is selected with {@code alerts.provider}. */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "alerts.provider", havingValue = "log", matchIfMissing = true)
+public class LoggingAlertProvider implements AlertProvider {
+
+	@Override
+	public void deliver(AlertMessage message) {
+		log.info("[ALERT] Delivering alert {} to {} ({}): {}", message.alertId(), message.recipientName(),
+			message.recipientPhone(), message.text());
+	}
+}
@@ -0,0 +1,321 @@
+package com.mindtrap.service.cache;
+
+import com.mindtrap.config.CacheInvalidationProperties;
+import com.mindtrap.domain.EmergencyContact;
+import com.mindtrap.domain.Profile;
+import com.mindtrap.domain.User;
+import com.mindtrap.service.vitals.RecentVitalsCache;
+import com.mindtrap.service.vitals.RemoteVitalReadingsEvent;
+import com.mindtrap.service.vitals.VitalArchive;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the entity caches and per-user vitals state of every API node coherent through
+ * Postgres {@code LISTEN}/{@code NOTIFY}. Write paths call {@link #publish} inside their
+ * transaction; Postgres delivers the notification only if that transaction commits.
+ * Each node listens on a dedicated connection (outside the pool) and evicts the changed
+ * entries; its own notifications are ignored because Hibernate already updated its cache.
+ *
+ * <p>High-volume changes (a reading per wearable sample) go through {@link #publishBatched}
+ * instead: they are collected after commit and flushed every {@code batch-interval} as
+ * one notification per batch, outside any writing transaction. Ingest commits therefore
+ * never take Postgres' notification-queue lock, and a user who posts many readings in one
+ * interval is announced once.
+ *
+ * <p>After a dropped connection the listener reconnects with capped exponential backoff
+ * and evicts everything, since notifications sent while it was away are lost. On
+ * databases other than Postgres (H2 in tests) the bus is inert.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus {
+	private static final String SEPARATOR = "|";
+	private static final String ENTRY_SEPARATOR = ",";
+	/** Postgres caps a notification payload at 8000 bytes; batches are split well below that. */
+	private static final int MAX_PAYLOAD = 7000;
+	private static final String CONTACTS_QUERY_REGION = "contacts-by-user";
+
+	private final CacheInvalidationProperties properties;
+	private final DataSourceProperties dataSourceProperties;
+	private final JdbcTemplate jdbcTemplate;
+	private final EntityManagerFactory entityManagerFactory;
+	private final RecentVitalsCache recentVitalsCache;
+	private final VitalArchive vitalArchive;
+	private final ApplicationEventPublisher eventPublisher;
+
+	private final String nodeId = UUID.randomUUID().toString();
+	private final AtomicBoolean connected = new AtomicBoolean();
+	private final Set<String> batched = ConcurrentHashMap.newKeySet();
+	private volatile boolean active;
+	private volatile Thread listener;
+	private volatile Connection connection;
+
+	private final Timer lag;
+	private final Counter received;
+	private final Counter reconnects;
+
+	public CacheInvalidationBus(
+		CacheInvalidationProperties properties,
+		DataSourceProperties dataSourceProperties,
+		JdbcTemplate jdbcTemplate,
+		EntityManagerFactory entityManagerFactory,
+		RecentVitalsCache recentVitalsCache,
+		VitalArchive vitalArchive,
+		ApplicationEventPublisher eventPublisher,
+		MeterRegistry meterRegistry
+	) {
+		this.properties = properties;
+		this.dataSourceProperties = dataSourceProperties;
+		this.jdbcTemplate = jdbcTemplate;
+		this.entityManagerFactory = entityManagerFactory;
+		this.recentVitalsCache = recentVitalsCache;
+		this.vitalArchive = vitalArchive;
+		this.eventPublisher = eventPublisher;
+
+		this.lag = Timer.builder("cache.invalidation.lag")
+			.description("Time from publishing an entity change to another node evicting it")
+			.publishPercentiles(0.5, 0.99)
+			.register(meterRegistry);
+		this.received = meterRegistry.counter("cache.invalidation.received");
+		this.reconnects = meterRegistry.counter("cache.invalidation.reconnects");
+		meterRegistry.gauge("cache.invalidation.connected", connected, flag -> flag.get() ? 1 : 0);
+	}
+
+	@PostConstruct
+	void start() {
+		if (!properties.getChannel().matches("[a-z_][a-z0-9_]*")) {
+			throw new IllegalStateException("cache-invalidation.channel must be a plain lower-case identifier");
+		}
+		active = properties.isEnabled() && dataSourceProperties.determineUrl().startsWith("jdbc:postgresql:");
+		if (!active) {
+			log.info("[CACHE] Cross-node invalidation disabled (not enabled or not PostgreSQL)");
+			return;
+		}
+		listener = Thread.ofPlatform().daemon().name("cache-invalidation-listener").start(this::listen);
+	}
+
+	/**
+	 * Announces that the user's cached {@code entity} data changed. Must be called inside
+	 * the writing transaction so other nodes only hear about committed changes.
+	 */
+	public void publish(CachedEntity entity, UUID userId) {
+		if (!active) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+			throw new IllegalStateException("Cache invalidations must be published inside the writing transaction");
+		}
+		notify(entry(entity, userId));
+	}
+
+	/**
+	 * Announces a change once the current transaction commits (immediately without one),
+	 * batched with others and sent within {@code batch-interval}. For frequent writes whose
+	 * readers can tolerate that delay; a node that dies before flushing loses its batch.
+	 */
+	public void publishBatched(CachedEntity entity, UUID userId) {
+		if (!active) {
+			return;
+		}
+		String entry = entry(entity, userId);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			batched.add(entry);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				batched.add(entry);
+			}
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${cache-invalidation.batch-interval:PT0.2S}")
+	void flushBatched() {
+		if (!active || batched.isEmpty()) {
+			return;
+		}
+		StringBuilder entries = new StringBuilder();
+		for (Iterator<String> it = batched.iterator(); it.hasNext(); ) {
+			String entry = it.next();
+			it.remove();
+			if (entries.length() + entry.length() >= MAX_PAYLOAD) {
+				send(entries.toString());
+				entries.setLength(0);
+			}
+			entries.append(entries.isEmpty() ? "" : ENTRY_SEPARATOR).append(entry);
+		}
+		if (!entries.isEmpty()) {
+			send(entries.toString());
+		}
+	}
+
+	private void send(String entries) {
+		try {
+			notify(entries);
+		} catch (DataAccessException ex) {
+			// Other nodes keep serving the stale entries until their next eviction or reconnect
+			log.warn("[CACHE] Failed to send a batch of invalidations: {}", ex.getMessage());
+		}
+	}
+
+	private void notify(String entries) {
+		String payload = String.join(SEPARATOR, nodeId, Long.toString(System.currentTimeMillis()), entries);
+		jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) statement -> {
+			statement.setString(1, properties.getChannel());
+			statement.setString(2, payload);
+			return statement.execute();
+		});
+	}
+
+	private static String entry(CachedEntity entity, UUID userId) {
+		return entity.name() + ":" + userId;
+	}
+
+	private void listen() {
+		long delay = properties.getInitialReconnectDelay().toMillis();
+		boolean firstConnect = true;
+		while (active) {
+			try (Connection listening = DriverManager.getConnection(
+				dataSourceProperties.determineUrl(),
+				dataSourceProperties.determineUsername(),
+				dataSourceProperties.determinePassword())) {
+				connection = listening;
+				try (Statement statement = listening.createStatement()) {
+					statement.execute("LISTEN " + properties.getChannel());
+				}
+				connected.set(true);
+				if (!firstConnect) {
+					reconnects.increment();
+					evictAll();
+					log.info("[CACHE] Invalidation listener reconnected; evicted all entity caches");
+				}
+				firstConnect = false;
+				delay = properties.getInitialReconnectDelay().toMillis();
+
+				PGConnection pg = listening.unwrap(PGConnection.class);
+				int timeout = (int) properties.getPollTimeout().toMillis();
+				while (active) {
+					PGNotification[] notifications = pg.getNotifications(timeout);
+					if (notifications != null) {
+						for (PGNotification notification : notifications) {
+							apply(notification.getParameter());
+						}
+					}
+				}
+			} catch (SQLException ex) {
+				if (!active) {
+					break;
+				}
+				log.warn("[CACHE] Invalidation listener lost its connection, retrying in {} ms: {}", delay, ex.getMessage());
+			} finally {
+				connected.set(false);
+				connection = null;
+			}
+			if (!sleep(delay)) {
+				break;
+			}
+			delay = Math.min(delay * 2, properties.getMaxReconnectDelay().toMillis());
+		}
+	}
+
+	private void apply(String payload) {
+		String[] parts = payload.split("\\|");
+		if (parts.length != 3 || nodeId.equals(parts[0])) {
+			return;
+		}
+		try {
+			for (String entry : parts[2].split(ENTRY_SEPARATOR)) {
+				int colon = entry.indexOf(':');
+				evict(CachedEntity.valueOf(entry.substring(0, Math.max(0, colon))), UUID.fromString(entry.substring(colon + 1)));
+				received.increment();
+			}
+			lag.record(Math.max(0, System.currentTimeMillis() - Long.parseLong(parts[1])), TimeUnit.MILLISECONDS);
+		} catch (IllegalArgumentException ex) {
+			log.warn("[CACHE] Ignoring malformed invalidation '{}'", payload);
+		}
+	}
+
+	private void evict(CachedEntity entity, UUID userId) {
+		jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+		switch (entity) {
+			case USER -> cache.evict(User.class, userId);
+			case PROFILE -> cache.evict(Profile.class, userId);
+			case CONTACTS -> {
+				// Contact entries are keyed by contact id; changes are rare, so drop the region
+				cache.evict(EmergencyContact.class);
+				entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(CONTACTS_QUERY_REGION);
+			}
+			case VITALS -> {
+				recentVitalsCache.evict(userId);
+				// Live streams held here catch up on the readings written elsewhere
+				eventPublisher.publishEvent(new RemoteVitalReadingsEvent(userId));
+			}
+			case VITAL_ARCHIVE -> vitalArchive.evict(userId);
+		}
+	}
+
+	private void evictAll() {
+		entityManagerFactory.getCache().evictAll();
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+		recentVitalsCache.evictAll();
+		vitalArchive.evictAll();
+	}
+
+	private static boolean sleep(long millis) {
+		try {
+			Thread.sleep(Duration.ofMillis(millis));
+			return true;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	@PreDestroy
+	void stop() {
+		active = false;
+		Thread thread = listener;
+		if (thread != null) {
+			thread.interrupt();
+			Connection current = connection;
+			if (current != null) {
+				try {
+					current.close();
+				} catch (SQLException ignored) {
+					// shutting down
+				}
+			}
+		}
+	}
+}
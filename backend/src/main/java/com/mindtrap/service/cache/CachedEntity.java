@@ -0,0 +1,12 @@
+package com.mindtrap.service.cache;
+
+/** Per-user caches kept coherent across nodes. The id sent with a change is always the user id. */
+public enum CachedEntity {
+	USER,
+	PROFILE,
+	CONTACTS,
+	/** The recent-readings window; a reading committed elsewhere makes it stale. */
+	VITALS,
+	/** The archive segment index; the archiver rewrote the user's segments. */
+	VITAL_ARCHIVE
+}
@@ -0,0 +1,85 @@
+package com.mindtrap.service.diagnostics;
+
+import java.lang.invoke.MethodHandle;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Delegating {@link ResultSet} that counts the rows {@code next()} moves onto and reports
+ * them once, when the result set or its statement is closed. Getters run once per column
+ * per row, so the pass-through methods are generated by {@link JdbcDelegates} as direct
+ * calls rather than dispatched through a reflective proxy.
+ */
+abstract class CountingResultSet implements ResultSet {
+	private static final MethodHandle CONSTRUCTOR = JdbcDelegates.constructor(CountingResultSet.class,
+		ResultSet.class, Statement.class, SqlProfiler.class, SqlProfiler.StatementStats.class);
+
+	protected final ResultSet target;
+	private final Statement statement;
+	private final SqlProfiler profiler;
+	private final SqlProfiler.StatementStats stats;
+	private long rows;
+	private boolean reported;
+
+	/** {@code statement} is the profiling wrapper, returned from {@link #getStatement()}. */
+	protected CountingResultSet(ResultSet target, Statement statement, SqlProfiler profiler, SqlProfiler.StatementStats stats) {
+		this.target = target;
+		this.statement = statement;
+		this.profiler = profiler;
+		this.stats = stats;
+	}
+
+	static CountingResultSet wrap(ResultSet target, Statement statement, SqlProfiler profiler, SqlProfiler.StatementStats stats) {
+		try {
+			return (CountingResultSet) CONSTRUCTOR.invoke(target, statement, profiler, stats);
+		} catch (Throwable e) {
+			throw JdbcDelegates.failure(e);
+		}
+	}
+
+	boolean isWrapping(ResultSet resultSet) {
+		return target == resultSet;
+	}
+
+	/** Records the rows read so far, at most once. */
+	void report() {
+		if (!reported) {
+			reported = true;
+			profiler.recordRows(stats, rows);
+		}
+	}
+
+	@Override
+	public boolean next() throws SQLException {
+		boolean moved = target.next();
+		if (moved) {
+			rows++;
+		}
+		return moved;
+	}
+
+	@Override
+	public void close() throws SQLException {
+		try {
+			target.close();
+		} finally {
+			report();
+		}
+	}
+
+	@Override
+	public Statement getStatement() throws SQLException {
+		return statement;
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		return iface.isInstance(target) ? iface.cast(target) : target.unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(target) || target.isWrapperFor(iface);
+	}
+}
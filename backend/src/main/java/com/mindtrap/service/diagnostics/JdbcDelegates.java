@@ -0,0 +1,51 @@
+package com.mindtrap.service.diagnostics;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import static net.bytebuddy.matcher.ElementMatchers.isAbstract;
+import static net.bytebuddy.matcher.ElementMatchers.isDefaultMethod;
+
+/**
+ * Generates the pass-through half of the profiling JDBC wrappers. Each wrapper is an
+ * abstract class implementing only the methods the profiler instruments; Byte Buddy (on the
+ * classpath through Hibernate) subclasses it once at class load, compiling every other
+ * interface method, default methods included, to a direct call on the wrapper's
+ * {@code target} field. A pass-through call is therefore one interface call and a cast,
+ * with no reflection.
+ */
+final class JdbcDelegates {
+
+	private JdbcDelegates() {
+	}
+
+	/** Constructor of the generated subclass of {@code wrapper}, taking {@code parameterTypes}. */
+	static MethodHandle constructor(Class<?> wrapper, Class<?>... parameterTypes) {
+		Class<?> generated = new ByteBuddy()
+			.subclass(wrapper, ConstructorStrategy.Default.IMITATE_SUPER_CLASS)
+			.name(wrapper.getName() + "$Delegate")
+			.method(isAbstract().or(isDefaultMethod()))
+			.intercept(MethodCall.invokeSelf().onField("target").withAllArguments()
+				.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC))
+			.make()
+			.load(wrapper.getClassLoader(), ClassLoadingStrategy.UsingLookup.of(MethodHandles.lookup()))
+			.getLoaded();
+		try {
+			return MethodHandles.lookup().findConstructor(generated, MethodType.methodType(void.class, parameterTypes));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("No constructor on generated " + generated.getName(), e);
+		}
+	}
+
+	/** For the wrappers' factories: the generated constructors only assign fields. */
+	static IllegalStateException failure(Throwable cause) {
+		return new IllegalStateException("Could not create JDBC wrapper", cause);
+	}
+}
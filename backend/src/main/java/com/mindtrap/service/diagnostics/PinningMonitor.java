@@ -0,0 +1,141 @@
+package com.mindtrap.service.diagnostics;
+
+import com.mindtrap.config.PinningDiagnosticsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports virtual threads pinned to their carrier (blocking inside {@code synchronized} or
+ * a native frame) by streaming the JDK's {@code jdk.VirtualThreadPinned} JFR event in
+ * process. Each pin is attributed to the innermost frame in our own code, falling back to
+ * the top frame, and recorded as {@code jvm.threads.virtual.pinned{site}}; the first pin at
+ * a new site is logged with its stack. {@code /actuator/pinning} lists the sites.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PinningMonitor {
+	private static final String EVENT = "jdk.VirtualThreadPinned";
+	private static final String APPLICATION_PACKAGE = "com.mindtrap.";
+	private static final String OTHER_SITE = "other";
+
+	private final PinningDiagnosticsProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, PinnedSite> sites = new ConcurrentHashMap<>();
+	private RecordingStream stream;
+
+	/** Aggregated pins at one site; {@code stack} is from the first occurrence. */
+	public record SiteStats(String site, long count, double totalMillis, double maxMillis, Instant lastSeen, List<String> stack) {
+	}
+
+	@PostConstruct
+	void start() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		try {
+			RecordingStream recording = new RecordingStream();
+			recording.enable(EVENT).withThreshold(properties.getThreshold()).withStackTrace();
+			recording.onEvent(EVENT, this::record);
+			recording.startAsync();
+			stream = recording;
+			log.info("[THREADS] Virtual thread pinning diagnostics on (threshold {} ms)", properties.getThreshold().toMillis());
+		} catch (RuntimeException | Error e) {
+			// JFR may be unavailable (e.g. a minimal runtime); diagnostics are best effort
+			log.warn("[THREADS] Pinning diagnostics unavailable: {}", e.toString());
+		}
+	}
+
+	@PreDestroy
+	void stop() {
+		if (stream != null) {
+			stream.close();
+		}
+	}
+
+	public List<SiteStats> sites() {
+		return sites.entrySet().stream()
+			.map(entry -> entry.getValue().snapshot(entry.getKey()))
+			.sorted(Comparator.comparingLong(SiteStats::count).reversed())
+			.toList();
+	}
+
+	private void record(RecordedEvent event) {
+		Duration duration = event.getDuration();
+		List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+		String site = siteOf(frames);
+		if (!sites.containsKey(site) && sites.size() >= properties.getMaxSites()) {
+			site = OTHER_SITE;
+		}
+		String key = site;
+		PinnedSite pinned = sites.computeIfAbsent(key, ignored -> {
+			List<String> stack = frames.stream().limit(properties.getStackDepth()).map(PinningMonitor::describe).toList();
+			log.warn("[THREADS] Virtual thread pinned for {} ms at {}:\n\t{}", duration.toMillis(), key, String.join("\n\t", stack));
+			return new PinnedSite(stack, Timer.builder("jvm.threads.virtual.pinned")
+				.description("Virtual threads pinned to their carrier longer than the configured threshold")
+				.tag("site", key)
+				.register(meterRegistry));
+		});
+		pinned.record(duration);
+	}
+
+	private static String siteOf(List<RecordedFrame> frames) {
+		for (RecordedFrame frame : frames) {
+			if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+				return describe(frame);
+			}
+		}
+		return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+	}
+
+	private static String describe(RecordedFrame frame) {
+		String type = frame.getMethod().getType().getName();
+		return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName()
+			+ (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+	}
+
+	private static final class PinnedSite {
+		private final List<String> stack;
+		private final Timer timer;
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+		private volatile Instant lastSeen;
+
+		PinnedSite(List<String> stack, Timer timer) {
+			this.stack = stack;
+			this.timer = timer;
+		}
+
+		void record(Duration duration) {
+			long nanos = duration.toNanos();
+			count.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulateAndGet(nanos, Math::max);
+			lastSeen = Instant.now();
+			timer.record(nanos, TimeUnit.NANOSECONDS);
+		}
+
+		SiteStats snapshot(String site) {
+			return new SiteStats(site, count.sum(), totalNanos.sum() / 1e6, maxNanos.get() / 1e6, lastSeen, stack);
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.mindtrap.service.diagnostics;
+
+import java.lang.invoke.MethodHandle;
+import java.sql.CallableStatement;
+
+/** {@link ProfilingPreparedStatement} for calls; the out-parameter methods are all generated. */
+abstract class ProfilingCallableStatement extends ProfilingPreparedStatement implements CallableStatement {
+	private static final MethodHandle CONSTRUCTOR = JdbcDelegates.constructor(ProfilingCallableStatement.class,
+		CallableStatement.class, SqlProfiler.class, SqlProfiler.StatementStats.class);
+
+	protected ProfilingCallableStatement(CallableStatement target, SqlProfiler profiler, SqlProfiler.StatementStats stats) {
+		super(target, profiler, stats);
+	}
+
+	static CallableStatement wrap(CallableStatement target, SqlProfiler profiler, SqlProfiler.StatementStats stats) {
+		try {
+			return (CallableStatement) CONSTRUCTOR.invoke(target, profiler, stats);
+		} catch (Throwable e) {
+			throw JdbcDelegates.failure(e);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package com.mindtrap.service.diagnostics;
+
+import java.lang.invoke.MethodHandle;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Connection wrapper whose statements are profiled. Prepared statements and calls resolve
+ * their {@link SqlProfiler.StatementStats} once, here; everything else is generated by
+ * {@link JdbcDelegates} and goes straight to the pool's connection.
+ */
+abstract class ProfilingConnection implements Connection {
+	private static final MethodHandle CONSTRUCTOR = JdbcDelegates.constructor(ProfilingConnection.class,
+		Connection.class, SqlProfiler.class);
+
+	protected final Connection target;
+	private final SqlProfiler profiler;
+
+	protected ProfilingConnection(Connection target, SqlProfiler profiler) {
+		this.target = target;
+		this.profiler = profiler;
+	}
+
+	static Connection wrap(Connection target, SqlProfiler profiler) {
+		try {
+			return (Connection) CONSTRUCTOR.invoke(target, profiler);
+		} catch (Throwable e) {
+			throw JdbcDelegates.failure(e);
+		}
+	}
+
+	@Override
+	public Statement createStatement() throws SQLException {
+		return ProfilingStatement.wrap(target.createStatement(), profiler);
+	}
+
+	@Override
+	public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+		return ProfilingStatement.wrap(target.createStatement(resultSetType, resultSetConcurrency), profiler);
+	}
+
+	@Override
+	public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+		return ProfilingStatement.wrap(target.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability), profiler);
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		return ProfilingPreparedStatement.wrap(target.prepareStatement(sql), profiler, profiler.statsFor(sql));
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+		return ProfilingPreparedStatement.wrap(target.prepareStatement(sql, autoGeneratedKeys), profiler, profiler.statsFor(sql));
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+		return ProfilingPreparedStatement.wrap(target.prepareStatement(sql, columnIndexes), profiler, profiler.statsFor(sql));
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+		return ProfilingPreparedStatement.wrap(target.prepareStatement(sql, columnNames), profiler, profiler.statsFor(sql));
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+		return ProfilingPreparedStatement.wrap(target.prepareStatement(sql, resultSetType, resultSetConcurrency),
+			profiler, profiler.statsFor(sql));
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+		throws SQLException {
+		return ProfilingPreparedStatement.wrap(target.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
+			profiler, profiler.statsFor(sql));
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql) throws SQLException {
+		return ProfilingCallableStatement.wrap(target.prepareCall(sql), profiler, profiler.statsFor(sql));
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+		return ProfilingCallableStatement.wrap(target.prepareCall(sql, resultSetType, resultSetConcurrency),
+			profiler, profiler.statsFor(sql));
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+		throws SQLException {
+		return ProfilingCallableStatement.wrap(target.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
+			profiler, profiler.statsFor(sql));
+	}
+}
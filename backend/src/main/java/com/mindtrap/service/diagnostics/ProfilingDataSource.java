@@ -0,0 +1,36 @@
+package com.mindtrap.service.diagnostics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * DataSource wrapper feeding {@link SqlProfiler}. Connections, statements and result sets
+ * are wrapped in {@link ProfilingConnection}, {@link ProfilingStatement} and
+ * {@link CountingResultSet}: statement executions are timed and rows counted as they are
+ * read, and every other call is passed straight through by delegates generated at startup
+ * (see {@link JdbcDelegates}), so no JDBC call goes through reflection. {@code unwrap} still
+ * reaches the pool, so pool metrics and health checks are unaffected.
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+	private final Supplier<SqlProfiler> profiler;
+
+	/** {@code profiler} is resolved on first use: the DataSource is built before most beans. */
+	public ProfilingDataSource(DataSource target, Supplier<SqlProfiler> profiler) {
+		super(target);
+		this.profiler = profiler;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return ProfilingConnection.wrap(super.getConnection(), profiler.get());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return ProfilingConnection.wrap(super.getConnection(username, password), profiler.get());
+	}
+}
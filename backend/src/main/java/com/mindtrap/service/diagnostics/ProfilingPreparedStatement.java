@@ -0,0 +1,51 @@
+package com.mindtrap.service.diagnostics;
+
+import java.lang.invoke.MethodHandle;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * {@link ProfilingStatement} for prepared SQL, whose stats are resolved once when the
+ * statement is prepared. Parameter setters are generated by {@link JdbcDelegates}.
+ */
+abstract class ProfilingPreparedStatement extends ProfilingStatement implements PreparedStatement {
+	private static final MethodHandle CONSTRUCTOR = JdbcDelegates.constructor(ProfilingPreparedStatement.class,
+		PreparedStatement.class, SqlProfiler.class, SqlProfiler.StatementStats.class);
+
+	protected ProfilingPreparedStatement(PreparedStatement target, SqlProfiler profiler, SqlProfiler.StatementStats stats) {
+		super(target, profiler, stats);
+	}
+
+	static PreparedStatement wrap(PreparedStatement target, SqlProfiler profiler, SqlProfiler.StatementStats stats) {
+		try {
+			return (PreparedStatement) CONSTRUCTOR.invoke(target, profiler, stats);
+		} catch (Throwable e) {
+			throw JdbcDelegates.failure(e);
+		}
+	}
+
+	@Override
+	public ResultSet executeQuery() throws SQLException {
+		return queried(begin(null), System.nanoTime(), prepared().executeQuery());
+	}
+
+	@Override
+	public boolean execute() throws SQLException {
+		return executed(begin(null), System.nanoTime(), prepared().execute());
+	}
+
+	@Override
+	public int executeUpdate() throws SQLException {
+		return updated(begin(null), System.nanoTime(), prepared().executeUpdate());
+	}
+
+	@Override
+	public long executeLargeUpdate() throws SQLException {
+		return updated(begin(null), System.nanoTime(), prepared().executeLargeUpdate());
+	}
+
+	private PreparedStatement prepared() {
+		return (PreparedStatement) target;
+	}
+}
@@ -0,0 +1,211 @@
+package com.mindtrap.service.diagnostics;
+
+import java.lang.invoke.MethodHandle;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times executions of one statement and counts the rows they touch. {@code stats} is fixed
+ * for prepared statements; plain statements resolve it per execution. A statement has at
+ * most one open result set, whose rows are reported when the statement closes it: on
+ * re-execution, {@code getMoreResults} or {@code close}. Methods not overridden here are
+ * generated by {@link JdbcDelegates}.
+ *
+ * <p>The execute methods pass {@code System.nanoTime()} ahead of the call they time: Java
+ * evaluates arguments left to right, so the clock is read before the statement runs.
+ */
+abstract class ProfilingStatement implements Statement {
+	private static final MethodHandle CONSTRUCTOR = JdbcDelegates.constructor(ProfilingStatement.class,
+		Statement.class, SqlProfiler.class, SqlProfiler.StatementStats.class);
+
+	protected final Statement target;
+	private final SqlProfiler profiler;
+	private final SqlProfiler.StatementStats stats;
+	/** Stats of the latest execution, for the result set {@code getResultSet} returns. */
+	private SqlProfiler.StatementStats executed;
+	private CountingResultSet open;
+
+	protected ProfilingStatement(Statement target, SqlProfiler profiler, SqlProfiler.StatementStats stats) {
+		this.target = target;
+		this.profiler = profiler;
+		this.stats = stats;
+		this.executed = stats;
+	}
+
+	static Statement wrap(Statement target, SqlProfiler profiler) {
+		try {
+			return (Statement) CONSTRUCTOR.invoke(target, profiler, null);
+		} catch (Throwable e) {
+			throw JdbcDelegates.failure(e);
+		}
+	}
+
+	@Override
+	public ResultSet executeQuery(String sql) throws SQLException {
+		return queried(begin(sql), System.nanoTime(), target.executeQuery(sql));
+	}
+
+	@Override
+	public boolean execute(String sql) throws SQLException {
+		return executed(begin(sql), System.nanoTime(), target.execute(sql));
+	}
+
+	@Override
+	public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+		return executed(begin(sql), System.nanoTime(), target.execute(sql, autoGeneratedKeys));
+	}
+
+	@Override
+	public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+		return executed(begin(sql), System.nanoTime(), target.execute(sql, columnIndexes));
+	}
+
+	@Override
+	public boolean execute(String sql, String[] columnNames) throws SQLException {
+		return executed(begin(sql), System.nanoTime(), target.execute(sql, columnNames));
+	}
+
+	@Override
+	public int executeUpdate(String sql) throws SQLException {
+		return updated(begin(sql), System.nanoTime(), target.executeUpdate(sql));
+	}
+
+	@Override
+	public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+		return updated(begin(sql), System.nanoTime(), target.executeUpdate(sql, autoGeneratedKeys));
+	}
+
+	@Override
+	public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+		return updated(begin(sql), System.nanoTime(), target.executeUpdate(sql, columnIndexes));
+	}
+
+	@Override
+	public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+		return updated(begin(sql), System.nanoTime(), target.executeUpdate(sql, columnNames));
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql) throws SQLException {
+		return updated(begin(sql), System.nanoTime(), target.executeLargeUpdate(sql));
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+		return updated(begin(sql), System.nanoTime(), target.executeLargeUpdate(sql, autoGeneratedKeys));
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+		return updated(begin(sql), System.nanoTime(), target.executeLargeUpdate(sql, columnIndexes));
+	}
+
+	@Override
+	public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+		return updated(begin(sql), System.nanoTime(), target.executeLargeUpdate(sql, columnNames));
+	}
+
+	@Override
+	public int[] executeBatch() throws SQLException {
+		reportOpen();
+		// On a plain statement the batched SQL is not known here
+		if (stats == null) {
+			return target.executeBatch();
+		}
+		long start = System.nanoTime();
+		int[] counts = target.executeBatch();
+		long total = 0;
+		for (int count : counts) {
+			total += Math.max(0, count);
+		}
+		updated(stats, start, total);
+		return counts;
+	}
+
+	@Override
+	public long[] executeLargeBatch() throws SQLException {
+		reportOpen();
+		if (stats == null) {
+			return target.executeLargeBatch();
+		}
+		long start = System.nanoTime();
+		long[] counts = target.executeLargeBatch();
+		long total = 0;
+		for (long count : counts) {
+			total += Math.max(0, count);
+		}
+		updated(stats, start, total);
+		return counts;
+	}
+
+	@Override
+	public ResultSet getResultSet() throws SQLException {
+		ResultSet resultSet = target.getResultSet();
+		return resultSet != null && executed != null ? resultSet(resultSet, executed) : resultSet;
+	}
+
+	@Override
+	public boolean getMoreResults() throws SQLException {
+		reportOpen();
+		return target.getMoreResults();
+	}
+
+	@Override
+	public boolean getMoreResults(int current) throws SQLException {
+		reportOpen();
+		return target.getMoreResults(current);
+	}
+
+	@Override
+	public void close() throws SQLException {
+		reportOpen();
+		target.close();
+	}
+
+	/** Reports the previous result set and resolves the stats this execution is recorded under. */
+	protected final SqlProfiler.StatementStats begin(String sql) {
+		reportOpen();
+		executed = stats != null ? stats : profiler.statsFor(sql);
+		return executed;
+	}
+
+	protected final ResultSet queried(SqlProfiler.StatementStats recorded, long start, ResultSet resultSet) {
+		profiler.recordExecution(recorded, System.nanoTime() - start);
+		return resultSet(resultSet, recorded);
+	}
+
+	protected final boolean executed(SqlProfiler.StatementStats recorded, long start, boolean hasResultSet) {
+		profiler.recordExecution(recorded, System.nanoTime() - start);
+		return hasResultSet;
+	}
+
+	protected final int updated(SqlProfiler.StatementStats recorded, long start, int count) {
+		profiler.recordExecution(recorded, System.nanoTime() - start);
+		profiler.recordRows(recorded, count);
+		return count;
+	}
+
+	protected final long updated(SqlProfiler.StatementStats recorded, long start, long count) {
+		profiler.recordExecution(recorded, System.nanoTime() - start);
+		profiler.recordRows(recorded, count);
+		return count;
+	}
+
+	private ResultSet resultSet(ResultSet resultSet, SqlProfiler.StatementStats recorded) {
+		// getResultSet may hand back the one already wrapped
+		if (open != null && open.isWrapping(resultSet)) {
+			return open;
+		}
+		reportOpen();
+		open = CountingResultSet.wrap(resultSet, this, profiler, recorded);
+		return open;
+	}
+
+	private void reportOpen() {
+		if (open != null) {
+			open.report();
+			open = null;
+		}
+	}
+}
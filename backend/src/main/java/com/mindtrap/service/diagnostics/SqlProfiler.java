@@ -0,0 +1,248 @@
+package com.mindtrap.service.diagnostics;
+
+import com.mindtrap.config.SqlProfilerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-statement SQL statistics fed by {@link ProfilingDataSource}. Statements are grouped
+ * by normalized text (literals and IN lists replaced by placeholders, whitespace
+ * collapsed); the raw SQL of a prepared statement is resolved to its group once, so an
+ * execution costs two clock reads, a few adds and a {@code db.statement} timer update.
+ * Executions over {@code sql-profiler.slow-threshold} are logged with the endpoint that
+ * issued them; that lookup only happens on the slow path.
+ */
+@Slf4j
+@Component
+public class SqlProfiler {
+	private static final String OTHER = "(other statements)";
+	private static final int MAX_SLOW_CALLERS = 5;
+
+	private final SqlProfilerProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final long slowNanos;
+	private final Map<String, StatementStats> byRaw = new ConcurrentHashMap<>();
+	private final Map<String, StatementStats> byNormalized = new ConcurrentHashMap<>();
+
+	public SqlProfiler(SqlProfilerProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.slowNanos = properties.getSlowThreshold().toNanos();
+	}
+
+	/** One row of {@code /actuator/sqlprofile}. */
+	public record StatementProfile(
+		String id,
+		String kind,
+		String sql,
+		long count,
+		double totalMillis,
+		double meanMillis,
+		double maxMillis,
+		Map<String, Double> percentilesMillis,
+		long rows,
+		long slowCount,
+		Map<String, Long> slowCallers
+	) {
+	}
+
+	public enum SortBy {
+		TOTAL, COUNT, MEAN, MAX, ROWS
+	}
+
+	/** Statistics group for a statement's SQL, created on first sight. */
+	StatementStats statsFor(String sql) {
+		StatementStats stats = byRaw.get(sql);
+		if (stats != null) {
+			return stats;
+		}
+		String normalized = normalize(sql);
+		stats = byNormalized.get(normalized);
+		if (stats == null) {
+			// Past the cap, new shapes share one entry so neither the maps nor the meters grow unbounded
+			String key = byNormalized.size() >= properties.getMaxStatements() ? OTHER : normalized;
+			stats = byNormalized.computeIfAbsent(key, this::newStats);
+		}
+		if (byRaw.size() < 4 * properties.getMaxStatements()) {
+			byRaw.putIfAbsent(sql, stats);
+		}
+		return stats;
+	}
+
+	void recordExecution(StatementStats stats, long nanos) {
+		stats.count.increment();
+		stats.totalNanos.add(nanos);
+		stats.maxNanos.accumulateAndGet(nanos, Math::max);
+		stats.timer.record(nanos, TimeUnit.NANOSECONDS);
+		if (nanos >= slowNanos) {
+			String caller = currentCaller();
+			stats.slowCount.increment();
+			if (stats.slowCallers.size() < MAX_SLOW_CALLERS || stats.slowCallers.containsKey(caller)) {
+				stats.slowCallers.computeIfAbsent(caller, ignored -> new LongAdder()).increment();
+			}
+			log.warn("[SQL] Slow statement {} ({} ms) from {}: {}", stats.id, TimeUnit.NANOSECONDS.toMillis(nanos), caller, stats.sql);
+		}
+	}
+
+	/** Rows read from a result set, or affected by an update. */
+	void recordRows(StatementStats stats, long rows) {
+		if (rows > 0) {
+			stats.rows.add(rows);
+		}
+	}
+
+	public List<StatementProfile> top(Integer limit, SortBy sortBy) {
+		Comparator<StatementProfile> order = switch (sortBy == null ? SortBy.TOTAL : sortBy) {
+			case TOTAL -> Comparator.comparingDouble(StatementProfile::totalMillis);
+			case COUNT -> Comparator.comparingLong(StatementProfile::count);
+			case MEAN -> Comparator.comparingDouble(StatementProfile::meanMillis);
+			case MAX -> Comparator.comparingDouble(StatementProfile::maxMillis);
+			case ROWS -> Comparator.comparingLong(StatementProfile::rows);
+		};
+		return byNormalized.values().stream()
+			.map(StatementStats::snapshot)
+			.filter(profile -> profile.count() > 0)
+			.sorted(order.reversed())
+			.limit(limit == null ? properties.getDefaultTop() : Math.max(1, limit))
+			.toList();
+	}
+
+	/** Drops all statistics and their meters. */
+	public void reset() {
+		byRaw.clear();
+		byNormalized.values().forEach(stats -> meterRegistry.remove(stats.timer));
+		byNormalized.clear();
+	}
+
+	private StatementStats newStats(String sql) {
+		String id = OTHER.equals(sql) ? "other" : String.format("%08x", sql.hashCode());
+		String kind = kindOf(sql);
+		Timer timer = Timer.builder("db.statement")
+			.description("JDBC statement execution, per normalized statement")
+			.tag("statement", id)
+			.tag("kind", kind)
+			.publishPercentiles(0.5, 0.95, 0.99)
+			.register(meterRegistry);
+		return new StatementStats(id, kind, sql, timer);
+	}
+
+	private static String kindOf(String sql) {
+		int end = 0;
+		while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+			end++;
+		}
+		return end == 0 ? "other" : sql.substring(0, end).toLowerCase(Locale.ROOT);
+	}
+
+	/** The endpoint being served ({@code GET /doctors/search}), else the thread name. */
+	private static String currentCaller() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes instanceof ServletRequestAttributes servlet) {
+			HttpServletRequest request = servlet.getRequest();
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+		}
+		String thread = Thread.currentThread().getName();
+		return thread.isEmpty() ? "background (virtual thread)" : "background (" + thread + ")";
+	}
+
+	/**
+	 * Replaces string and numeric literals with {@code ?}, collapses IN lists and
+	 * whitespace, so statements differing only in values share one entry.
+	 */
+	static String normalize(String sql) {
+		StringBuilder out = new StringBuilder(sql.length());
+		int n = sql.length();
+		for (int i = 0; i < n; i++) {
+			char c = sql.charAt(i);
+			if (Character.isWhitespace(c)) {
+				while (i + 1 < n && Character.isWhitespace(sql.charAt(i + 1))) {
+					i++;
+				}
+				if (!out.isEmpty()) {
+					out.append(' ');
+				}
+			} else if (c == '\'') {
+				// Skip to the closing quote; '' is an escaped quote inside the literal
+				i++;
+				while (i < n) {
+					if (sql.charAt(i) == '\'') {
+						if (i + 1 < n && sql.charAt(i + 1) == '\'') {
+							i += 2;
+							continue;
+						}
+						break;
+					}
+					i++;
+				}
+				out.append('?');
+			} else if (Character.isDigit(c) && (out.isEmpty() || !isIdentifierPart(out.charAt(out.length() - 1)))) {
+				while (i + 1 < n && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+					i++;
+				}
+				out.append('?');
+			} else {
+				out.append(c);
+			}
+		}
+		return out.toString().trim().replaceAll("\\(\\?(?:\\s*,\\s*\\?)+\\)", "(?...)");
+	}
+
+	private static boolean isIdentifierPart(char c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == '.';
+	}
+
+	static final class StatementStats {
+		private final String id;
+		private final String kind;
+		private final String sql;
+		private final Timer timer;
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+		private final LongAdder rows = new LongAdder();
+		private final LongAdder slowCount = new LongAdder();
+		private final Map<String, LongAdder> slowCallers = new ConcurrentHashMap<>();
+
+		private StatementStats(String id, String kind, String sql, Timer timer) {
+			this.id = id;
+			this.kind = kind;
+			this.sql = sql;
+			this.timer = timer;
+		}
+
+		StatementProfile snapshot() {
+			long executions = count.sum();
+			double totalMillis = totalNanos.sum() / 1e6;
+			Map<String, Double> percentiles = new LinkedHashMap<>();
+			HistogramSnapshot histogram = timer.takeSnapshot();
+			for (ValueAtPercentile value : histogram.percentileValues()) {
+				percentiles.put("p" + Math.round(value.percentile() * 100), value.value(TimeUnit.MILLISECONDS));
+			}
+			Map<String, Long> callers = new LinkedHashMap<>();
+			slowCallers.forEach((caller, hits) -> callers.put(caller, hits.sum()));
+			return new StatementProfile(id, kind, sql, executions, totalMillis,
+				executions == 0 ? 0 : totalMillis / executions, maxNanos.get() / 1e6, percentiles,
+				rows.sum(), slowCount.sum(), callers);
+		}
+	}
+}
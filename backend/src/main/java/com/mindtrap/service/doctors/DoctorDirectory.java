@@ -0,0 +1,181 @@
+package com.mindtrap.service.doctors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindtrap.config.DoctorDirectoryProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the current provider directory snapshot. Reloads parse the dataset as a stream
+ * into a new immutable snapshot off the request path and publish it with one atomic
+ * reference swap: searches never lock, and each one sees a single consistent snapshot
+ * for its whole duration. The previous snapshot is dropped once in-flight searches finish.
+ *
+ * <p>The dataset is reloaded when its modification time changes (checked every
+ * {@code doctors.directory.refresh-interval}) or on demand via
+ * {@code POST /actuator/doctordirectory}.
+ */
+@Slf4j
+@Component
+public class DoctorDirectory {
+	private static final int READ_BUFFER = 1 << 20;
+
+	private final DoctorDirectoryProperties properties;
+	private final ResourceLoader resourceLoader;
+	private final ObjectMapper objectMapper;
+	private final ApplicationEventPublisher eventPublisher;
+	private final Timer loadTimer;
+
+	private final AtomicReference<ProviderDirectory> current = new AtomicReference<>(ProviderDirectory.empty());
+	private final AtomicReference<LoadStats> lastLoad = new AtomicReference<>();
+	private final ReentrantLock reloadLock = new ReentrantLock();
+	private volatile long loadedModified = -1;
+
+	public DoctorDirectory(
+		DoctorDirectoryProperties properties,
+		ResourceLoader resourceLoader,
+		ObjectMapper objectMapper,
+		ApplicationEventPublisher eventPublisher,
+		MeterRegistry meterRegistry
+	) {
+		this.properties = properties;
+		this.resourceLoader = resourceLoader;
+		this.objectMapper = objectMapper;
+		this.eventPublisher = eventPublisher;
+		this.loadTimer = Timer.builder("doctors.directory.load")
+			.description("Time to parse and index the provider directory")
+			.register(meterRegistry);
+		Gauge.builder("doctors.directory.providers", current, ref -> ref.get().size())
+			.description("Providers in the current directory snapshot")
+			.register(meterRegistry);
+		Gauge.builder("doctors.directory.memory", lastLoad, ref -> ref.get() == null ? 0 : ref.get().memoryBytes())
+			.description("Estimated heap retained by the current directory snapshot")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+	}
+
+	/** Outcome of the load that produced the current snapshot. */
+	public record LoadStats(
+		String source,
+		int providers,
+		int skippedRows,
+		int specialties,
+		long memoryBytes,
+		long durationMillis,
+		Instant loadedAt
+	) {
+	}
+
+	@PostConstruct
+	void load() {
+		reload();
+	}
+
+	public ProviderDirectory current() {
+		return current.get();
+	}
+
+	public LoadStats lastLoad() {
+		return lastLoad.get();
+	}
+
+	@Scheduled(
+		fixedDelayString = "${doctors.directory.refresh-interval:PT5M}",
+		initialDelayString = "${doctors.directory.refresh-interval:PT5M}")
+	void reloadIfModified() {
+		Resource resource = resourceLoader.getResource(properties.getLocation());
+		try {
+			if (resource.exists() && resource.lastModified() != loadedModified) {
+				reload();
+			}
+		} catch (IOException e) {
+			// Resources inside a jar have no usable modification time; they never change anyway
+			log.debug("[DOCTORS] Cannot check {} for changes: {}", properties.getLocation(), e.getMessage());
+		}
+	}
+
+	/**
+	 * Loads the dataset into a new snapshot and swaps it in. Concurrent calls do not queue
+	 * up: a reload already in progress makes this a no-op. Returns the current stats.
+	 */
+	public LoadStats reload() {
+		if (!reloadLock.tryLock()) {
+			log.info("[DOCTORS] Reload already in progress; skipping");
+			return lastLoad.get();
+		}
+		try {
+			Resource resource = resourceLoader.getResource(properties.getLocation());
+			if (!resource.exists()) {
+				log.warn("[DOCTORS] Provider dataset {} not found; keeping the current {} providers",
+					properties.getLocation(), current.get().size());
+				return lastLoad.get();
+			}
+
+			long start = System.nanoTime();
+			long modified = lastModified(resource);
+			ProviderDirectory.Builder builder = ProviderDirectory.builder();
+			int skipped;
+			try (InputStream in = resource.getInputStream()) {
+				skipped = isJson(resource)
+					? ProviderJson.read(in, objectMapper.getFactory(), builder)
+					: ProviderCsv.read(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER), builder);
+			} catch (IOException e) {
+				// A bad file must not take down search; keep serving the previous snapshot
+				log.error("[DOCTORS] Failed to load {}; keeping the current {} providers",
+					properties.getLocation(), current.get().size(), e);
+				return lastLoad.get();
+			}
+			ProviderDirectory snapshot = builder.build(properties.getCellDegrees());
+			long elapsed = System.nanoTime() - start;
+
+			current.set(snapshot);
+			loadedModified = modified;
+			loadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+			LoadStats stats = new LoadStats(properties.getLocation(), snapshot.size(), skipped,
+				snapshot.specialties().size(), snapshot.memoryBytes(), TimeUnit.NANOSECONDS.toMillis(elapsed), Instant.now());
+			lastLoad.set(stats);
+
+			if (skipped > 0) {
+				log.warn("[DOCTORS] Skipped {} malformed provider rows", skipped);
+			}
+			log.info("[DOCTORS] Loaded {} providers from {} in {} ms (~{} KB indexed)",
+				stats.providers(), stats.source(), stats.durationMillis(), stats.memoryBytes() / 1024);
+			eventPublisher.publishEvent(new DoctorDirectoryReloadedEvent(stats));
+			return stats;
+		} finally {
+			reloadLock.unlock();
+		}
+	}
+
+	private static boolean isJson(Resource resource) {
+		String name = resource.getFilename() == null ? "" : resource.getFilename().toLowerCase(Locale.ROOT);
+		return name.endsWith(".json") || name.endsWith(".ndjson");
+	}
+
+	private static long lastModified(Resource resource) {
+		try {
+			return resource.lastModified();
+		} catch (IOException e) {
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,5 @@
+package com.mindtrap.service.doctors;
+
+/** Published after a new provider directory snapshot replaces the previous one. */
+public record DoctorDirectoryReloadedEvent(DoctorDirectory.LoadStats stats) {
+}
@@ -0,0 +1,158 @@
+package com.mindtrap.service.doctors;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mindtrap.config.DoctorSearchCacheProperties;
+import com.mindtrap.dto.DoctorDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Result cache for doctor searches. Locations are snapped to the centre of a
+ * {@code doctors.search-cache.cell-degrees} grid cell and terms are normalized, so nearby
+ * users running the same search share one entry; distances are then recomputed from each
+ * caller's own location. Entries are bounded by count (LRU) and TTL.
+ *
+ * <p>Concurrent misses for one key share a single load: the first caller registers a
+ * future and runs the search, the others wait on it without holding any lock. Keys carry
+ * the directory generation, so a reload makes every older entry (including loads still
+ * running against the previous snapshot) unreachable at once.
+ */
+@Slf4j
+@Component
+public class DoctorSearchCache {
+	private final DoctorSearchCacheProperties properties;
+	private final AsyncCache<Key, List<DoctorDto>> cache;
+	private final AtomicLong generation = new AtomicLong();
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter shared;
+
+	public DoctorSearchCache(DoctorSearchCacheProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(properties.getMaxEntries())
+			.expireAfterWrite(properties.getTtl())
+			.buildAsync();
+		this.hits = cacheCounter(meterRegistry, "hit");
+		this.misses = cacheCounter(meterRegistry, "miss");
+		this.shared = cacheCounter(meterRegistry, "shared");
+		Gauge.builder("doctors.search.cache.size", cache, c -> c.synchronous().estimatedSize())
+			.description("Doctor searches currently cached")
+			.register(meterRegistry);
+	}
+
+	private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("doctors.search.cache")
+			.description("Doctor search cache lookups; shared = waited on another caller's load")
+			.tag("result", result)
+			.register(meterRegistry);
+	}
+
+	/** A search as requested; {@code limit} is already clamped. */
+	public record Query(String term, Double lat, Double lng, String specialty, Double radiusKm, int limit) {
+
+		public boolean located() {
+			return lat != null && lng != null;
+		}
+	}
+
+	private record Key(long generation, Query query) {
+	}
+
+	/**
+	 * Results for {@code query}, from the cache or by running {@code search} on its
+	 * normalized, cell-centred form. The returned list must not be modified.
+	 */
+	public List<DoctorDto> search(Query query, Function<Query, List<DoctorDto>> search) {
+		if (!properties.isEnabled()) {
+			return search.apply(query);
+		}
+		Query normalized = normalize(query);
+		Key key = new Key(generation.get(), normalized);
+
+		CompletableFuture<List<DoctorDto>> loading = new CompletableFuture<>();
+		CompletableFuture<List<DoctorDto>> existing = cache.asMap().putIfAbsent(key, loading);
+		List<DoctorDto> results;
+		if (existing == null) {
+			misses.increment();
+			try {
+				results = List.copyOf(search.apply(normalized));
+			} catch (Throwable ex) {
+				// Errors too: waiters see the same failure, and the failed future is dropped so the next caller retries
+				loading.completeExceptionally(ex);
+				cache.asMap().remove(key, loading);
+				throw ex;
+			}
+			loading.complete(results);
+		} else {
+			(existing.isDone() ? hits : shared).increment();
+			try {
+				results = existing.join();
+			} catch (CompletionException ex) {
+				if (ex.getCause() instanceof RuntimeException cause) {
+					throw cause;
+				}
+				if (ex.getCause() instanceof Error error) {
+					throw error;
+				}
+				throw ex;
+			}
+		}
+		return query.located() ? relocate(results, query) : results;
+	}
+
+	@EventListener
+	public void onDirectoryReloaded(DoctorDirectoryReloadedEvent event) {
+		generation.incrementAndGet();
+		long dropped = cache.synchronous().estimatedSize();
+		cache.synchronous().invalidateAll();
+		log.info("[DOCTORS] Directory reloaded; dropped ~{} cached searches", dropped);
+	}
+
+	private Query normalize(Query query) {
+		Double lat = null;
+		Double lng = null;
+		if (query.located()) {
+			double cell = properties.getCellDegrees();
+			lat = Math.min(90, Math.max(-90, (Math.floor(query.lat() / cell) + 0.5) * cell));
+			lng = (Math.floor(query.lng() / cell) + 0.5) * cell;
+		}
+		return new Query(normalizeText(query.term()), lat, lng, normalizeText(query.specialty()), query.radiusKm(), query.limit());
+	}
+
+	private static String normalizeText(String value) {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Copies of cell-centred results with distances from the caller's location. Order is kept;
+	 * providers the shift pushed outside an explicit radius are dropped.
+	 */
+	private static List<DoctorDto> relocate(List<DoctorDto> results, Query query) {
+		List<DoctorDto> relocated = new ArrayList<>(results.size());
+		for (DoctorDto doctor : results) {
+			double distanceKm = Geo.distanceKm(query.lat(), query.lng(), doctor.getLatitude(), doctor.getLongitude());
+			if (query.radiusKm() != null && distanceKm > query.radiusKm()) {
+				continue;
+			}
+			relocated.add(doctor.toBuilder().distance(Math.round(distanceKm * 100) / 100.0).build());
+		}
+		return relocated;
+	}
+}
@@ -0,0 +1,56 @@
+package com.mindtrap.service.doctors;
+
+/**
+ * Great-circle helpers on a spherical Earth. Hot paths work on the haversine term
+ * {@code a} (distance = 2R·asin(√a)), which is monotonic in distance: comparing it with
+ * a precomputed threshold rejects far points without the {@code asin}/{@code sqrt}, and
+ * callers pass precomputed latitude cosines so each point costs two {@code sin} calls.
+ */
+final class Geo {
+	static final double EARTH_RADIUS_KM = 6371.0088;
+	static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+	private static final double RADIANS_PER_DEGREE = Math.PI / 180.0;
+
+	private Geo() {
+	}
+
+	static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+		return toKm(haversine(lat1, lng1, cosLatitude(lat1), lat2, lng2, cosLatitude(lat2)));
+	}
+
+	static double cosLatitude(double lat) {
+		return Math.cos(lat * RADIANS_PER_DEGREE);
+	}
+
+	static double haversine(double lat1, double lng1, double cosLat1, double lat2, double lng2, double cosLat2) {
+		double sinLat = Math.sin((lat2 - lat1) * RADIANS_PER_DEGREE / 2);
+		double sinLng = Math.sin((lng2 - lng1) * RADIANS_PER_DEGREE / 2);
+		return sinLat * sinLat + cosLat1 * cosLat2 * sinLng * sinLng;
+	}
+
+	static double toKm(double haversine) {
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(haversine)));
+	}
+
+	/** The haversine term of a distance; any point with a larger term is farther away. */
+	static double haversineOfKm(double km) {
+		if (km >= Math.PI * EARTH_RADIUS_KM) {
+			return 1.0;
+		}
+		double sin = Math.sin(km / EARTH_RADIUS_KM / 2);
+		return sin * sin;
+	}
+
+	/**
+	 * Distances from one origin to {@code points[0..count)} into {@code out}, reading the
+	 * coordinate columns directly.
+	 */
+	static void distancesKm(double lat, double lng, double[] latitudes, double[] longitudes, double[] cosLatitudes,
+		int[] points, int count, double[] out) {
+		double cosLat = cosLatitude(lat);
+		for (int i = 0; i < count; i++) {
+			int p = points[i];
+			out[i] = toKm(haversine(lat, lng, cosLat, latitudes[p], longitudes[p], cosLatitudes[p]));
+		}
+	}
+}
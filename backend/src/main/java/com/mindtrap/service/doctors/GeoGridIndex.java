@@ -0,0 +1,281 @@
+package com.mindtrap.service.doctors;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable fixed-degree grid over provider coordinates. Providers are grouped by cell
+ * in one int array (CSR layout: sorted occupied cell keys plus start offsets), so a
+ * query touches only the cells around the point and allocates nothing per provider.
+ *
+ * <p>Nearest-N expands square rings of cells outward and stops once the closest any
+ * unvisited ring could be is farther than the current N-th hit. Within-radius visits the
+ * cells of the radius' bounding box. Both compute exact haversine distances.
+ */
+final class GeoGridIndex {
+	private final double[] latitudes;
+	private final double[] longitudes;
+	private final double[] cosLatitudes;
+	private final double cellDegrees;
+	private final int rows;
+	private final int cols;
+	private final int[] cellKeys;
+	private final int[] cellStart;
+	private final int[] order;
+
+	GeoGridIndex(double[] latitudes, double[] longitudes, double[] cosLatitudes, double cellDegrees) {
+		if (cellDegrees < 0.01 || cellDegrees > 10) {
+			throw new IllegalArgumentException("Grid cell size must be between 0.01 and 10 degrees");
+		}
+		this.latitudes = latitudes;
+		this.longitudes = longitudes;
+		this.cosLatitudes = cosLatitudes;
+		this.cellDegrees = cellDegrees;
+		this.rows = (int) Math.ceil(180 / cellDegrees);
+		this.cols = (int) Math.ceil(360 / cellDegrees);
+
+		int size = latitudes.length;
+		long[] packed = new long[size];
+		for (int i = 0; i < size; i++) {
+			packed[i] = ((long) cellKey(row(latitudes[i]), col(longitudes[i])) << 32) | i;
+		}
+		Arrays.sort(packed);
+
+		this.order = new int[size];
+		int[] keys = new int[size];
+		int[] starts = new int[size + 1];
+		int cells = 0;
+		for (int i = 0; i < size; i++) {
+			int key = (int) (packed[i] >>> 32);
+			if (cells == 0 || keys[cells - 1] != key) {
+				keys[cells] = key;
+				starts[cells] = i;
+				cells++;
+			}
+			order[i] = (int) packed[i];
+		}
+		starts[cells] = size;
+		this.cellKeys = Arrays.copyOf(keys, cells);
+		this.cellStart = Arrays.copyOf(starts, cells + 1);
+	}
+
+	int occupiedCells() {
+		return cellKeys.length;
+	}
+
+	/** Estimated heap footprint of the index arrays, excluding the coordinates it shares. */
+	long memoryBytes() {
+		return 4L * (cellKeys.length + cellStart.length + order.length);
+	}
+
+	/**
+	 * Up to {@code limit} providers accepted by {@code filter} (null accepts all) that lie
+	 * within {@code maxRadiusKm}, nearest first.
+	 */
+	GeoHits nearest(double lat, double lng, int limit, double maxRadiusKm, IntPredicate filter) {
+		if (limit <= 0 || order.length == 0) {
+			return GeoHits.EMPTY;
+		}
+		NearestHeap heap = new NearestHeap(limit);
+		Origin origin = new Origin(lat, lng, maxRadiusKm);
+		int centerRow = row(lat);
+		int centerCol = col(lng);
+		// Rings wider than the globe would revisit columns
+		int maxRing = Math.min((cols - 1) / 2, ringsFor(lat, maxRadiusKm));
+		for (int ring = 0; ring <= maxRing; ring++) {
+			if (heap.isFull() && ringLowerBoundKm(lat, ring) > Geo.toKm(heap.worstHaversine())) {
+				break;
+			}
+			if (ring == 0) {
+				visitCell(centerRow, centerCol, origin, filter, heap);
+				continue;
+			}
+			for (int dc = -ring; dc <= ring; dc++) {
+				visitCell(centerRow - ring, centerCol + dc, origin, filter, heap);
+				visitCell(centerRow + ring, centerCol + dc, origin, filter, heap);
+			}
+			for (int dr = -ring + 1; dr < ring; dr++) {
+				visitCell(centerRow + dr, centerCol - ring, origin, filter, heap);
+				visitCell(centerRow + dr, centerCol + ring, origin, filter, heap);
+			}
+		}
+		return heap.toHits();
+	}
+
+	/** Providers accepted by {@code filter} within {@code radiusKm}, nearest first, at most {@code limit}. */
+	GeoHits within(double lat, double lng, double radiusKm, int limit, IntPredicate filter) {
+		if (limit <= 0 || order.length == 0 || radiusKm < 0) {
+			return GeoHits.EMPTY;
+		}
+		NearestHeap heap = new NearestHeap(limit);
+		Origin origin = new Origin(lat, lng, radiusKm);
+		double latSpan = radiusKm / Geo.KM_PER_DEGREE;
+		int rowMin = row(lat - latSpan);
+		int rowMax = row(lat + latSpan);
+
+		double maxAbsLat = Math.abs(lat) + latSpan;
+		int centerCol = col(lng);
+		int colSpan = maxAbsLat >= 89.9
+			? cols
+			: (int) Math.ceil(radiusKm / (Geo.KM_PER_DEGREE * Math.cos(Math.toRadians(maxAbsLat))) / cellDegrees);
+		int colMin = centerCol - colSpan;
+		int colMax = centerCol + colSpan;
+		if (2 * colSpan + 1 >= cols) {
+			colMin = 0;
+			colMax = cols - 1;
+		}
+
+		for (int row = rowMin; row <= rowMax; row++) {
+			for (int col = colMin; col <= colMax; col++) {
+				visitCell(row, col, origin, filter, heap);
+			}
+		}
+		return heap.toHits();
+	}
+
+	private void visitCell(int row, int col, Origin origin, IntPredicate filter, NearestHeap heap) {
+		if (row < 0 || row >= rows) {
+			return;
+		}
+		int cell = Arrays.binarySearch(cellKeys, cellKey(row, Math.floorMod(col, cols)));
+		if (cell < 0) {
+			return;
+		}
+		for (int i = cellStart[cell], end = cellStart[cell + 1]; i < end; i++) {
+			int provider = order[i];
+			double a = Geo.haversine(origin.lat, origin.lng, origin.cosLat,
+				latitudes[provider], longitudes[provider], cosLatitudes[provider]);
+			// Compare haversine terms first: distance and asin only for points that can enter the heap
+			if (a > origin.maxHaversine || (heap.isFull() && a >= heap.worstHaversine())) {
+				continue;
+			}
+			if (filter != null && !filter.test(provider)) {
+				continue;
+			}
+			heap.offer(provider, a);
+		}
+	}
+
+	/** Query point with its latitude cosine and the haversine term of the search radius. */
+	private record Origin(double lat, double lng, double cosLat, double maxHaversine) {
+		Origin(double lat, double lng, double radiusKm) {
+			this(lat, lng, Geo.cosLatitude(lat), Geo.haversineOfKm(radiusKm));
+		}
+	}
+
+	/**
+	 * Smallest distance between the query point and any point in ring {@code ring}: at
+	 * least {@code ring - 1} whole cells lie in between, measured along the parallel at the
+	 * ring's highest latitude. Conservative at the city-to-region scales queried here.
+	 */
+	private double ringLowerBoundKm(double lat, int ring) {
+		if (ring <= 1) {
+			return 0;
+		}
+		double widestLat = Math.min(89.9, Math.abs(lat) + (ring + 1) * cellDegrees);
+		return (ring - 1) * cellDegrees * Geo.KM_PER_DEGREE * Math.cos(Math.toRadians(widestLat));
+	}
+
+	private int ringsFor(double lat, double radiusKm) {
+		int ring = 1;
+		while (ringLowerBoundKm(lat, ring) <= radiusKm && ring < cols) {
+			ring++;
+		}
+		return ring;
+	}
+
+	private int row(double lat) {
+		return Math.min(rows - 1, Math.max(0, (int) Math.floor((lat + 90) / cellDegrees)));
+	}
+
+	private int col(double lng) {
+		return Math.floorMod((int) Math.floor((lng + 180) / cellDegrees), cols);
+	}
+
+	private int cellKey(int row, int col) {
+		return row * cols + col;
+	}
+
+	/**
+	 * Bounded max-heap keyed on the haversine term (monotonic in distance) that keeps the
+	 * {@code capacity} nearest providers; distances are only computed for the survivors.
+	 */
+	private static final class NearestHeap {
+		private final int capacity;
+		private int[] providers;
+		private double[] keys;
+		private int size;
+
+		NearestHeap(int capacity) {
+			// Radius queries pass large limits; grow towards the capacity only as hits arrive
+			this.capacity = capacity;
+			this.providers = new int[Math.min(capacity, 64)];
+			this.keys = new double[providers.length];
+		}
+
+		boolean isFull() {
+			return size == capacity;
+		}
+
+		double worstHaversine() {
+			return keys[0];
+		}
+
+		void offer(int provider, double key) {
+			if (size < capacity) {
+				if (size == providers.length) {
+					int grown = (int) Math.min(capacity, 2L * providers.length);
+					providers = Arrays.copyOf(providers, grown);
+					keys = Arrays.copyOf(keys, grown);
+				}
+				int i = size++;
+				while (i > 0) {
+					int parent = (i - 1) >>> 1;
+					if (keys[parent] >= key) {
+						break;
+					}
+					providers[i] = providers[parent];
+					keys[i] = keys[parent];
+					i = parent;
+				}
+				providers[i] = provider;
+				keys[i] = key;
+			} else if (key < keys[0]) {
+				siftDown(provider, key, size);
+			}
+		}
+
+		private void siftDown(int provider, double key, int heapSize) {
+			int i = 0;
+			while (true) {
+				int child = 2 * i + 1;
+				if (child >= heapSize) {
+					break;
+				}
+				if (child + 1 < heapSize && keys[child + 1] > keys[child]) {
+					child++;
+				}
+				if (keys[child] <= key) {
+					break;
+				}
+				providers[i] = providers[child];
+				keys[i] = keys[child];
+				i = child;
+			}
+			providers[i] = provider;
+			keys[i] = key;
+		}
+
+		GeoHits toHits() {
+			int[] sortedProviders = new int[size];
+			double[] sortedDistances = new double[size];
+			for (int n = size; n > 0; n--) {
+				sortedProviders[n - 1] = providers[0];
+				sortedDistances[n - 1] = Geo.toKm(keys[0]);
+				siftDown(providers[n - 1], keys[n - 1], n - 1);
+			}
+			size = 0;
+			return new GeoHits(sortedProviders, sortedDistances);
+		}
+	}
+}
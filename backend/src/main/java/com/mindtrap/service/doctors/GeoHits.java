@@ -0,0 +1,13 @@
+package com.mindtrap.service.doctors;
+
+/**
+ * Result of a spatial query: provider positions in the directory snapshot and their
+ * distances from the query point, both ordered nearest first.
+ */
+public record GeoHits(int[] providers, double[] distancesKm) {
+	static final GeoHits EMPTY = new GeoHits(new int[0], new double[0]);
+
+	public int size() {
+		return providers.length;
+	}
+}
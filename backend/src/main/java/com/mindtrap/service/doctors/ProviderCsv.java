@@ -0,0 +1,127 @@
+package com.mindtrap.service.doctors;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the provider dataset: CSV with a header naming at least {@code id, name,
+ * specialty, latitude, longitude}; {@code address, city, postal_code, phone, rating} are
+ * optional. Fields may be double-quoted. Malformed rows are skipped and counted.
+ */
+final class ProviderCsv {
+	private static final List<String> REQUIRED = List.of("id", "name", "specialty", "latitude", "longitude");
+
+	private ProviderCsv() {
+	}
+
+	/** Streams rows into {@code builder} one line at a time and returns how many were skipped. */
+	static int read(BufferedReader reader, ProviderDirectory.Builder builder) throws IOException {
+		String header = reader.readLine();
+		if (header == null) {
+			return 0;
+		}
+		Map<String, Integer> columns = new HashMap<>();
+		List<String> names = split(header);
+		for (int i = 0; i < names.size(); i++) {
+			columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+		}
+		for (String column : REQUIRED) {
+			if (!columns.containsKey(column)) {
+				throw new IOException("Provider dataset is missing column '" + column + "'");
+			}
+		}
+
+		int skipped = 0;
+		List<String> fields = new ArrayList<>(names.size());
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.isBlank()) {
+				continue;
+			}
+			splitInto(line, fields);
+			try {
+				builder.add(
+					field(fields, columns, "id"),
+					field(fields, columns, "name"),
+					field(fields, columns, "specialty"),
+					field(fields, columns, "address"),
+					field(fields, columns, "city"),
+					field(fields, columns, "postal_code"),
+					field(fields, columns, "phone"),
+					parseRating(field(fields, columns, "rating")),
+					Double.parseDouble(field(fields, columns, "latitude")),
+					Double.parseDouble(field(fields, columns, "longitude")));
+			} catch (RuntimeException e) {
+				skipped++;
+			}
+		}
+		return skipped;
+	}
+
+	private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+		Integer index = columns.get(column);
+		if (index == null || index >= fields.size()) {
+			return null;
+		}
+		String value = fields.get(index).strip();
+		return value.isEmpty() ? null : value;
+	}
+
+	private static float parseRating(String value) {
+		return value == null ? Float.NaN : Float.parseFloat(value);
+	}
+
+	/** Splits one CSV line; unquoted fields are plain substrings, quoted ones unescape {@code ""}. */
+	static List<String> split(String line) {
+		List<String> fields = new ArrayList<>();
+		splitInto(line, fields);
+		return fields;
+	}
+
+	private static void splitInto(String line, List<String> fields) {
+		fields.clear();
+		int length = line.length();
+		int i = 0;
+		while (true) {
+			if (i < length && line.charAt(i) == '"') {
+				StringBuilder quoted = new StringBuilder();
+				i++;
+				while (i < length) {
+					char c = line.charAt(i++);
+					if (c == '"') {
+						if (i < length && line.charAt(i) == '"') {
+							quoted.append('"');
+							i++;
+						} else {
+							break;
+						}
+					} else {
+						quoted.append(c);
+					}
+				}
+				// Anything between the closing quote and the next comma is kept, as lenient parsers do
+				int comma = line.indexOf(',', i);
+				int end = comma < 0 ? length : comma;
+				quoted.append(line, i, end);
+				fields.add(quoted.toString());
+				if (comma < 0) {
+					return;
+				}
+				i = comma + 1;
+			} else {
+				int comma = line.indexOf(',', i);
+				if (comma < 0) {
+					fields.add(line.substring(i));
+					return;
+				}
+				fields.add(line.substring(i, comma));
+				i = comma + 1;
+			}
+		}
+	}
+}
@@ -0,0 +1,332 @@
+package com.mindtrap.service.doctors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable snapshot of the provider directory. Providers are addressed by position;
+ * per-provider fields live in parallel arrays (coordinates and ratings as primitives,
+ * specialties as codes into a shared table) to keep hundreds of thousands of entries
+ * compact and cache friendly.
+ */
+public final class ProviderDirectory {
+	private final int size;
+	private final String[] ids;
+	private final String[] names;
+	private final String[] addresses;
+	private final String[] cities;
+	private final String[] postalCodes;
+	private final String[] phones;
+	private final float[] ratings;
+	private final double[] latitudes;
+	private final double[] longitudes;
+	private final double[] cosLatitudes;
+	private final int[] byRating;
+	private final short[] specialtyCodes;
+	private final List<String> specialties;
+	private final Map<String, Integer> specialtyLookup;
+	private final GeoGridIndex geoIndex;
+	private final TextIndex textIndex;
+	private final String[] suggestionPhrases;
+	private final float[] suggestionBoosts;
+	private final TextIndex suggestionIndex;
+
+	private ProviderDirectory(Builder builder, double cellDegrees) {
+		this.size = builder.size;
+		this.ids = Arrays.copyOf(builder.ids, size);
+		this.names = Arrays.copyOf(builder.names, size);
+		this.addresses = Arrays.copyOf(builder.addresses, size);
+		this.cities = Arrays.copyOf(builder.cities, size);
+		this.postalCodes = Arrays.copyOf(builder.postalCodes, size);
+		this.phones = Arrays.copyOf(builder.phones, size);
+		this.ratings = Arrays.copyOf(builder.ratings, size);
+		this.latitudes = Arrays.copyOf(builder.latitudes, size);
+		this.longitudes = Arrays.copyOf(builder.longitudes, size);
+		this.specialtyCodes = Arrays.copyOf(builder.specialtyCodes, size);
+		this.specialties = Collections.unmodifiableList(new ArrayList<>(builder.specialties));
+		this.specialtyLookup = Map.copyOf(builder.specialtyLookup);
+		this.cosLatitudes = new double[size];
+		for (int i = 0; i < size; i++) {
+			cosLatitudes[i] = Geo.cosLatitude(latitudes[i]);
+		}
+		this.geoIndex = new GeoGridIndex(latitudes, longitudes, cosLatitudes, cellDegrees);
+
+		// Best rated first (unrated last), so unlocated browsing reads a prefix instead of sorting
+		long[] ratingOrder = new long[size];
+		for (int i = 0; i < size; i++) {
+			int key = Float.isNaN(ratings[i]) ? 0 : Float.floatToIntBits(Math.max(0f, ratings[i])) + 1;
+			ratingOrder[i] = ((long) -key << 32) | i;
+		}
+		Arrays.sort(ratingOrder);
+		this.byRating = new int[size];
+		for (int i = 0; i < size; i++) {
+			byRating[i] = (int) ratingOrder[i];
+		}
+
+		String[] documents = new String[size];
+		for (int i = 0; i < size; i++) {
+			documents[i] = names[i] + " " + specialty(i) + (cities[i] == null ? "" : " " + cities[i]);
+		}
+		this.textIndex = TextIndex.build(documents);
+
+		// Autocomplete phrases: specialties first, then cities, then provider names, each
+		// nudged up by how many providers it covers
+		Map<String, Integer> phraseIndex = new HashMap<>();
+		List<String> phrases = new ArrayList<>();
+		List<Float> kindBoosts = new ArrayList<>();
+		List<Integer> counts = new ArrayList<>();
+		int[] specialtyCounts = new int[specialties.size()];
+		for (short code : specialtyCodes) {
+			specialtyCounts[code]++;
+		}
+		for (int code = 0; code < specialties.size(); code++) {
+			addPhrase(phraseIndex, phrases, kindBoosts, counts, specialties.get(code), 0.3f, specialtyCounts[code]);
+		}
+		for (String city : cities) {
+			addPhrase(phraseIndex, phrases, kindBoosts, counts, city, 0.2f, 1);
+		}
+		for (String name : names) {
+			addPhrase(phraseIndex, phrases, kindBoosts, counts, name, 0f, 1);
+		}
+		this.suggestionPhrases = phrases.toArray(new String[0]);
+		this.suggestionBoosts = new float[phrases.size()];
+		for (int i = 0; i < suggestionBoosts.length; i++) {
+			suggestionBoosts[i] = kindBoosts.get(i) + 0.01f * (float) Math.log1p(counts.get(i));
+		}
+		this.suggestionIndex = TextIndex.build(suggestionPhrases);
+	}
+
+	private static void addPhrase(Map<String, Integer> phraseIndex, List<String> phrases, List<Float> kindBoosts,
+		List<Integer> counts, String phrase, float kindBoost, int count) {
+		if (phrase == null) {
+			return;
+		}
+		Integer existing = phraseIndex.putIfAbsent(phrase.toLowerCase(Locale.ROOT), phrases.size());
+		if (existing == null) {
+			phrases.add(phrase);
+			kindBoosts.add(kindBoost);
+			counts.add(count);
+		} else {
+			counts.set(existing, counts.get(existing) + count);
+		}
+	}
+
+	public static ProviderDirectory empty() {
+		return builder().build(1.0);
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public String id(int provider) {
+		return ids[provider];
+	}
+
+	public String name(int provider) {
+		return names[provider];
+	}
+
+	public String address(int provider) {
+		return addresses[provider];
+	}
+
+	public String city(int provider) {
+		return cities[provider];
+	}
+
+	public String postalCode(int provider) {
+		return postalCodes[provider];
+	}
+
+	public String phone(int provider) {
+		return phones[provider];
+	}
+
+	public float rating(int provider) {
+		return ratings[provider];
+	}
+
+	public double latitude(int provider) {
+		return latitudes[provider];
+	}
+
+	public double longitude(int provider) {
+		return longitudes[provider];
+	}
+
+	public String specialty(int provider) {
+		return specialties.get(specialtyCodes[provider]);
+	}
+
+	public int specialtyCode(int provider) {
+		return specialtyCodes[provider];
+	}
+
+	/** Specialties in first-seen order. */
+	public List<String> specialties() {
+		return specialties;
+	}
+
+	/**
+	 * Estimated retained heap of the snapshot: primitive columns, strings (compact Latin-1
+	 * layout) and both indexes. Phrases shared with provider fields are counted once.
+	 */
+	public long memoryBytes() {
+		long bytes = 4L * size + 24L * size + 2L * size + 4L * size;
+		for (String[] column : new String[][] {ids, names, addresses, cities, postalCodes, phones}) {
+			bytes += 4L * column.length;
+			for (String value : column) {
+				bytes += value == null ? 0 : 40 + value.length();
+			}
+		}
+		return bytes + geoIndex.memoryBytes() + textIndex.memoryBytes()
+			+ 8L * suggestionPhrases.length + suggestionIndex.memoryBytes();
+	}
+
+	/** Code for a specialty name (case-insensitive), or -1 if no provider has it. */
+	public int lookupSpecialty(String specialty) {
+		return specialty == null ? -1 : specialtyLookup.getOrDefault(specialty.trim().toLowerCase(Locale.ROOT), -1);
+	}
+
+	public GeoHits nearest(double lat, double lng, int limit, double maxRadiusKm, IntPredicate filter) {
+		return geoIndex.nearest(lat, lng, limit, maxRadiusKm, filter);
+	}
+
+	public GeoHits within(double lat, double lng, double radiusKm, int limit, IntPredicate filter) {
+		return geoIndex.within(lat, lng, radiusKm, limit, filter);
+	}
+
+	/** Distances in km from one point to each of {@code providers[0..count)}. */
+	public double[] distancesKm(double lat, double lng, int[] providers, int count) {
+		double[] distances = new double[count];
+		Geo.distancesKm(lat, lng, latitudes, longitudes, cosLatitudes, providers, count, distances);
+		return distances;
+	}
+
+	/** Up to {@code limit} providers accepted by {@code filter}, best rated first. */
+	public int[] topRated(int limit, IntPredicate filter) {
+		int[] result = new int[Math.min(limit, size)];
+		int n = 0;
+		for (int i = 0; i < size && n < result.length; i++) {
+			if (filter == null || filter.test(byRating[i])) {
+				result[n++] = byRating[i];
+			}
+		}
+		return Arrays.copyOf(result, n);
+	}
+
+	/**
+	 * Providers whose name, specialty and city match every token of {@code query}, typos
+	 * allowed, with relevance in [0, 1] (1 when every token matched exactly).
+	 */
+	public TextHits searchText(String query) {
+		TextIndex.Matches matches = textIndex.search(query);
+		return new TextHits(matches.docs(), matches.scores());
+	}
+
+	/** Up to {@code limit} specialties, cities and provider names completing {@code query}, best first. */
+	public List<String> suggest(String query, int limit) {
+		TextIndex.Matches matches = suggestionIndex.search(query);
+		TopK top = new TopK(limit);
+		for (int i = 0; i < matches.size(); i++) {
+			int phrase = matches.docs()[i];
+			top.offer(phrase, matches.scores()[i] + suggestionBoosts[phrase]);
+		}
+		List<String> suggestions = new ArrayList<>(top.size());
+		for (int phrase : top.drainDescending()) {
+			suggestions.add(suggestionPhrases[phrase]);
+		}
+		return suggestions;
+	}
+
+	public static final class Builder {
+		private int size;
+		private String[] ids = new String[1024];
+		private String[] names = new String[1024];
+		private String[] addresses = new String[1024];
+		private String[] cities = new String[1024];
+		private String[] postalCodes = new String[1024];
+		private String[] phones = new String[1024];
+		private float[] ratings = new float[1024];
+		private double[] latitudes = new double[1024];
+		private double[] longitudes = new double[1024];
+		private short[] specialtyCodes = new short[1024];
+		private final List<String> specialties = new ArrayList<>();
+		private final Map<String, Integer> specialtyLookup = new HashMap<>();
+
+		private Builder() {
+		}
+
+		public int size() {
+			return size;
+		}
+
+		public Builder add(String id, String name, String specialty, String address, String city,
+			String postalCode, String phone, float rating, double latitude, double longitude) {
+			if (id == null || name == null || specialty == null) {
+				throw new IllegalArgumentException("Provider id, name and specialty are required");
+			}
+			if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+				throw new IllegalArgumentException("Coordinates out of range for provider " + id);
+			}
+			if (size == ids.length) {
+				grow();
+			}
+			ids[size] = id;
+			names[size] = name;
+			addresses[size] = address;
+			cities[size] = city;
+			postalCodes[size] = postalCode;
+			phones[size] = phone;
+			ratings[size] = rating;
+			latitudes[size] = latitude;
+			longitudes[size] = longitude;
+			specialtyCodes[size] = specialtyCode(specialty);
+			size++;
+			return this;
+		}
+
+		public ProviderDirectory build(double cellDegrees) {
+			return new ProviderDirectory(this, cellDegrees);
+		}
+
+		private short specialtyCode(String specialty) {
+			String key = specialty.trim().toLowerCase(Locale.ROOT);
+			Integer code = specialtyLookup.get(key);
+			if (code == null) {
+				if (specialties.size() > Short.MAX_VALUE) {
+					throw new IllegalStateException("Too many distinct specialties");
+				}
+				code = specialties.size();
+				specialties.add(specialty.trim());
+				specialtyLookup.put(key, code);
+			}
+			return code.shortValue();
+		}
+
+		private void grow() {
+			int capacity = ids.length * 2;
+			ids = Arrays.copyOf(ids, capacity);
+			names = Arrays.copyOf(names, capacity);
+			addresses = Arrays.copyOf(addresses, capacity);
+			cities = Arrays.copyOf(cities, capacity);
+			postalCodes = Arrays.copyOf(postalCodes, capacity);
+			phones = Arrays.copyOf(phones, capacity);
+			ratings = Arrays.copyOf(ratings, capacity);
+			latitudes = Arrays.copyOf(latitudes, capacity);
+			longitudes = Arrays.copyOf(longitudes, capacity);
+			specialtyCodes = Arrays.copyOf(specialtyCodes, capacity);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.mindtrap.service.doctors;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the provider dataset as JSON: either one top-level array of objects or
+ * newline-delimited objects, with the same field names as the CSV header ({@code lat}
+ * and {@code lng} are accepted too). Parsed token by token, so no tree is ever built.
+ */
+final class ProviderJson {
+
+	private ProviderJson() {
+	}
+
+	/** Streams objects into {@code builder} and returns how many were skipped. */
+	static int read(InputStream in, JsonFactory factory, ProviderDirectory.Builder builder) throws IOException {
+		int skipped = 0;
+		try (JsonParser parser = factory.createParser(in)) {
+			JsonToken token = parser.nextToken();
+			boolean array = token == JsonToken.START_ARRAY;
+			if (array) {
+				token = parser.nextToken();
+			}
+			while (token == JsonToken.START_OBJECT) {
+				if (!readProvider(parser, builder)) {
+					skipped++;
+				}
+				token = parser.nextToken();
+			}
+			if (array ? token != JsonToken.END_ARRAY : token != null) {
+				throw new IOException("Unexpected " + token + " in provider dataset at " + parser.currentLocation());
+			}
+		}
+		return skipped;
+	}
+
+	private static boolean readProvider(JsonParser parser, ProviderDirectory.Builder builder) throws IOException {
+		String id = null;
+		String name = null;
+		String specialty = null;
+		String address = null;
+		String city = null;
+		String postalCode = null;
+		String phone = null;
+		float rating = Float.NaN;
+		double latitude = Double.NaN;
+		double longitude = Double.NaN;
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			JsonToken value = parser.nextToken();
+			if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+				parser.skipChildren();
+				continue;
+			}
+			if (value == JsonToken.VALUE_NULL) {
+				continue;
+			}
+			switch (field) {
+				case "id" -> id = parser.getValueAsString();
+				case "name" -> name = parser.getValueAsString();
+				case "specialty" -> specialty = parser.getValueAsString();
+				case "address" -> address = parser.getValueAsString();
+				case "city" -> city = parser.getValueAsString();
+				case "postal_code", "postalCode" -> postalCode = parser.getValueAsString();
+				case "phone" -> phone = parser.getValueAsString();
+				case "rating" -> rating = (float) parser.getValueAsDouble(Double.NaN);
+				case "latitude", "lat" -> latitude = parser.getValueAsDouble(Double.NaN);
+				case "longitude", "lng" -> longitude = parser.getValueAsDouble(Double.NaN);
+				default -> {
+				}
+			}
+		}
+		if (Double.isNaN(latitude) || Double.isNaN(longitude)) {
+			return false;
+		}
+		try {
+			builder.add(id, name, specialty, address, city, postalCode, phone, rating, latitude, longitude);
+			return true;
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.mindtrap.service.doctors;
+
+import com.mindtrap.config.DoctorRankingProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Final ranking stage for doctor search. Scores a bounded candidate set by a weighted
+ * blend of proximity, rating and match quality, and keeps the best {@code k} in a
+ * {@link TopK} heap, so work and response size follow {@code k} rather than how many
+ * providers matched.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderRanker {
+	private final DoctorRankingProperties properties;
+
+	/** How many candidates retrieval should supply for {@code k} results. */
+	public int candidatePool(int k) {
+		return (int) Math.min(properties.getMaxCandidates(), Math.max(k, (long) k * properties.getCandidatesPerResult()));
+	}
+
+	/**
+	 * Ranks {@code candidates[0..count)}. {@code distancesKm} is parallel to the candidates
+	 * (null without a search location); {@code relevance} is parallel text relevance in
+	 * [0, 1] (null when there was no free-text term). A provider in
+	 * {@code preferredSpecialty} (-1 for none) scores a full match.
+	 */
+	public Ranked rank(ProviderDirectory directory, int[] candidates, int count, double[] distancesKm,
+		float[] relevance, int preferredSpecialty, int k) {
+		float distanceWeight = distancesKm == null ? 0f : properties.getDistanceWeight();
+		float matchWeight = relevance == null && preferredSpecialty < 0 ? 0f : properties.getMatchWeight();
+		double scale = properties.getDistanceScaleKm();
+
+		TopK top = new TopK(k);
+		for (int i = 0; i < count; i++) {
+			int provider = candidates[i];
+			float rating = directory.rating(provider);
+			float score = properties.getRatingWeight() * (Float.isNaN(rating) ? properties.getUnratedRating() : rating) / 5f;
+			if (distancesKm != null) {
+				score += distanceWeight * (float) (1.0 / (1.0 + distancesKm[i] / scale));
+			}
+			if (matchWeight > 0) {
+				float match = preferredSpecialty >= 0 && directory.specialtyCode(provider) == preferredSpecialty ? 1f
+					: relevance != null ? relevance[i] : 0f;
+				score += matchWeight * match;
+			}
+			// TopK ids are candidate slots so distances can be read back for the winners
+			top.offer(i, score);
+		}
+
+		int[] slots = top.drainDescending();
+		int[] providers = new int[slots.length];
+		double[] distances = distancesKm == null ? null : new double[slots.length];
+		for (int i = 0; i < slots.length; i++) {
+			providers[i] = candidates[slots[i]];
+			if (distances != null) {
+				distances[i] = distancesKm[slots[i]];
+			}
+		}
+		return new Ranked(providers, distances);
+	}
+
+	/** Ranked providers best first, with their distances (null without a search location). */
+	public record Ranked(int[] providers, double[] distancesKm) {
+	}
+}
@@ -0,0 +1,21 @@
+package com.mindtrap.service.doctors;
+
+import java.util.Arrays;
+
+/** Providers matching a text query, ascending by position, with their relevance scores. */
+public record TextHits(int[] providers, float[] scores) {
+
+	public int size() {
+		return providers.length;
+	}
+
+	public boolean contains(int provider) {
+		return Arrays.binarySearch(providers, provider) >= 0;
+	}
+
+	/** Relevance of {@code provider}, or 0 if it did not match. */
+	public float score(int provider) {
+		int i = Arrays.binarySearch(providers, provider);
+		return i >= 0 ? scores[i] : 0f;
+	}
+}
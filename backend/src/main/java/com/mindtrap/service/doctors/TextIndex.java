@@ -0,0 +1,393 @@
+package com.mindtrap.service.doctors;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable inverted index over short documents (provider name, specialty and city, or a
+ * suggestion phrase). The sorted vocabulary maps each token to a postings list, and a
+ * trigram index over the vocabulary finds misspelled tokens without scanning it.
+ *
+ * <p>A query matches documents that contain every query token: exactly, within a bounded
+ * edit distance (one edit or transposition from 4 characters, two from 8), or, for the
+ * last token, as a prefix so results follow the user as they type. Exact matches score
+ * highest, then prefixes, then typos.
+ */
+final class TextIndex {
+	private static final int MAX_PREFIX_EXPANSIONS = 256;
+
+	private final String[] terms;
+	private final int[] postingStart;
+	private final int[] postings;
+	private final long[] trigramKeys;
+	private final int[] trigramStart;
+	private final int[] trigramTerms;
+	private final int documents;
+
+	private TextIndex(String[] terms, int[] postingStart, int[] postings,
+		long[] trigramKeys, int[] trigramStart, int[] trigramTerms, int documents) {
+		this.terms = terms;
+		this.postingStart = postingStart;
+		this.postings = postings;
+		this.trigramKeys = trigramKeys;
+		this.trigramStart = trigramStart;
+		this.trigramTerms = trigramTerms;
+		this.documents = documents;
+	}
+
+	/** Indexes {@code texts[i]} as document {@code i}. */
+	static TextIndex build(String[] texts) {
+		Map<String, IntList> postingsByTerm = new HashMap<>();
+		for (int doc = 0; doc < texts.length; doc++) {
+			for (String token : tokenize(texts[doc])) {
+				IntList list = postingsByTerm.computeIfAbsent(token, t -> new IntList());
+				// Documents arrive in order, so a repeated token only needs checking against the tail
+				if (list.size == 0 || list.values[list.size - 1] != doc) {
+					list.add(doc);
+				}
+			}
+		}
+
+		String[] terms = postingsByTerm.keySet().toArray(new String[0]);
+		Arrays.sort(terms);
+		int[] postingStart = new int[terms.length + 1];
+		int total = 0;
+		for (int t = 0; t < terms.length; t++) {
+			postingStart[t] = total;
+			total += postingsByTerm.get(terms[t]).size;
+		}
+		postingStart[terms.length] = total;
+		int[] postings = new int[total];
+		for (int t = 0; t < terms.length; t++) {
+			IntList list = postingsByTerm.get(terms[t]);
+			System.arraycopy(list.values, 0, postings, postingStart[t], list.size);
+		}
+
+		Map<Long, IntList> termsByTrigram = new HashMap<>();
+		for (int t = 0; t < terms.length; t++) {
+			for (long gram : trigrams(terms[t])) {
+				IntList list = termsByTrigram.computeIfAbsent(gram, g -> new IntList());
+				// Terms arrive in order; a term containing the same trigram twice is listed once
+				if (list.size == 0 || list.values[list.size - 1] != t) {
+					list.add(t);
+				}
+			}
+		}
+		long[] trigramKeys = new long[termsByTrigram.size()];
+		int k = 0;
+		for (long gram : termsByTrigram.keySet()) {
+			trigramKeys[k++] = gram;
+		}
+		Arrays.sort(trigramKeys);
+		int[] trigramStart = new int[trigramKeys.length + 1];
+		int gramTotal = 0;
+		for (int g = 0; g < trigramKeys.length; g++) {
+			trigramStart[g] = gramTotal;
+			gramTotal += termsByTrigram.get(trigramKeys[g]).size;
+		}
+		trigramStart[trigramKeys.length] = gramTotal;
+		int[] trigramTerms = new int[gramTotal];
+		for (int g = 0; g < trigramKeys.length; g++) {
+			IntList list = termsByTrigram.get(trigramKeys[g]);
+			System.arraycopy(list.values, 0, trigramTerms, trigramStart[g], list.size);
+		}
+
+		return new TextIndex(terms, postingStart, postings, trigramKeys, trigramStart, trigramTerms, texts.length);
+	}
+
+	int documents() {
+		return documents;
+	}
+
+	int vocabularySize() {
+		return terms.length;
+	}
+
+	long memoryBytes() {
+		long termBytes = 0;
+		for (String term : terms) {
+			termBytes += 40 + term.length();
+		}
+		return termBytes + 4L * (postingStart.length + postings.length + trigramStart.length + trigramTerms.length)
+			+ 8L * trigramKeys.length;
+	}
+
+	/**
+	 * Documents matching every token of {@code query}, ascending by document, scored by the
+	 * mean per-token match weight (1 when every token matched exactly). Tokens are
+	 * intersected rarest first; once the running set is small, further tokens are checked by
+	 * binary search in their postings rather than materialized. An empty or token-less
+	 * query matches nothing.
+	 */
+	Matches search(String query) {
+		List<String> tokens = tokenize(query);
+		if (tokens.isEmpty()) {
+			return Matches.EMPTY;
+		}
+		List<Map<Integer, Float>> weights = new ArrayList<>(tokens.size());
+		long[] costs = new long[tokens.size()];
+		for (int i = 0; i < tokens.size(); i++) {
+			Map<Integer, Float> termWeights = matchingTerms(tokens.get(i), i == tokens.size() - 1);
+			weights.add(termWeights);
+			for (int term : termWeights.keySet()) {
+				costs[i] += postingStart[term + 1] - postingStart[term];
+			}
+		}
+		Integer[] byCost = new Integer[tokens.size()];
+		for (int i = 0; i < byCost.length; i++) {
+			byCost[i] = i;
+		}
+		Arrays.sort(byCost, (x, y) -> Long.compare(costs[x], costs[y]));
+
+		Matches result = Matches.of(weights.get(byCost[0]), postings, postingStart);
+		for (int i = 1; i < byCost.length && result.size() > 0; i++) {
+			Map<Integer, Float> termWeights = weights.get(byCost[i]);
+			long probeCost = (long) result.size() * termWeights.size() * 20;
+			result = probeCost < costs[byCost[i]]
+				? result.probe(termWeights, postings, postingStart)
+				: result.intersect(Matches.of(termWeights, postings, postingStart));
+		}
+		return result.scaled(1f / tokens.size());
+	}
+
+	private Map<Integer, Float> matchingTerms(String token, boolean allowPrefix) {
+		Map<Integer, Float> termWeights = new HashMap<>();
+
+		int exact = Arrays.binarySearch(terms, token);
+		if (exact >= 0) {
+			termWeights.put(exact, 1.0f);
+		}
+
+		if (allowPrefix) {
+			int from = exact >= 0 ? exact + 1 : -exact - 1;
+			for (int t = from; t < terms.length && t < from + MAX_PREFIX_EXPANSIONS && terms[t].startsWith(token); t++) {
+				// Longer completions are weaker evidence of what the user means
+				termWeights.merge(t, 0.5f + 0.4f * token.length() / terms[t].length(), Math::max);
+			}
+		}
+
+		int maxEdits = token.length() >= 8 ? 2 : token.length() >= 4 ? 1 : 0;
+		if (maxEdits > 0) {
+			for (int t : fuzzyCandidates(token, maxEdits)) {
+				int edits = boundedEditDistance(token, terms[t], maxEdits);
+				if (edits > 0 && edits <= maxEdits) {
+					termWeights.merge(t, 0.7f - 0.15f * (edits - 1), Math::max);
+				}
+			}
+		}
+
+		return termWeights;
+	}
+
+	/**
+	 * Terms sharing enough trigrams with {@code token} to be within {@code maxEdits}: an
+	 * edit or transposition touches at most four trigrams (q-gram lemma), and lengths may
+	 * differ by at most {@code maxEdits}.
+	 */
+	private List<Integer> fuzzyCandidates(String token, int maxEdits) {
+		long[] grams = trigrams(token);
+		int needed = grams.length - 4 * maxEdits;
+		Map<Integer, Integer> shared = new HashMap<>();
+		for (long gram : grams) {
+			int k = Arrays.binarySearch(trigramKeys, gram);
+			if (k < 0) {
+				continue;
+			}
+			for (int i = trigramStart[k]; i < trigramStart[k + 1]; i++) {
+				shared.merge(trigramTerms[i], 1, Integer::sum);
+			}
+		}
+		List<Integer> candidates = new ArrayList<>();
+		for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+			if (entry.getValue() >= needed && Math.abs(terms[entry.getKey()].length() - token.length()) <= maxEdits) {
+				candidates.add(entry.getKey());
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Optimal string alignment distance (Levenshtein plus adjacent transpositions, the most
+	 * common typo), or {@code max + 1} as soon as it must exceed {@code max}.
+	 */
+	static int boundedEditDistance(String a, String b, int max) {
+		if (Math.abs(a.length() - b.length()) > max) {
+			return max + 1;
+		}
+		int[] beforePrevious = new int[b.length() + 1];
+		int[] previous = new int[b.length() + 1];
+		int[] current = new int[b.length() + 1];
+		for (int j = 0; j <= b.length(); j++) {
+			previous[j] = j;
+		}
+		for (int i = 1; i <= a.length(); i++) {
+			current[0] = i;
+			int rowMin = current[0];
+			for (int j = 1; j <= b.length(); j++) {
+				int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+				int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+				if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+					value = Math.min(value, beforePrevious[j - 2] + 1);
+				}
+				current[j] = value;
+				rowMin = Math.min(rowMin, value);
+			}
+			if (rowMin > max) {
+				return max + 1;
+			}
+			int[] recycled = beforePrevious;
+			beforePrevious = previous;
+			previous = current;
+			current = recycled;
+		}
+		return previous[b.length()];
+	}
+
+	/** Lowercased, accent-stripped runs of letters and digits. */
+	static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		if (text == null) {
+			return tokens;
+		}
+		String normalized = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+		StringBuilder current = new StringBuilder();
+		for (int i = 0; i < normalized.length(); i++) {
+			char c = normalized.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				current.append(c);
+			} else if (Character.getType(c) != Character.NON_SPACING_MARK && current.length() > 0) {
+				tokens.add(current.toString());
+				current.setLength(0);
+			}
+		}
+		if (current.length() > 0) {
+			tokens.add(current.toString());
+		}
+		return tokens;
+	}
+
+	/** Trigrams of the term padded with a leading and trailing marker, packed 16 bits per char. */
+	private static long[] trigrams(String term) {
+		String padded = "\u0001" + term + "\u0001";
+		long[] grams = new long[padded.length() - 2];
+		for (int i = 0; i < grams.length; i++) {
+			grams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+		}
+		return grams;
+	}
+
+	/** Matching documents in ascending order with a parallel score array. */
+	record Matches(int[] docs, float[] scores) {
+		static final Matches EMPTY = new Matches(new int[0], new float[0]);
+
+		int size() {
+			return docs.length;
+		}
+
+		/**
+		 * Union of the postings of the weighted terms, keeping each document's best weight.
+		 * Packs (doc, weight) into longs and sorts once; positive float bits order like the floats.
+		 */
+		static Matches of(Map<Integer, Float> termWeights, int[] postings, int[] postingStart) {
+			int total = 0;
+			for (int term : termWeights.keySet()) {
+				total += postingStart[term + 1] - postingStart[term];
+			}
+			long[] packed = new long[total];
+			int n = 0;
+			for (Map.Entry<Integer, Float> entry : termWeights.entrySet()) {
+				int term = entry.getKey();
+				long weightBits = Float.floatToIntBits(entry.getValue());
+				for (int i = postingStart[term]; i < postingStart[term + 1]; i++) {
+					packed[n++] = ((long) postings[i] << 32) | weightBits;
+				}
+			}
+			Arrays.sort(packed);
+
+			int[] docs = new int[total];
+			float[] scores = new float[total];
+			int size = 0;
+			for (int i = 0; i < total; i++) {
+				int doc = (int) (packed[i] >>> 32);
+				float weight = Float.intBitsToFloat((int) packed[i]);
+				if (size > 0 && docs[size - 1] == doc) {
+					scores[size - 1] = weight;
+				} else {
+					docs[size] = doc;
+					scores[size++] = weight;
+				}
+			}
+			return new Matches(Arrays.copyOf(docs, size), Arrays.copyOf(scores, size));
+		}
+
+		/**
+		 * Keeps documents that appear in the postings of any weighted term, adding the best
+		 * such weight; one binary search per document and term.
+		 */
+		Matches probe(Map<Integer, Float> termWeights, int[] postings, int[] postingStart) {
+			int[] keptDocs = new int[docs.length];
+			float[] keptScores = new float[docs.length];
+			int n = 0;
+			for (int i = 0; i < docs.length; i++) {
+				float best = -1f;
+				for (Map.Entry<Integer, Float> entry : termWeights.entrySet()) {
+					int term = entry.getKey();
+					if (entry.getValue() > best
+						&& Arrays.binarySearch(postings, postingStart[term], postingStart[term + 1], docs[i]) >= 0) {
+						best = entry.getValue();
+					}
+				}
+				if (best >= 0) {
+					keptDocs[n] = docs[i];
+					keptScores[n++] = scores[i] + best;
+				}
+			}
+			return new Matches(Arrays.copyOf(keptDocs, n), Arrays.copyOf(keptScores, n));
+		}
+
+		Matches scaled(float factor) {
+			float[] scaled = new float[scores.length];
+			for (int i = 0; i < scores.length; i++) {
+				scaled[i] = scores[i] * factor;
+			}
+			return new Matches(docs, scaled);
+		}
+
+		/** Documents in both sets, with scores summed. */
+		Matches intersect(Matches other) {
+			int[] commonDocs = new int[Math.min(docs.length, other.docs.length)];
+			float[] commonScores = new float[commonDocs.length];
+			int i = 0;
+			int j = 0;
+			int n = 0;
+			while (i < docs.length && j < other.docs.length) {
+				if (docs[i] < other.docs[j]) {
+					i++;
+				} else if (docs[i] > other.docs[j]) {
+					j++;
+				} else {
+					commonDocs[n] = docs[i];
+					commonScores[n++] = scores[i++] + other.scores[j++];
+				}
+			}
+			return new Matches(Arrays.copyOf(commonDocs, n), Arrays.copyOf(commonScores, n));
+		}
+	}
+
+	private static final class IntList {
+		private int[] values = new int[4];
+		private int size;
+
+		void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+	}
+}
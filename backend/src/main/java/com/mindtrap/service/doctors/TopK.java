@@ -0,0 +1,70 @@
+package com.mindtrap.service.doctors;
+
+/**
+ * Keeps the {@code k} highest-scoring ids seen, in O(log k) per offer and O(k) memory.
+ * Each entry is packed into a long (score bits high, inverted id low) so the heap is a
+ * primitive array and ties go to the lower id. Scores must be non-negative.
+ */
+public final class TopK {
+	private final long[] heap;
+	private int size;
+
+	public TopK(int k) {
+		this.heap = new long[Math.max(0, k)];
+	}
+
+	public void offer(int id, float score) {
+		if (heap.length == 0) {
+			return;
+		}
+		long entry = ((long) Float.floatToIntBits(Math.max(0f, score)) << 32) | (0xFFFFFFFFL - id);
+		if (size < heap.length) {
+			int i = size++;
+			while (i > 0) {
+				int parent = (i - 1) >>> 1;
+				if (heap[parent] <= entry) {
+					break;
+				}
+				heap[i] = heap[parent];
+				i = parent;
+			}
+			heap[i] = entry;
+		} else if (entry > heap[0]) {
+			siftDown(entry, size);
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/** Ids ordered best first; empties the heap. */
+	public int[] drainDescending() {
+		int[] ids = new int[size];
+		for (int n = size; n > 0; n--) {
+			ids[n - 1] = (int) (0xFFFFFFFFL - (heap[0] & 0xFFFFFFFFL));
+			siftDown(heap[n - 1], n - 1);
+		}
+		size = 0;
+		return ids;
+	}
+
+	private void siftDown(long entry, int heapSize) {
+		int i = 0;
+		while (true) {
+			int child = 2 * i + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+				child++;
+			}
+			if (heap[child] >= entry) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = entry;
+	}
+}
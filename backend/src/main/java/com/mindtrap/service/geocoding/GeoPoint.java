@@ -0,0 +1,5 @@
+package com.mindtrap.service.geocoding;
+
+/** A latitude/longitude pair in degrees. */
+public record GeoPoint(double latitude, double longitude) {
+}
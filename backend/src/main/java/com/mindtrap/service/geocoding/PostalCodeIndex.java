@@ -0,0 +1,184 @@
+package com.mindtrap.service.geocoding;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Immutable postal-code to coordinate table. Each country plus code is packed into one
+ * base-37 {@code long} (two country letters then up to ten alphanumerics, zero padded), so
+ * the table is three parallel primitive arrays sorted by key and a lookup is a binary
+ * search. Because padding sorts first, every code sharing a prefix occupies one contiguous
+ * key range, which gives the prefix fallback for unknown codes.
+ */
+final class PostalCodeIndex {
+	static final int MAX_CODE_LENGTH = 10;
+	private static final int KEY_LENGTH = 2 + MAX_CODE_LENGTH;
+	private static final int RADIX = 37;
+
+	private final long[] keys;
+	private final float[] latitudes;
+	private final float[] longitudes;
+
+	private PostalCodeIndex(long[] keys, float[] latitudes, float[] longitudes) {
+		this.keys = keys;
+		this.latitudes = latitudes;
+		this.longitudes = longitudes;
+	}
+
+	static Builder builder() {
+		return new Builder();
+	}
+
+	int size() {
+		return keys.length;
+	}
+
+	long memoryBytes() {
+		return 16L * keys.length;
+	}
+
+	/**
+	 * Coordinates of {@code code} in {@code country} (ISO alpha-2). Unknown codes fall back
+	 * to the centroid of known codes sharing their longest prefix of at least
+	 * {@code minPrefixLength} characters; null when nothing matches.
+	 */
+	GeoPoint lookup(String country, String code, int minPrefixLength) {
+		String normalized = normalize(code);
+		if (normalized == null) {
+			return null;
+		}
+		long key = key(country, normalized);
+		if (key < 0) {
+			return null;
+		}
+		int exact = Arrays.binarySearch(keys, key);
+		if (exact >= 0) {
+			return new GeoPoint(latitudes[exact], longitudes[exact]);
+		}
+		for (int length = normalized.length() - 1; length >= Math.max(1, minPrefixLength); length--) {
+			long from = key(country, normalized.substring(0, length));
+			long to = from + pow(RADIX, MAX_CODE_LENGTH - length);
+			int start = lowerBound(from);
+			int end = lowerBound(to);
+			if (start < end) {
+				double lat = 0;
+				double lng = 0;
+				for (int i = start; i < end; i++) {
+					lat += latitudes[i];
+					lng += longitudes[i];
+				}
+				return new GeoPoint(lat / (end - start), lng / (end - start));
+			}
+		}
+		return null;
+	}
+
+	private int lowerBound(long key) {
+		int i = Arrays.binarySearch(keys, key);
+		return i >= 0 ? i : -i - 1;
+	}
+
+	/** Uppercase alphanumerics of a postal code (spaces and dashes dropped), or null if unusable. */
+	static String normalize(String code) {
+		if (code == null) {
+			return null;
+		}
+		StringBuilder normalized = new StringBuilder(code.length());
+		for (int i = 0; i < code.length(); i++) {
+			char c = Character.toUpperCase(code.charAt(i));
+			if ((c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z')) {
+				normalized.append(c);
+			} else if (c != ' ' && c != '-') {
+				return null;
+			}
+		}
+		return normalized.isEmpty() || normalized.length() > MAX_CODE_LENGTH ? null : normalized.toString();
+	}
+
+	/** Packed key of a normalized code, or -1 if the country is not two letters. */
+	private static long key(String country, String normalizedCode) {
+		if (country == null || country.length() != 2) {
+			return -1;
+		}
+		String chars = country.toUpperCase(Locale.ROOT) + normalizedCode;
+		long key = 0;
+		for (int i = 0; i < KEY_LENGTH; i++) {
+			int digit = i < chars.length() ? digit(chars.charAt(i)) : 0;
+			if (digit < 0) {
+				return -1;
+			}
+			key = key * RADIX + digit;
+		}
+		return key;
+	}
+
+	private static int digit(char c) {
+		if (c >= '0' && c <= '9') {
+			return 1 + c - '0';
+		}
+		if (c >= 'A' && c <= 'Z') {
+			return 11 + c - 'A';
+		}
+		return -1;
+	}
+
+	private static long pow(long base, int exponent) {
+		long result = 1;
+		for (int i = 0; i < exponent; i++) {
+			result *= base;
+		}
+		return result;
+	}
+
+	static final class Builder {
+		private long[] keys = new long[1024];
+		private float[] latitudes = new float[1024];
+		private float[] longitudes = new float[1024];
+		private int size;
+
+		private Builder() {
+		}
+
+		/** Adds a code; returns false (and adds nothing) if the country, code or coordinates are unusable. */
+		boolean add(String country, String code, double latitude, double longitude) {
+			String normalized = normalize(code);
+			long key = normalized == null ? -1 : key(country, normalized);
+			if (key < 0 || latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+				return false;
+			}
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, size * 2);
+				latitudes = Arrays.copyOf(latitudes, size * 2);
+				longitudes = Arrays.copyOf(longitudes, size * 2);
+			}
+			keys[size] = key;
+			latitudes[size] = (float) latitude;
+			longitudes[size] = (float) longitude;
+			size++;
+			return true;
+		}
+
+		/** Sorts by key; of duplicate codes the first added wins. */
+		PostalCodeIndex build() {
+			Integer[] order = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+			long[] sortedKeys = new long[size];
+			float[] sortedLatitudes = new float[size];
+			float[] sortedLongitudes = new float[size];
+			int n = 0;
+			for (int i : order) {
+				if (n > 0 && sortedKeys[n - 1] == keys[i]) {
+					continue;
+				}
+				sortedKeys[n] = keys[i];
+				sortedLatitudes[n] = latitudes[i];
+				sortedLongitudes[n++] = longitudes[i];
+			}
+			return new PostalCodeIndex(Arrays.copyOf(sortedKeys, n), Arrays.copyOf(sortedLatitudes, n),
+				Arrays.copyOf(sortedLongitudes, n));
+		}
+	}
+}
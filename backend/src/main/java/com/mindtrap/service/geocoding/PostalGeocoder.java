@@ -0,0 +1,102 @@
+package com.mindtrap.service.geocoding;
+
+import com.mindtrap.config.GeocodingProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline postal-code geocoder over the bundled {@code geocoding.location} dataset. The
+ * table is loaded once at startup; lookups are in-memory binary searches with no network
+ * calls, cheap enough to run inline on profile updates.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostalGeocoder {
+	private static final Map<String, String> COUNTRY_CODES = countryCodes();
+
+	private final GeocodingProperties properties;
+	private final ResourceLoader resourceLoader;
+	private volatile PostalCodeIndex index = PostalCodeIndex.builder().build();
+
+	@PostConstruct
+	void load() {
+		Resource resource = resourceLoader.getResource(properties.getLocation());
+		if (!resource.exists()) {
+			log.warn("[GEOCODING] Postal-code dataset {} not found; profiles will not be geocoded", properties.getLocation());
+			return;
+		}
+		long start = System.nanoTime();
+		PostalCodeIndex.Builder builder = PostalCodeIndex.builder();
+		int skipped = 0;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+			String line = reader.readLine();
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank()) {
+					continue;
+				}
+				String[] fields = line.split(",", -1);
+				try {
+					if (fields.length < 4 || !builder.add(fields[0].trim(), fields[1].trim(),
+						Double.parseDouble(fields[2].trim()), Double.parseDouble(fields[3].trim()))) {
+						skipped++;
+					}
+				} catch (NumberFormatException e) {
+					skipped++;
+				}
+			}
+		} catch (IOException e) {
+			log.error("[GEOCODING] Failed to load {}; profiles will not be geocoded", properties.getLocation(), e);
+			return;
+		}
+		index = builder.build();
+		if (skipped > 0) {
+			log.warn("[GEOCODING] Skipped {} malformed postal-code rows", skipped);
+		}
+		log.info("[GEOCODING] Loaded {} postal codes from {} in {} ms (~{} KB)", index.size(), properties.getLocation(),
+			(System.nanoTime() - start) / 1_000_000, index.memoryBytes() / 1024);
+	}
+
+	/**
+	 * Coordinates for a postal code. {@code country} may be an ISO alpha-2 or alpha-3 code
+	 * or an English country name; blank means {@code geocoding.default-country}.
+	 */
+	public Optional<GeoPoint> geocode(String country, String postalCode) {
+		String iso = countryCode(country);
+		if (iso == null || postalCode == null || postalCode.isBlank()) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(index.lookup(iso, postalCode, properties.getMinPrefixLength()));
+	}
+
+	private String countryCode(String country) {
+		if (country == null || country.isBlank()) {
+			return properties.getDefaultCountry();
+		}
+		return COUNTRY_CODES.get(country.trim().toLowerCase(Locale.ROOT));
+	}
+
+	private static Map<String, String> countryCodes() {
+		Map<String, String> codes = new HashMap<>();
+		for (String iso : Locale.getISOCountries()) {
+			Locale locale = Locale.of("", iso);
+			codes.put(iso.toLowerCase(Locale.ROOT), iso);
+			codes.put(locale.getISO3Country().toLowerCase(Locale.ROOT), iso);
+			codes.put(locale.getDisplayCountry(Locale.ENGLISH).toLowerCase(Locale.ROOT), iso);
+		}
+		return Map.copyOf(codes);
+	}
+}
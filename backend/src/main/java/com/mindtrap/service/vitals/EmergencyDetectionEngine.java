@@ -0,0 +1,185 @@
+package com.mindtrap.service.vitals;
+
+import com.mindtrap.config.VitalDetectionProperties;
+import com.mindtrap.config.VitalDetectionProperties.Direction;
+import com.mindtrap.config.VitalDetectionProperties.Operator;
+import com.mindtrap.config.VitalDetectionProperties.RuleType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory complex-event engine for vital readings. Each user gets a small
+ * {@link VitalWindow}; every configured rule is evaluated incrementally in O(1) per
+ * reading, without touching the database. Count rules with the default single reading
+ * act as hard limits on one value.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmergencyDetectionEngine {
+	private final VitalDetectionProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Map<UUID, VitalWindow> windows = new ConcurrentHashMap<>();
+
+	private final List<CompiledRule> rules = new ArrayList<>();
+	private int countRules;
+	private int trendRules;
+	private Timer evaluateTimer;
+
+	@PostConstruct
+	void compileRules() {
+		evaluateTimer = Timer.builder("vitals.detection.evaluate")
+			.description("Evaluating one reading against the detection rules")
+			.register(meterRegistry);
+		int capacity = properties.getWindowCapacity();
+		if (capacity < 1 || capacity > Long.SIZE) {
+			throw new IllegalStateException("vitals.detection.window-capacity must be between 1 and 64");
+		}
+		for (VitalDetectionProperties.Rule rule : properties.getRules()) {
+			if (rule.getType() == RuleType.COUNT) {
+				if (rule.getReadings() > capacity || rule.getHits() > rule.getReadings()) {
+					throw new IllegalStateException("Invalid hits/readings for vital rule " + rule.getName());
+				}
+				rules.add(new CountRule(rule, countRules++));
+			} else {
+				rules.add(new TrendRule(rule, trendRules++));
+			}
+		}
+		if (rules.isEmpty()) {
+			log.warn("[VITALS] No vital detection rules configured; readings will never be flagged");
+		}
+	}
+
+	/**
+	 * Returns the names of the rules {@code sample} would trigger on top of the user's
+	 * window, without changing it. An empty list means no emergency. The reading only
+	 * joins the window once it is committed ({@link #onReadingCreated}), so a rolled-back
+	 * request leaves later evaluations untouched.
+	 */
+	public List<String> evaluate(UUID userId, VitalSample sample) {
+		long start = System.nanoTime();
+		VitalWindow window = windows.get(userId);
+		VitalWindow scratch;
+		if (window == null) {
+			scratch = newWindow();
+		} else {
+			synchronized (window) {
+				scratch = window.copy();
+			}
+		}
+		List<String> triggered = apply(scratch, sample);
+		evaluateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		return triggered;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onReadingCreated(VitalReadingCreatedEvent event) {
+		record(event.userId(), event.sample());
+	}
+
+	/** Adds a committed reading to the user's window. */
+	void record(UUID userId, VitalSample sample) {
+		VitalWindow window = windows.computeIfAbsent(userId, id -> newWindow());
+		synchronized (window) {
+			apply(window, sample);
+		}
+	}
+
+	private VitalWindow newWindow() {
+		return new VitalWindow(properties.getWindowCapacity(), countRules, trendRules);
+	}
+
+	private List<String> apply(VitalWindow window, VitalSample sample) {
+		List<String> triggered = new ArrayList<>(1);
+		long seq = window.append(sample);
+		for (CompiledRule rule : rules) {
+			if (rule.test(window, seq, sample)) {
+				triggered.add(rule.name);
+			}
+		}
+		return triggered;
+	}
+
+	public int trackedUsers() {
+		return windows.size();
+	}
+
+	@Scheduled(fixedDelayString = "${vitals.detection.eviction-interval:PT5M}")
+	void evictIdleWindows() {
+		long cutoff = System.currentTimeMillis() - properties.getIdleTtl().toMillis();
+		windows.values().removeIf(window -> window.lastSeen() < cutoff);
+	}
+
+	private abstract static class CompiledRule {
+		final String name;
+		final VitalSign vital;
+		final int slot;
+
+		CompiledRule(VitalDetectionProperties.Rule rule, int slot) {
+			this.name = rule.getName();
+			this.vital = rule.getVital();
+			this.slot = slot;
+		}
+
+		abstract boolean test(VitalWindow window, long seq, VitalSample sample);
+	}
+
+	private static final class CountRule extends CompiledRule {
+		private final boolean above;
+		private final int threshold;
+		private final int hits;
+		private final int readings;
+
+		CountRule(VitalDetectionProperties.Rule rule, int slot) {
+			super(rule, slot);
+			this.above = rule.getOperator() == Operator.ABOVE;
+			this.threshold = vital.toScaled(rule.getThreshold());
+			this.hits = rule.getHits();
+			this.readings = rule.getReadings();
+		}
+
+		@Override
+		boolean test(VitalWindow window, long seq, VitalSample sample) {
+			int value = sample.get(vital);
+			boolean match = value != VitalSample.MISSING && (above ? value > threshold : value < threshold);
+			return window.recordMatch(slot, match, readings) >= hits;
+		}
+	}
+
+	private static final class TrendRule extends CompiledRule {
+		private final boolean falling;
+		private final int change;
+		private final long withinMillis;
+
+		TrendRule(VitalDetectionProperties.Rule rule, int slot) {
+			super(rule, slot);
+			this.falling = rule.getDirection() == Direction.FALLING;
+			this.change = vital.toScaled(rule.getChange());
+			this.withinMillis = rule.getWithin().toMillis();
+		}
+
+		@Override
+		boolean test(VitalWindow window, long seq, VitalSample sample) {
+			int value = sample.get(vital);
+			if (value == VitalSample.MISSING) {
+				return false;
+			}
+			// A fall is measured from the highest recent value, a rise from the lowest
+			int extreme = window.windowExtreme(slot, vital, seq, sample.timestamp() - withinMillis, falling);
+			return falling ? extreme - value >= change : value - extreme >= change;
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package com.mindtrap.service.vitals;
+
+import com.mindtrap.dto.VitalReadingDto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One user's most recent readings in primitive ring buffers. Decimal vitals are kept as
+ * scaled ints (hundredths, matching the column scale) instead of {@link BigDecimal}.
+ * Callers hold {@link #lock}; it is a {@link ReentrantLock} rather than a monitor because
+ * the first reader seeds the window with a query while holding it, and blocking inside
+ * {@code synchronized} would pin a virtual thread to its carrier.
+ */
+final class RecentVitals {
+	private final int capacity;
+	private final long[] idHigh;
+	private final long[] idLow;
+	private final long[] createdSeconds;
+	private final int[] createdNanos;
+	private final int[] heartRate;
+	private final int[] systolic;
+	private final int[] diastolic;
+	private final int[] oxygenSaturation;
+	private final int[] temperature;
+	private final boolean[] emergency;
+	private int head;
+	private int size;
+	private long total;
+
+	final ReentrantLock lock = new ReentrantLock();
+
+	/** False until the window has been seeded from the database. */
+	boolean loaded;
+
+	RecentVitals(int capacity) {
+		this.capacity = capacity;
+		this.idHigh = new long[capacity];
+		this.idLow = new long[capacity];
+		this.createdSeconds = new long[capacity];
+		this.createdNanos = new int[capacity];
+		this.heartRate = new int[capacity];
+		this.systolic = new int[capacity];
+		this.diastolic = new int[capacity];
+		this.oxygenSaturation = new int[capacity];
+		this.temperature = new int[capacity];
+		this.emergency = new boolean[capacity];
+	}
+
+	void append(VitalReadingDto reading) {
+		int slot = head;
+		idHigh[slot] = reading.getId().getMostSignificantBits();
+		idLow[slot] = reading.getId().getLeastSignificantBits();
+		createdSeconds[slot] = reading.getCreatedAt().getEpochSecond();
+		createdNanos[slot] = reading.getCreatedAt().getNano();
+		heartRate[slot] = toInt(reading.getHeartRate());
+		systolic[slot] = toInt(reading.getBloodPressureSystolic());
+		diastolic[slot] = toInt(reading.getBloodPressureDiastolic());
+		oxygenSaturation[slot] = toScaled(reading.getOxygenSaturation());
+		temperature[slot] = toScaled(reading.getTemperature());
+		emergency[slot] = Boolean.TRUE.equals(reading.getIsEmergency());
+		head = (head + 1) % capacity;
+		size = Math.min(size + 1, capacity);
+	}
+
+	boolean contains(UUID id) {
+		long high = id.getMostSignificantBits();
+		long low = id.getLeastSignificantBits();
+		for (int i = 0; i < size; i++) {
+			if (idHigh[i] == high && idLow[i] == low) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	void setTotal(long total) {
+		this.total = total;
+	}
+
+	void incrementTotal() {
+		total++;
+	}
+
+	long total() {
+		return total;
+	}
+
+	/** Returns up to {@code limit} readings newest-first, skipping the newest {@code offset}. */
+	List<VitalReadingDto> newest(int offset, int limit) {
+		int end = Math.min(size, offset + limit);
+		List<VitalReadingDto> readings = new ArrayList<>(Math.max(0, end - offset));
+		for (int i = offset; i < end; i++) {
+			readings.add(toDto(Math.floorMod(head - 1 - i, capacity)));
+		}
+		return readings;
+	}
+
+	private VitalReadingDto toDto(int slot) {
+		return VitalReadingDto.builder()
+			.id(new UUID(idHigh[slot], idLow[slot]))
+			.heartRate(fromInt(heartRate[slot]))
+			.bloodPressureSystolic(fromInt(systolic[slot]))
+			.bloodPressureDiastolic(fromInt(diastolic[slot]))
+			.oxygenSaturation(fromScaled(oxygenSaturation[slot]))
+			.temperature(fromScaled(temperature[slot]))
+			.isEmergency(emergency[slot])
+			.createdAt(Instant.ofEpochSecond(createdSeconds[slot], createdNanos[slot]))
+			.build();
+	}
+
+	private static int toInt(Integer value) {
+		return value == null ? VitalSample.MISSING : value;
+	}
+
+	private static Integer fromInt(int value) {
+		return value == VitalSample.MISSING ? null : value;
+	}
+
+	private static int toScaled(BigDecimal value) {
+		return value == null ? VitalSample.MISSING : value.setScale(2, RoundingMode.HALF_UP).unscaledValue().intValue();
+	}
+
+	private static BigDecimal fromScaled(int value) {
+		return value == VitalSample.MISSING ? null : BigDecimal.valueOf(value, 2);
+	}
+}
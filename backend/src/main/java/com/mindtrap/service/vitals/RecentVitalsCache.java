@@ -0,0 +1,134 @@
+package com.mindtrap.service.vitals;
+
+import com.mindtrap.config.VitalCacheProperties;
+import com.mindtrap.dto.VitalReadingDto;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Per-user ring buffer of the most recent readings. Windows are seeded lazily on the
+ * first read and kept current from committed writes, so pages that fall inside the
+ * window are answered without a query. A reading committed on another node evicts the
+ * user's window here through the cache invalidation bus, batched, so within about
+ * {@code cache-invalidation.batch-interval}; the next read reseeds it. Total memory is
+ * bounded by {@code maxUsers * capacity} readings; the least recently used users are evicted.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecentVitalsCache {
+	private final VitalCacheProperties properties;
+	private Map<UUID, RecentVitals> users;
+
+	@PostConstruct
+	void init() {
+		int maxUsers = properties.getMaxUsers();
+		users = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<UUID, RecentVitals> eldest) {
+				return size() > maxUsers;
+			}
+		};
+	}
+
+	public boolean covers(Pageable pageable) {
+		return pageable.isPaged() && pageable.getOffset() + pageable.getPageSize() <= properties.getCapacity();
+	}
+
+	/**
+	 * Serves a page that {@link #covers} the window, seeding it with {@code seedLoader} (the
+	 * newest {@code capacity} readings) on a miss. {@code pageLoader} reads the requested
+	 * page itself, for when another request's seed failed and the window is unusable.
+	 */
+	public Page<VitalReadingDto> page(UUID userId, Pageable pageable, Supplier<Page<VitalReadingDto>> seedLoader,
+		Supplier<Page<VitalReadingDto>> pageLoader) {
+		RecentVitals window;
+		boolean seed;
+		synchronized (users) {
+			window = users.get(userId);
+			seed = window == null;
+			if (seed) {
+				window = new RecentVitals(properties.getCapacity());
+				users.put(userId, window);
+			}
+		}
+
+		window.lock.lock();
+		try {
+			if (seed) {
+				try {
+					seed(window, seedLoader.get());
+				} catch (RuntimeException ex) {
+					evict(userId);
+					throw ex;
+				}
+			}
+			if (window.loaded) {
+				int offset = (int) pageable.getOffset();
+				List<VitalReadingDto> content = window.newest(offset, pageable.getPageSize());
+				return new PageImpl<>(content, pageable, window.total());
+			}
+		} finally {
+			window.lock.unlock();
+		}
+		// Another request's seed failed; read this page from the database, outside the lock
+		return pageLoader.get();
+	}
+
+	public int capacity() {
+		return properties.getCapacity();
+	}
+
+	@TransactionalEventListener
+	public void onReadingCreated(VitalReadingCreatedEvent event) {
+		RecentVitals window;
+		synchronized (users) {
+			window = users.get(event.userId());
+		}
+		if (window == null) {
+			return;
+		}
+		// The window is registered before its seed query runs, so a commit racing with
+		// the seed either lands in the query or is appended here once the seed finishes
+		window.lock.lock();
+		try {
+			if (window.loaded && !window.contains(event.reading().getId())) {
+				window.append(event.reading());
+				window.incrementTotal();
+			}
+		} finally {
+			window.lock.unlock();
+		}
+	}
+
+	public void evict(UUID userId) {
+		synchronized (users) {
+			users.remove(userId);
+		}
+	}
+
+	public void evictAll() {
+		synchronized (users) {
+			users.clear();
+		}
+	}
+
+	private void seed(RecentVitals window, Page<VitalReadingDto> newest) {
+		List<VitalReadingDto> rows = newest.getContent();
+		for (int i = rows.size() - 1; i >= 0; i--) {
+			window.append(rows.get(i));
+		}
+		window.setTotal(newest.getTotalElements());
+		window.loaded = true;
+	}
+}
@@ -0,0 +1,7 @@
+package com.mindtrap.service.vitals;
+
+import java.util.UUID;
+
+/** Another node committed readings for the user; announced through the cache invalidation bus. */
+public record RemoteVitalReadingsEvent(UUID userId) {
+}
@@ -0,0 +1,312 @@
+package com.mindtrap.service.vitals;
+
+import com.mindtrap.config.VitalArchiveProperties;
+import com.mindtrap.dto.VitalReadingDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Cold tier for old vital readings: one immutable columnar segment per user and month
+ * ({@code <directory>/<userId>/<yyyy-MM>.seg}). Segments are read into heap buffers
+ * rather than mapped, so no open mapping keeps a file from being replaced (which fails
+ * on Windows). Per-user segment counts and id fingerprints are indexed in memory, so
+ * paging only decodes the segments a page actually touches and a lookup by id decodes
+ * at most the segment that holds it. With several nodes the directory must be shared storage;
+ * {@link #storeId()} identifies it so nodes can check they all see the same one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VitalArchive {
+	private static final String SUFFIX = ".seg";
+	private static final String STORE_ID_FILE = "store-id";
+
+	private final VitalArchiveProperties properties;
+	private final Map<UUID, NavigableMap<YearMonth, Segment>> index = new ConcurrentHashMap<>();
+
+	public long count(UUID userId) {
+		long total = 0;
+		for (Segment segment : segments(userId).values()) {
+			total += segment.count();
+		}
+		return total;
+	}
+
+	/** Counts archived readings with {@code from <= createdAt < to}. */
+	public long count(UUID userId, Instant from, Instant to) {
+		long total = 0;
+		for (Map.Entry<YearMonth, Segment> segment : overlapping(userId, from, to).entrySet()) {
+			if (covers(segment.getKey(), from, to)) {
+				total += segment.getValue().count();
+			} else {
+				total += read(userId, segment.getKey()).stream()
+					.filter(reading -> inRange(reading, from, to))
+					.count();
+			}
+		}
+		return total;
+	}
+
+	/** Returns up to {@code limit} archived readings newest-first, skipping the newest {@code offset}. */
+	public List<VitalReadingDto> newest(UUID userId, long offset, int limit) {
+		return newest(userId, null, null, offset, limit);
+	}
+
+	/**
+	 * Like {@link #newest(UUID, long, int)} restricted to {@code from <= createdAt < to};
+	 * only segments overlapping the range are decoded.
+	 */
+	public List<VitalReadingDto> newest(UUID userId, Instant from, Instant to, long offset, int limit) {
+		List<VitalReadingDto> result = new ArrayList<>(limit);
+		long skip = offset;
+		for (Map.Entry<YearMonth, Segment> segment : overlapping(userId, from, to).descendingMap().entrySet()) {
+			if (result.size() >= limit) {
+				break;
+			}
+			boolean whole = covers(segment.getKey(), from, to);
+			int count = segment.getValue().count();
+			if (whole && skip >= count) {
+				skip -= count;
+				continue;
+			}
+			List<VitalReadingDto> readings = read(userId, segment.getKey());
+			for (int i = readings.size() - 1; i >= 0 && result.size() < limit; i--) {
+				if (whole || inRange(readings.get(i), from, to)) {
+					if (skip > 0) {
+						skip--;
+					} else {
+						result.add(readings.get(i));
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Finds one of the user's archived readings by id. Only segments whose id
+	 * fingerprints match are decoded, so an unknown id decodes nothing.
+	 */
+	public Optional<VitalReadingDto> find(UUID userId, UUID readingId) {
+		long fingerprint = VitalSegmentCodec.fingerprint(readingId);
+		for (Map.Entry<YearMonth, Segment> segment : segments(userId).descendingMap().entrySet()) {
+			if (!segment.getValue().mayContain(fingerprint)) {
+				continue;
+			}
+			for (VitalReadingDto reading : read(userId, segment.getKey())) {
+				if (reading.getId().equals(readingId)) {
+					return Optional.of(reading);
+				}
+			}
+		}
+		return Optional.empty();
+	}
+
+	/** Months with an archived segment for the user, oldest first. */
+	public NavigableSet<YearMonth> months(UUID userId) {
+		return segments(userId).navigableKeySet();
+	}
+
+	/**
+	 * Whether the user has a segment for {@code month}, checked on disk rather than in the
+	 * index so a segment written since the index was built is still seen.
+	 */
+	public boolean hasMonth(UUID userId, YearMonth month) {
+		return Files.exists(segmentPath(userId, month));
+	}
+
+	/**
+	 * Passes the user's archived readings for {@code month} to {@code action} oldest first,
+	 * read from disk like {@link #hasMonth(UUID, YearMonth)}. The readings are decoded one
+	 * at a time, never collected into a list.
+	 */
+	public void readMonth(UUID userId, YearMonth month, Consumer<VitalReadingDto> action) {
+		Path file = segmentPath(userId, month);
+		if (!Files.exists(file)) {
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			VitalSegmentCodec.decode(read(channel, channel.size()), action);
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read vital archive segment " + file, ex);
+		}
+	}
+
+	/**
+	 * Writes (or extends) the user's segment for {@code month}. The file is replaced
+	 * atomically and forced to disk before returning, so callers may then delete the
+	 * hot rows. Readings already in the segment are de-duplicated by id.
+	 */
+	public void write(UUID userId, YearMonth month, List<VitalReadingDto> readings) {
+		Path file = segmentPath(userId, month);
+		try {
+			Map<UUID, VitalReadingDto> merged = new LinkedHashMap<>();
+			if (Files.exists(file)) {
+				read(file).forEach(reading -> merged.put(reading.getId(), reading));
+			}
+			readings.forEach(reading -> merged.put(reading.getId(), reading));
+			List<VitalReadingDto> sorted = new ArrayList<>(merged.values());
+			sorted.sort(Comparator.comparing(VitalReadingDto::getCreatedAt));
+
+			Files.createDirectories(file.getParent());
+			Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				ByteBuffer encoded = ByteBuffer.wrap(VitalSegmentCodec.encode(sorted));
+				while (encoded.hasRemaining()) {
+					channel.write(encoded);
+				}
+				channel.force(true);
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			index.remove(userId);
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Failed to write vital archive segment " + file, ex);
+		}
+	}
+
+	/** Drops the user's segment index, after another node wrote to their segments. */
+	public void evict(UUID userId) {
+		index.remove(userId);
+	}
+
+	public void evictAll() {
+		index.clear();
+	}
+
+	/**
+	 * Random id kept in a marker file at the archive root, created on first use. Nodes
+	 * that share the directory read the same id.
+	 */
+	public UUID storeId() {
+		Path file = properties.getDirectory().resolve(STORE_ID_FILE);
+		try {
+			Files.createDirectories(properties.getDirectory());
+			try {
+				Files.writeString(file, UUID.randomUUID().toString(), StandardCharsets.US_ASCII, StandardOpenOption.CREATE_NEW);
+			} catch (FileAlreadyExistsException ignored) {
+				// Created earlier, possibly by another node
+			}
+			return UUID.fromString(Files.readString(file, StandardCharsets.US_ASCII).trim());
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read vital archive store id " + file, ex);
+		}
+	}
+
+	private NavigableMap<YearMonth, Segment> overlapping(UUID userId, Instant from, Instant to) {
+		NavigableMap<YearMonth, Segment> segments = segments(userId);
+		if (segments.isEmpty()) {
+			return segments;
+		}
+		YearMonth first = from != null ? YearMonth.from(from.atZone(ZoneOffset.UTC)) : segments.firstKey();
+		YearMonth last = to != null ? YearMonth.from(to.atZone(ZoneOffset.UTC)) : segments.lastKey();
+		return first.isAfter(last) ? Collections.emptyNavigableMap() : segments.subMap(first, true, last, true);
+	}
+
+	private static boolean covers(YearMonth month, Instant from, Instant to) {
+		Instant start = month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+		Instant end = month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+		return (from == null || !from.isAfter(start)) && (to == null || !to.isBefore(end));
+	}
+
+	private static boolean inRange(VitalReadingDto reading, Instant from, Instant to) {
+		Instant createdAt = reading.getCreatedAt();
+		return (from == null || !createdAt.isBefore(from)) && (to == null || createdAt.isBefore(to));
+	}
+
+	private NavigableMap<YearMonth, Segment> segments(UUID userId) {
+		return index.computeIfAbsent(userId, this::scan);
+	}
+
+	private NavigableMap<YearMonth, Segment> scan(UUID userId) {
+		Path directory = properties.getDirectory().resolve(userId.toString());
+		if (!Files.isDirectory(directory)) {
+			return Collections.emptyNavigableMap();
+		}
+		NavigableMap<YearMonth, Segment> segments = new TreeMap<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				YearMonth month = YearMonth.parse(name.substring(0, name.length() - SUFFIX.length()));
+				segments.put(month, index(file));
+			}
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Failed to scan vital archive for user " + userId, ex);
+		}
+		return segments;
+	}
+
+	private List<VitalReadingDto> read(UUID userId, YearMonth month) {
+		try {
+			return read(segmentPath(userId, month));
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read vital archive segment", ex);
+		}
+	}
+
+	private List<VitalReadingDto> read(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return VitalSegmentCodec.decode(read(channel, channel.size()));
+		}
+	}
+
+	/** Reads only the header and id column, not the readings themselves. */
+	private Segment index(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer header = read(channel, Math.min(channel.size(), VitalSegmentCodec.MAX_HEADER_LENGTH));
+			long[] fingerprints = VitalSegmentCodec.fingerprints(read(channel, VitalSegmentCodec.idColumnEnd(header)));
+			return new Segment(fingerprints.length, fingerprints);
+		}
+	}
+
+	private static ByteBuffer read(FileChannel channel, long length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(length));
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, buffer.position()) < 0) {
+				throw new IOException("Vital archive segment truncated");
+			}
+		}
+		return buffer.flip();
+	}
+
+	private Path segmentPath(UUID userId, YearMonth month) {
+		return properties.getDirectory().resolve(userId.toString()).resolve(month + SUFFIX);
+	}
+
+	/** Index entry for one segment: its reading count and sorted id fingerprints. */
+	private record Segment(int count, long[] fingerprints) {
+		boolean mayContain(long fingerprint) {
+			return Arrays.binarySearch(fingerprints, fingerprint) >= 0;
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.mindtrap.service.vitals;
+
+import com.mindtrap.dto.VitalReadingDto;
+
+import java.util.UUID;
+
+/**
+ * Published by {@code VitalReadingService.createReading}; listeners run after commit.
+ * {@code sample} is the reading as the detection engine saw it.
+ */
+public record VitalReadingCreatedEvent(UUID userId, VitalReadingDto reading, VitalSample sample) {
+}
@@ -0,0 +1,48 @@
+package com.mindtrap.service.vitals;
+
+import com.mindtrap.dto.CreateVitalReadingRequest;
+
+import java.math.BigDecimal;
+
+/**
+ * A single reading flattened to scaled primitives. Missing vitals are {@link #MISSING}.
+ */
+public record VitalSample(
+	long timestamp,
+	int heartRate,
+	int bloodPressureSystolic,
+	int bloodPressureDiastolic,
+	int oxygenSaturation,
+	int temperature
+) {
+	public static final int MISSING = Integer.MIN_VALUE;
+
+	public static VitalSample of(CreateVitalReadingRequest request, long timestamp) {
+		return new VitalSample(
+			timestamp,
+			scaled(VitalSign.HEART_RATE, request.getHeartRate()),
+			scaled(VitalSign.BLOOD_PRESSURE_SYSTOLIC, request.getBloodPressureSystolic()),
+			scaled(VitalSign.BLOOD_PRESSURE_DIASTOLIC, request.getBloodPressureDiastolic()),
+			scaled(VitalSign.OXYGEN_SATURATION, request.getOxygenSaturation()),
+			scaled(VitalSign.TEMPERATURE, request.getTemperature())
+		);
+	}
+
+	public int get(VitalSign vital) {
+		return switch (vital) {
+			case HEART_RATE -> heartRate;
+			case BLOOD_PRESSURE_SYSTOLIC -> bloodPressureSystolic;
+			case BLOOD_PRESSURE_DIASTOLIC -> bloodPressureDiastolic;
+			case OXYGEN_SATURATION -> oxygenSaturation;
+			case TEMPERATURE -> temperature;
+		};
+	}
+
+	private static int scaled(VitalSign vital, Integer value) {
+		return value == null ? MISSING : vital.toScaled(value);
+	}
+
+	private static int scaled(VitalSign vital, BigDecimal value) {
+		return value == null ? MISSING : vital.toScaled(value.doubleValue());
+	}
+}
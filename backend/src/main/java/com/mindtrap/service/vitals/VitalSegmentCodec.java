@@ -0,0 +1,244 @@
+package com.mindtrap.service.vitals;
+
+import com.mindtrap.dto.VitalReadingDto;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Columnar encoding for archived readings. A segment stores one user-month sorted by
+ * {@code createdAt}:
+ *
+ * <pre>
+ * magic(4) version(1) count(varint)
+ * ids            count x 16 raw bytes
+ * createdAt      first epoch-micros, then non-negative deltas (varint)
+ * 5 vital columns presence bitmap, then zigzag deltas between present values (varint)
+ * isEmergency    bitmap
+ * </pre>
+ *
+ * Decimal vitals are encoded as hundredths, matching the column scale.
+ */
+final class VitalSegmentCodec {
+	static final int MAGIC = 0x4D545653; // "MTVS"
+	static final byte VERSION = 1;
+
+	private static final List<Function<VitalReadingDto, Integer>> COLUMNS = List.of(
+		VitalReadingDto::getHeartRate,
+		VitalReadingDto::getBloodPressureSystolic,
+		VitalReadingDto::getBloodPressureDiastolic,
+		reading -> hundredths(reading.getOxygenSaturation()),
+		reading -> hundredths(reading.getTemperature())
+	);
+
+	private VitalSegmentCodec() {
+	}
+
+	/** Encodes readings that are already sorted by {@code createdAt} ascending. */
+	static byte[] encode(List<VitalReadingDto> readings) {
+		int count = readings.size();
+		ByteArrayOutputStream out = new ByteArrayOutputStream(32 + count * 24);
+		writeInt(out, MAGIC);
+		out.write(VERSION);
+		writeVarLong(out, count);
+
+		for (VitalReadingDto reading : readings) {
+			writeLong(out, reading.getId().getMostSignificantBits());
+			writeLong(out, reading.getId().getLeastSignificantBits());
+		}
+
+		long previous = 0;
+		for (VitalReadingDto reading : readings) {
+			long micros = toMicros(reading.getCreatedAt());
+			writeVarLong(out, micros - previous);
+			previous = micros;
+		}
+
+		for (Function<VitalReadingDto, Integer> column : COLUMNS) {
+			byte[] presence = new byte[(count + 7) / 8];
+			for (int i = 0; i < count; i++) {
+				if (column.apply(readings.get(i)) != null) {
+					presence[i >>> 3] |= (byte) (1 << (i & 7));
+				}
+			}
+			out.writeBytes(presence);
+			int last = 0;
+			for (VitalReadingDto reading : readings) {
+				Integer value = column.apply(reading);
+				if (value != null) {
+					writeVarLong(out, zigzag(value - last));
+					last = value;
+				}
+			}
+		}
+
+		byte[] emergency = new byte[(count + 7) / 8];
+		for (int i = 0; i < count; i++) {
+			if (Boolean.TRUE.equals(readings.get(i).getIsEmergency())) {
+				emergency[i >>> 3] |= (byte) (1 << (i & 7));
+			}
+		}
+		out.writeBytes(emergency);
+		return out.toByteArray();
+	}
+
+	/** Upper bound on the header length: magic, version and a varint count. */
+	static final int MAX_HEADER_LENGTH = 4 + 1 + 10;
+
+	/**
+	 * Given at least the first {@link #MAX_HEADER_LENGTH} bytes of a segment (or the
+	 * whole segment if shorter), returns how many leading bytes hold the header and the
+	 * id column.
+	 */
+	static int idColumnEnd(ByteBuffer header) {
+		ByteBuffer in = header.duplicate();
+		int start = in.position();
+		checkHeader(in);
+		int count = (int) readVarLong(in);
+		return in.position() - start + count * 16;
+	}
+
+	/**
+	 * Reads the id column and returns the segment's id fingerprints, sorted for
+	 * {@link java.util.Arrays#binarySearch(long[], long)}. Needs only the bytes up to
+	 * {@link #idColumnEnd(ByteBuffer)}.
+	 */
+	static long[] fingerprints(ByteBuffer buffer) {
+		ByteBuffer in = buffer.duplicate();
+		checkHeader(in);
+		int count = (int) readVarLong(in);
+		long[] fingerprints = new long[count];
+		for (int i = 0; i < count; i++) {
+			fingerprints[i] = in.getLong() ^ in.getLong();
+		}
+		Arrays.sort(fingerprints);
+		return fingerprints;
+	}
+
+	static long fingerprint(UUID id) {
+		return id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+	}
+
+	/** Decodes a segment into readings ordered by {@code createdAt} ascending. */
+	static List<VitalReadingDto> decode(ByteBuffer buffer) {
+		List<VitalReadingDto> readings = new ArrayList<>();
+		decode(buffer, readings::add);
+		return readings;
+	}
+
+	/**
+	 * Like {@link #decode(ByteBuffer)}, passing each reading to {@code action} as it is
+	 * built. Only the primitive columns are held in memory.
+	 */
+	static void decode(ByteBuffer buffer, Consumer<VitalReadingDto> action) {
+		ByteBuffer in = buffer.duplicate();
+		checkHeader(in);
+		int count = (int) readVarLong(in);
+
+		UUID[] ids = new UUID[count];
+		for (int i = 0; i < count; i++) {
+			ids[i] = new UUID(in.getLong(), in.getLong());
+		}
+
+		long[] micros = new long[count];
+		long previous = 0;
+		for (int i = 0; i < count; i++) {
+			previous += readVarLong(in);
+			micros[i] = previous;
+		}
+
+		int[][] columns = new int[COLUMNS.size()][count];
+		boolean[][] present = new boolean[COLUMNS.size()][count];
+		for (int c = 0; c < COLUMNS.size(); c++) {
+			byte[] presence = new byte[(count + 7) / 8];
+			in.get(presence);
+			int last = 0;
+			for (int i = 0; i < count; i++) {
+				if ((presence[i >>> 3] & (1 << (i & 7))) != 0) {
+					last += unzigzag(readVarLong(in));
+					columns[c][i] = last;
+					present[c][i] = true;
+				}
+			}
+		}
+
+		byte[] emergency = new byte[(count + 7) / 8];
+		in.get(emergency);
+
+		for (int i = 0; i < count; i++) {
+			action.accept(VitalReadingDto.builder()
+				.id(ids[i])
+				.createdAt(Instant.ofEpochSecond(Math.floorDiv(micros[i], 1_000_000L), Math.floorMod(micros[i], 1_000_000L) * 1_000L))
+				.heartRate(present[0][i] ? columns[0][i] : null)
+				.bloodPressureSystolic(present[1][i] ? columns[1][i] : null)
+				.bloodPressureDiastolic(present[2][i] ? columns[2][i] : null)
+				.oxygenSaturation(present[3][i] ? BigDecimal.valueOf(columns[3][i], 2) : null)
+				.temperature(present[4][i] ? BigDecimal.valueOf(columns[4][i], 2) : null)
+				.isEmergency((emergency[i >>> 3] & (1 << (i & 7))) != 0)
+				.build());
+		}
+	}
+
+	private static void checkHeader(ByteBuffer in) {
+		if (in.getInt() != MAGIC || in.get() != VERSION) {
+			throw new IllegalStateException("Not a vital archive segment");
+		}
+	}
+
+	private static Integer hundredths(BigDecimal value) {
+		return value == null ? null : value.setScale(2, RoundingMode.HALF_UP).unscaledValue().intValue();
+	}
+
+	private static long toMicros(Instant instant) {
+		return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+	}
+
+	private static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static int unzigzag(long value) {
+		return (int) ((value >>> 1) ^ -(value & 1));
+	}
+
+	private static void writeVarLong(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	private static long readVarLong(ByteBuffer in) {
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = in.get();
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while (b < 0);
+		return value;
+	}
+
+	private static void writeInt(ByteArrayOutputStream out, int value) {
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+	}
+
+	private static void writeLong(ByteArrayOutputStream out, long value) {
+		writeInt(out, (int) (value >>> 32));
+		writeInt(out, (int) value);
+	}
+}
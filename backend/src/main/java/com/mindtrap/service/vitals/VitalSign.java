@@ -0,0 +1,31 @@
+package com.mindtrap.service.vitals;
+
+/**
+ * Vital signs tracked by the in-memory detection structures. Decimal vitals are
+ * stored as scaled ints (hundredths) so windows can live in primitive arrays.
+ */
+public enum VitalSign {
+	HEART_RATE(1),
+	BLOOD_PRESSURE_SYSTOLIC(1),
+	BLOOD_PRESSURE_DIASTOLIC(1),
+	OXYGEN_SATURATION(100),
+	TEMPERATURE(100);
+
+	private final int scale;
+
+	VitalSign(int scale) {
+		this.scale = scale;
+	}
+
+	public int getScale() {
+		return scale;
+	}
+
+	public int toScaled(double value) {
+		return (int) Math.round(value * scale);
+	}
+
+	public double fromScaled(int value) {
+		return (double) value / scale;
+	}
+}
@@ -0,0 +1,128 @@
+package com.mindtrap.service.vitals;
+
+/**
+ * Fixed-capacity window of one user's most recent readings held in primitive ring
+ * buffers, plus the incremental state each detection rule needs. Every operation is
+ * O(1) (amortized for the monotonic deques). Callers synchronize on the instance.
+ */
+final class VitalWindow {
+	private static final VitalSign[] VITALS = VitalSign.values();
+
+	private final int capacity;
+	private final long[] timestamps;
+	private final int[][] values;
+	private long sequence;
+
+	private final long[] countBits;
+	private final long[][] dequeSeqs;
+	private final int[] dequeHead;
+	private final int[] dequeSize;
+
+	private volatile long lastSeen;
+
+	VitalWindow(int capacity, int countRules, int trendRules) {
+		this.capacity = capacity;
+		this.timestamps = new long[capacity];
+		this.values = new int[VITALS.length][capacity];
+		this.countBits = new long[countRules];
+		this.dequeSeqs = new long[trendRules][capacity];
+		this.dequeHead = new int[trendRules];
+		this.dequeSize = new int[trendRules];
+	}
+
+	private VitalWindow(VitalWindow source) {
+		this.capacity = source.capacity;
+		this.timestamps = source.timestamps.clone();
+		this.values = new int[source.values.length][];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = source.values[i].clone();
+		}
+		this.sequence = source.sequence;
+		this.countBits = source.countBits.clone();
+		this.dequeSeqs = new long[source.dequeSeqs.length][];
+		for (int i = 0; i < dequeSeqs.length; i++) {
+			dequeSeqs[i] = source.dequeSeqs[i].clone();
+		}
+		this.dequeHead = source.dequeHead.clone();
+		this.dequeSize = source.dequeSize.clone();
+		this.lastSeen = source.lastSeen;
+	}
+
+	/** Independent copy, for evaluating a reading that is not committed yet. */
+	VitalWindow copy() {
+		return new VitalWindow(this);
+	}
+
+	/** Appends a sample, overwriting the oldest slot, and returns its sequence number. */
+	long append(VitalSample sample) {
+		int slot = slot(sequence);
+		timestamps[slot] = sample.timestamp();
+		for (VitalSign vital : VITALS) {
+			values[vital.ordinal()][slot] = sample.get(vital);
+		}
+		lastSeen = System.currentTimeMillis();
+		return sequence++;
+	}
+
+	int value(VitalSign vital, long seq) {
+		return values[vital.ordinal()][slot(seq)];
+	}
+
+	long timestamp(long seq) {
+		return timestamps[slot(seq)];
+	}
+
+	long lastSeen() {
+		return lastSeen;
+	}
+
+	/**
+	 * Shifts the outcome of the latest reading into the rule's bit history and returns
+	 * how many of the last {@code readings} readings matched.
+	 */
+	int recordMatch(int rule, boolean match, int readings) {
+		long bits = (countBits[rule] << 1) | (match ? 1L : 0L);
+		countBits[rule] = bits;
+		long mask = readings >= Long.SIZE ? -1L : (1L << readings) - 1;
+		return Long.bitCount(bits & mask);
+	}
+
+	/**
+	 * Pushes reading {@code seq} into the rule's monotonic deque and returns the maximum
+	 * ({@code trackMax}) or minimum value of {@code vital} among readings newer than
+	 * {@code horizon} that are still inside the ring buffer.
+	 */
+	int windowExtreme(int rule, VitalSign vital, long seq, long horizon, boolean trackMax) {
+		long[] deque = dequeSeqs[rule];
+		int value = value(vital, seq);
+
+		// Drop entries whose ring slot has been overwritten; keeps the deque within capacity
+		while (dequeSize[rule] > 0 && deque[dequeHead[rule]] <= seq - capacity) {
+			dequeHead[rule] = (dequeHead[rule] + 1) % capacity;
+			dequeSize[rule]--;
+		}
+		while (dequeSize[rule] > 0) {
+			int tail = (dequeHead[rule] + dequeSize[rule] - 1) % capacity;
+			int tailValue = value(vital, deque[tail]);
+			if (trackMax ? tailValue > value : tailValue < value) {
+				break;
+			}
+			dequeSize[rule]--;
+		}
+		deque[(dequeHead[rule] + dequeSize[rule]) % capacity] = seq;
+		dequeSize[rule]++;
+
+		while (true) {
+			long front = deque[dequeHead[rule]];
+			if (front == seq || timestamp(front) >= horizon) {
+				return value(vital, front);
+			}
+			dequeHead[rule] = (dequeHead[rule] + 1) % capacity;
+			dequeSize[rule]--;
+		}
+	}
+
+	private int slot(long seq) {
+		return (int) (seq % capacity);
+	}
+}
@@ -7,7 +7,8 @@ import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -23,9 +24,20 @@ import java.util.function.Function;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtUtil {
 	private final JwtProperties jwtProperties;
+	private final Timer signTimer;
+	private final Timer parseTimer;
+
+	public JwtUtil(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+		this.jwtProperties = jwtProperties;
+		this.signTimer = Timer.builder("auth.jwt.sign")
+			.description("Building and signing an access or refresh token")
+			.register(meterRegistry);
+		this.parseTimer = Timer.builder("auth.jwt.parse")
+			.description("Verifying and parsing a token in JwtUtil")
+			.register(meterRegistry);
+	}
 
 	private SecretKey getSigningKey() {
 		String secret = jwtProperties.getSecret();
@@ -81,7 +93,7 @@ public class JwtUtil {
 		log.debug("[JWT] Token expires at: {}", new Date(expiration.toEpochMilli()));
 		log.debug("[JWT] Token issuer: {}", jwtProperties.getIssuer());
 		
-		String token = Jwts.builder()
+		String token = signTimer.record(() -> Jwts.builder()
 			.setClaims(claims)
 			.setSubject(subject)
 			.setIssuer(jwtProperties.getIssuer())
@@ -89,7 +101,7 @@ public class JwtUtil {
 			.setExpiration(Date.from(expiration))
 			// Must match SecurityConfig JwtDecoder which uses HmacSHA256 (HS256)
 			.signWith(getSigningKey(), SignatureAlgorithm.HS256)
-			.compact();
+			.compact());
 		
 		log.debug("[JWT] Token created successfully");
 		return token;
@@ -147,6 +159,7 @@ public class JwtUtil {
 
 	private Claims extractAllClaims(String token) {
 		log.debug("[JWT] Parsing and validating token with signing key");
+		Timer.Sample sample = Timer.start();
 		try {
 			SecretKey signingKey = getSigningKey();
 			Claims claims = Jwts.parserBuilder()
@@ -174,6 +187,8 @@ public class JwtUtil {
 		} catch (Exception e) {
 			log.error("[JWT] Unexpected error parsing token", e);
 			throw new JwtException("Failed to parse token", e);
+		} finally {
+			sample.stop(parseTimer);
 		}
 	}
 
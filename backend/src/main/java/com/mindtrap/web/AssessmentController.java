@@ -14,8 +14,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @RestController
@@ -33,10 +35,12 @@ public class AssessmentController {
 		@RequestParam(defaultValue = "0") int page,
 		@RequestParam(defaultValue = "50") int size,
 		@RequestParam(defaultValue = "createdAt") String sort,
-		@RequestParam(defaultValue = "DESC") Sort.Direction direction
+		@RequestParam(defaultValue = "DESC") Sort.Direction direction,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
 	) {
 		Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sort));
-		return assessmentService.getAssessments(user.getId(), type, pageable);
+		return assessmentService.getAssessments(user.getId(), type, from, to, pageable);
 	}
 
 	@GetMapping("/{id}")
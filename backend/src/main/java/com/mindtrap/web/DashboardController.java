@@ -0,0 +1,24 @@
+package com.mindtrap.web;
+
+import com.mindtrap.dto.DashboardDto;
+import com.mindtrap.security.CurrentUser;
+import com.mindtrap.security.UserPrincipal;
+import com.mindtrap.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/dashboard")
+@RequiredArgsConstructor
+@Tag(name = "Dashboard", description = "Aggregated dashboard data")
+public class DashboardController {
+	private final DashboardService dashboardService;
+
+	@GetMapping
+	@Operation(summary = "Get profile, default contact, latest assessments and recent vitals in one call")
+	public DashboardDto getDashboard(@CurrentUser UserPrincipal user) {
+		return dashboardService.getDashboard(user.getId());
+	}
+}
@@ -1,6 +1,8 @@
 package com.mindtrap.web;
 
 import com.mindtrap.dto.DoctorDto;
+import com.mindtrap.security.CurrentUser;
+import com.mindtrap.security.UserPrincipal;
 import com.mindtrap.service.DoctorSearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -17,19 +19,26 @@ public class DoctorController {
 	private final DoctorSearchService doctorSearchService;
 
 	@GetMapping("/search")
-	@Operation(summary = "Search for doctors")
+	@Operation(summary = "Search for doctors; without lat/lng, near the location of the user's profile pincode")
 	public List<DoctorDto> searchDoctors(
+		@CurrentUser UserPrincipal user,
 		@RequestParam(required = false) String term,
 		@RequestParam(required = false) Double lat,
-		@RequestParam(required = false) Double lng
+		@RequestParam(required = false) Double lng,
+		@RequestParam(required = false) String specialty,
+		@RequestParam(required = false) Double radiusKm,
+		@RequestParam(required = false) Integer limit
 	) {
-		return doctorSearchService.searchDoctors(term, lat, lng);
+		return doctorSearchService.searchDoctors(user.getId(), term, lat, lng, specialty, radiusKm, limit);
 	}
 
 	@GetMapping("/suggestions")
-	@Operation(summary = "Get specialty suggestions")
-	public List<String> getSpecialties() {
-		return doctorSearchService.getSpecialties();
+	@Operation(summary = "Autocomplete specialties, cities and provider names; all specialties when q is blank")
+	public List<String> getSuggestions(
+		@RequestParam(required = false) String q,
+		@RequestParam(defaultValue = "10") int limit
+	) {
+		return doctorSearchService.suggest(q, limit);
 	}
 }
 
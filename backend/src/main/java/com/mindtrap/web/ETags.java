@@ -0,0 +1,58 @@
+package com.mindtrap.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Strong ETags of the form {@code "<kind>-<version>"} built from a version counter. */
+final class ETags {
+	static final String PROFILE = "profile";
+	static final String CONTACTS = "contacts";
+
+	private ETags() {
+	}
+
+	static String of(String kind, long version) {
+		return "\"" + kind + "-" + version + "\"";
+	}
+
+	/**
+	 * Whether an {@code If-None-Match} header names {@code etag} (weak comparison, as for
+	 * GET) or is {@code *}. Checked by hand rather than with {@code checkNotModified}, which
+	 * would also put its tag on a full response meant to carry the body's own version.
+	 */
+	static boolean notModified(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if (tag.equals("*") || tag.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the version an {@code If-Match} header requires, or {@code null} when the
+	 * header is absent or {@code *}. Weak, foreign or malformed tags can never match.
+	 */
+	static Long expectedVersion(String ifMatch, String kind) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		String prefix = "\"" + kind + "-";
+		String tag = ifMatch.trim();
+		if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+			try {
+				return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+			} catch (NumberFormatException ignored) {
+				// falls through to 412
+			}
+		}
+		throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match the current " + kind + " version");
+	}
+}
@@ -1,5 +1,6 @@
 package com.mindtrap.web;
 
+import com.mindtrap.dto.ContactAlertResultDto;
 import com.mindtrap.dto.CreateContactRequest;
 import com.mindtrap.dto.EmergencyContactDto;
 import com.mindtrap.security.CurrentUser;
@@ -9,7 +10,10 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,8 +28,23 @@ public class EmergencyContactController {
 
 	@GetMapping
 	@Operation(summary = "Get user emergency contacts")
-	public List<EmergencyContactDto> getContacts(@CurrentUser UserPrincipal user) {
-		return contactService.getContacts(user.getId());
+	public ResponseEntity<List<EmergencyContactDto>> getContacts(
+		@CurrentUser UserPrincipal user,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+	) {
+		// The cheap version lookup only decides the 304; a full response carries the version read with its body
+		String current = ETags.of(ETags.CONTACTS, contactService.getContactsVersion(user.getId()));
+		if (ETags.notModified(ifNoneMatch, current)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+				.cacheControl(CacheControl.noCache().cachePrivate())
+				.eTag(current)
+				.build();
+		}
+		EmergencyContactService.VersionedContacts contacts = contactService.getVersionedContacts(user.getId());
+		return ResponseEntity.ok()
+			.cacheControl(CacheControl.noCache().cachePrivate())
+			.eTag(ETags.of(ETags.CONTACTS, contacts.version()))
+			.body(contacts.contacts());
 	}
 
 	@PostMapping
@@ -33,9 +52,10 @@ public class EmergencyContactController {
 	@Operation(summary = "Create new emergency contact")
 	public EmergencyContactDto createContact(
 		@CurrentUser UserPrincipal user,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
 		@Valid @RequestBody CreateContactRequest request
 	) {
-		return contactService.createContact(user.getId(), request);
+		return contactService.createContact(user.getId(), request, ETags.expectedVersion(ifMatch, ETags.CONTACTS));
 	}
 
 	@PutMapping("/{id}")
@@ -43,9 +63,10 @@ public class EmergencyContactController {
 	public EmergencyContactDto updateContact(
 		@CurrentUser UserPrincipal user,
 		@PathVariable UUID id,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
 		@Valid @RequestBody CreateContactRequest request
 	) {
-		return contactService.updateContact(user.getId(), id, request);
+		return contactService.updateContact(user.getId(), id, request, ETags.expectedVersion(ifMatch, ETags.CONTACTS));
 	}
 
 	@DeleteMapping("/{id}")
@@ -53,13 +74,21 @@ public class EmergencyContactController {
 	@Operation(summary = "Delete emergency contact")
 	public void deleteContact(
 		@CurrentUser UserPrincipal user,
-		@PathVariable UUID id
+		@PathVariable UUID id,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
 	) {
-		contactService.deleteContact(user.getId(), id);
+		contactService.deleteContact(user.getId(), id, ETags.expectedVersion(ifMatch, ETags.CONTACTS));
+	}
+
+	@PostMapping("/alert-all")
+	@Operation(summary = "Alert all emergency contacts at once")
+	public List<ContactAlertResultDto> alertAllContacts(@CurrentUser UserPrincipal user) {
+		return contactService.alertAllContacts(user.getId());
 	}
 
 	@PostMapping("/{id}/alert")
-	@Operation(summary = "Send emergency alert to contact")
+	@ResponseStatus(HttpStatus.ACCEPTED)
+	@Operation(summary = "Queue an emergency alert to contact")
 	public void sendEmergencyAlert(
 		@CurrentUser UserPrincipal user,
 		@PathVariable UUID id
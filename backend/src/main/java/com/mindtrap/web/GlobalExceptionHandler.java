@@ -2,12 +2,17 @@ package com.mindtrap.web;
 
 import com.mindtrap.dto.ApiError;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.validation.FieldError;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
@@ -102,6 +107,46 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
 	}
 
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ResponseEntity<ApiError> handleOptimisticLockingFailure(
+		ObjectOptimisticLockingFailureException ex,
+		WebRequest request
+	) {
+		ApiError error = ApiError.builder()
+			.timestamp(Instant.now())
+			.status(HttpStatus.PRECONDITION_FAILED.value())
+			.error("Precondition Failed")
+			.message("Resource was modified concurrently; reload and retry")
+			.path(request.getDescription(false).replace("uri=", ""))
+			.build();
+		return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+	}
+
+	/**
+	 * No database connection within the pool timeout: the node is saturated, which on
+	 * virtual threads shows up here rather than as a full worker pool.
+	 */
+	@ExceptionHandler({
+		CannotCreateTransactionException.class,
+		DataAccessResourceFailureException.class,
+		TransientDataAccessResourceException.class
+	})
+	public ResponseEntity<ApiError> handleDatabaseUnavailable(
+		Exception ex,
+		WebRequest request
+	) {
+		ApiError error = ApiError.builder()
+			.timestamp(Instant.now())
+			.status(HttpStatus.SERVICE_UNAVAILABLE.value())
+			.error("Service Unavailable")
+			.message("Database is busy; retry shortly")
+			.path(request.getDescription(false).replace("uri=", ""))
+			.build();
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+			.header(HttpHeaders.RETRY_AFTER, "1")
+			.body(error);
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ApiError> handleGenericException(
 		Exception ex,
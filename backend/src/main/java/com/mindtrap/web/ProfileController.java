@@ -12,6 +12,10 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -24,17 +28,36 @@ public class ProfileController {
 
 	@GetMapping("/me")
 	@Operation(summary = "Get current user profile")
-	public ProfileDto getProfile(@CurrentUser UserPrincipal user) {
-		return profileService.getProfile(user.getId());
+	public ResponseEntity<ProfileDto> getProfile(
+		@CurrentUser UserPrincipal user,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+	) {
+		// The cheap version lookup only decides the 304; a full response is tagged with the version it carries
+		String current = ETags.of(ETags.PROFILE, profileService.getVersion(user.getId()));
+		if (ETags.notModified(ifNoneMatch, current)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+				.cacheControl(CacheControl.noCache().cachePrivate())
+				.eTag(current)
+				.build();
+		}
+		ProfileDto profile = profileService.getProfile(user.getId());
+		return ResponseEntity.ok()
+			.cacheControl(CacheControl.noCache().cachePrivate())
+			.eTag(ETags.of(ETags.PROFILE, profile.getVersion()))
+			.body(profile);
 	}
 
 	@PutMapping("/me")
 	@Operation(summary = "Update current user profile")
-	public ProfileDto updateProfile(
+	public ResponseEntity<ProfileDto> updateProfile(
 		@CurrentUser UserPrincipal user,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
 		@Valid @RequestBody UpdateProfileRequest request
 	) {
-		return profileService.updateProfile(user.getId(), request);
+		ProfileDto profile = profileService.updateProfile(user.getId(), request, ETags.expectedVersion(ifMatch, ETags.PROFILE));
+		return ResponseEntity.ok()
+			.eTag(ETags.of(ETags.PROFILE, profile.getVersion()))
+			.body(profile);
 	}
 
 	@PostMapping("/initial-screening")
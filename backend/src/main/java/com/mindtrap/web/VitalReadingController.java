@@ -4,7 +4,9 @@ import com.mindtrap.dto.CreateVitalReadingRequest;
 import com.mindtrap.dto.VitalReadingDto;
 import com.mindtrap.security.CurrentUser;
 import com.mindtrap.security.UserPrincipal;
+import com.mindtrap.service.VitalExportService;
 import com.mindtrap.service.VitalReadingService;
+import com.mindtrap.service.VitalStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -12,8 +14,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @RestController
@@ -22,16 +32,41 @@ import java.util.UUID;
 @Tag(name = "Vital Readings", description = "Vital signs monitoring")
 public class VitalReadingController {
 	private final VitalReadingService vitalReadingService;
+	private final VitalStreamService vitalStreamService;
+	private final VitalExportService vitalExportService;
 
 	@GetMapping
 	@Operation(summary = "Get user vital readings")
 	public Page<VitalReadingDto> getReadings(
 		@CurrentUser UserPrincipal user,
 		@RequestParam(defaultValue = "0") int page,
-		@RequestParam(defaultValue = "50") int size
+		@RequestParam(defaultValue = "50") int size,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
 	) {
 		Pageable pageable = PageRequest.of(page, size);
-		return vitalReadingService.getReadings(user.getId(), pageable);
+		return vitalReadingService.getReadings(user.getId(), from, to, pageable);
+	}
+
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@Operation(summary = "Stream new vital readings and emergency flags (Server-Sent Events)")
+	public SseEmitter streamReadings(@CurrentUser UserPrincipal user) {
+		return vitalStreamService.subscribe(user.getId());
+	}
+
+	@GetMapping("/export")
+	@Operation(summary = "Export the full vital reading history as CSV or NDJSON")
+	public ResponseEntity<StreamingResponseBody> exportReadings(
+		@CurrentUser UserPrincipal user,
+		@RequestParam(defaultValue = "CSV") VitalExportService.Format format,
+		NativeWebRequest request
+	) {
+		UUID userId = user.getId();
+		boolean csv = format == VitalExportService.Format.CSV;
+		return ResponseEntity.ok()
+			.contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+			.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"vitals." + (csv ? "csv" : "ndjson") + "\"")
+			.body(vitalExportService.export(userId, format, request));
 	}
 
 	@GetMapping("/{id}")
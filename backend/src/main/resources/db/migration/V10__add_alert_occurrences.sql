@@ -0,0 +1,2 @@
+-- Number of alert requests a delivery stands for; > 1 for coalesced summaries
+ALTER TABLE emergency_alert_outbox ADD COLUMN IF NOT EXISTS occurrences INTEGER NOT NULL DEFAULT 1;
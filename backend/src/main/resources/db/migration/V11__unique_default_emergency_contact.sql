@@ -0,0 +1,19 @@
+-- Keep only the newest default per user before enforcing uniqueness
+UPDATE emergency_contacts c
+SET is_default = FALSE
+WHERE c.is_default
+  AND EXISTS (
+      SELECT 1 FROM emergency_contacts o
+      WHERE o.user_id = c.user_id
+        AND o.is_default
+        AND (o.created_at, o.id) > (c.created_at, c.id)
+  );
+
+-- At most one default contact per user. This is a partial unique index over
+-- (user_id) WHERE is_default, declared as an exclusion constraint so it can be
+-- DEFERRABLE: the default swap clears the old default and sets the new one in a
+-- single UPDATE, and a plain unique index would check row by row mid-statement.
+ALTER TABLE emergency_contacts
+    ADD CONSTRAINT uq_emergency_contacts_one_default
+    EXCLUDE USING btree (user_id WITH =) WHERE (is_default)
+    DEFERRABLE INITIALLY IMMEDIATE;
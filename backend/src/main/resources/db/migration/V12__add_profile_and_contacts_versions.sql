@@ -0,0 +1,12 @@
+-- Optimistic-lock version for profiles; also the profile ETag
+ALTER TABLE profiles ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Bumped on every change to a user's emergency contacts; the contacts-list ETag
+CREATE TABLE IF NOT EXISTS contact_versions (
+    user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO contact_versions (user_id)
+SELECT id FROM users
+ON CONFLICT (user_id) DO NOTHING;
@@ -0,0 +1,4 @@
+-- Pincode centroid resolved by the offline geocoder when the profile is updated; doctor
+-- search falls back to it when the client sends no location
+ALTER TABLE profiles ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE profiles ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
@@ -0,0 +1,7 @@
+-- Identity of the vitals archive directory (a marker file inside it). Every node must
+-- see the same directory, so each one checks its marker against this row at startup.
+CREATE TABLE IF NOT EXISTS vital_archive_store (
+    id SMALLINT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    store_id UUID NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
@@ -0,0 +1,3 @@
+-- Operators: the only users allowed to read or change actuator endpoints other than health.
+-- Granted by hand (UPDATE users SET admin = TRUE WHERE email = ...).
+ALTER TABLE users ADD COLUMN IF NOT EXISTS admin BOOLEAN NOT NULL DEFAULT FALSE;
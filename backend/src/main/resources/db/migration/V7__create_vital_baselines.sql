@@ -0,0 +1,16 @@
+-- Per-user running (EWMA) baseline for each vital, updated in place on every reading
+CREATE TABLE IF NOT EXISTS vital_baselines (
+    user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    sample_count INTEGER NOT NULL DEFAULT 0,
+    heart_rate_mean DOUBLE PRECISION,
+    heart_rate_variance DOUBLE PRECISION,
+    systolic_mean DOUBLE PRECISION,
+    systolic_variance DOUBLE PRECISION,
+    diastolic_mean DOUBLE PRECISION,
+    diastolic_variance DOUBLE PRECISION,
+    oxygen_saturation_mean DOUBLE PRECISION,
+    oxygen_saturation_variance DOUBLE PRECISION,
+    temperature_mean DOUBLE PRECISION,
+    temperature_variance DOUBLE PRECISION,
+    updated_at TIMESTAMP
+);
@@ -0,0 +1,11 @@
+-- Per-user time-range reads: (user_id, created_at) B-tree replaces the user_id-only index
+CREATE INDEX IF NOT EXISTS idx_vital_readings_user_created_at ON vital_readings(user_id, created_at);
+DROP INDEX IF EXISTS idx_vital_readings_user_id;
+
+CREATE INDEX IF NOT EXISTS idx_assessments_user_created_at ON assessments(user_id, created_at);
+DROP INDEX IF EXISTS idx_assessments_user_id;
+
+-- Cross-user maintenance scans (e.g. archiving) on append-ordered created_at: a BRIN index
+-- is a few pages per table and lets the scan skip every block outside the range
+CREATE INDEX IF NOT EXISTS idx_vital_readings_created_at_brin ON vital_readings USING BRIN (created_at);
+CREATE INDEX IF NOT EXISTS idx_assessments_created_at_brin ON assessments USING BRIN (created_at);
@@ -0,0 +1,20 @@
+-- Emergency alerts are written here in the request transaction and delivered asynchronously
+CREATE TABLE IF NOT EXISTS emergency_alert_outbox (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    contact_id UUID REFERENCES emergency_contacts(id) ON DELETE SET NULL,
+    recipient_name VARCHAR(255) NOT NULL,
+    recipient_phone VARCHAR(50) NOT NULL,
+    message TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    delivered_at TIMESTAMP
+);
+
+-- The dispatcher only ever scans due PENDING rows
+CREATE INDEX IF NOT EXISTS idx_emergency_alert_outbox_due
+    ON emergency_alert_outbox(next_attempt_at)
+    WHERE status = 'PENDING';
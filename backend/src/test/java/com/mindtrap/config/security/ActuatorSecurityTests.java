@@ -0,0 +1,101 @@
+package com.mindtrap.config.security;
+
+import com.mindtrap.domain.Profile;
+import com.mindtrap.domain.User;
+import com.mindtrap.repository.ProfileRepository;
+import com.mindtrap.repository.UserRepository;
+import com.mindtrap.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ActuatorSecurityTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ProfileRepository profileRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void healthIsPublic() throws Exception {
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+
+	@Test
+	void otherEndpointsRequireAuthentication() throws Exception {
+		mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+		mockMvc.perform(delete("/actuator/sqlprofile")).andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void otherEndpointsRequireAdmin() throws Exception {
+		mockMvc.perform(get("/actuator/metrics").with(user("user").roles("USER"))).andExpect(status().isForbidden());
+		mockMvc.perform(delete("/actuator/sqlprofile").with(user("user").roles("USER"))).andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/metrics").with(user("admin").roles("USER", "ADMIN"))).andExpect(status().isOk());
+	}
+
+	@Test
+	void prometheusOnTheApplicationPortRequiresAdmin() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/prometheus").with(user("user").roles("USER"))).andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/prometheus").with(user("admin").roles("USER", "ADMIN"))).andExpect(status().isOk());
+	}
+
+	@Test
+	void revokedAccessTakesEffectOnTheNextRequest() throws Exception {
+		User user = createUser();
+		String bearer = "Bearer " + jwtUtil.generateAccessToken(user.getId(), user.getEmail());
+		mockMvc.perform(get("/profiles/me").header(HttpHeaders.AUTHORIZATION, bearer)).andExpect(status().isOk());
+
+		mockMvc.perform(post("/actuator/useraccess/" + user.getId()).with(user("user").roles("USER"))
+				.contentType(MediaType.APPLICATION_JSON).content("{\"enabled\":false}"))
+			.andExpect(status().isForbidden());
+		mockMvc.perform(post("/actuator/useraccess/" + user.getId()).with(user("admin").roles("USER", "ADMIN"))
+				.contentType(MediaType.APPLICATION_JSON).content("{\"admin\":true,\"enabled\":false}"))
+			.andExpect(status().isOk());
+
+		User updated = userRepository.findById(user.getId()).orElseThrow();
+		assertThat(updated.getAdmin()).isTrue();
+		assertThat(updated.getEnabled()).isFalse();
+		mockMvc.perform(get("/profiles/me").header(HttpHeaders.AUTHORIZATION, bearer)).andExpect(status().isUnauthorized());
+	}
+
+	private User createUser() {
+		String email = UUID.randomUUID() + "@example.com";
+		return transactionTemplate.execute(status -> {
+			User saved = userRepository.save(User.builder().email(email).passwordHash("x").enabled(true).build());
+			profileRepository.save(Profile.builder().user(saved).fullName("Test User").email(email).build());
+			return saved;
+		});
+	}
+}
@@ -0,0 +1,48 @@
+package com.mindtrap.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Actuator on its own internal port: Prometheus scrapes without a token, the rest still needs an admin. */
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+	"management.server.port=0",
+	"management.server.address=127.0.0.1"
+})
+@ActiveProfiles("test")
+class ManagementPortTests {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@LocalManagementPort
+	private int managementPort;
+
+	@Test
+	void prometheusScrapesWithoutAToken() {
+		ResponseEntity<String> response = restTemplate.getForEntity(url("/actuator/prometheus"), String.class);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).contains("jvm_memory_used_bytes");
+	}
+
+	@Test
+	void otherEndpointsStillRequireAuthentication() {
+		ResponseEntity<String> response = restTemplate.getForEntity(url("/actuator/metrics"), String.class);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+	private String url(String path) {
+		return "http://127.0.0.1:" + managementPort + path;
+	}
+}
@@ -0,0 +1,97 @@
+package com.mindtrap.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against a real Postgres and asserts that time-range reads
+ * are planned on the (user_id, created_at) B-tree and cross-user scans on the BRIN index,
+ * with planner defaults on an ANALYZEd, time-ordered table.
+ */
+@SpringBootTest(properties = "vitals.archive.enabled=false")
+@Testcontainers(disabledWithoutDocker = true)
+class TimeRangeIndexPlanTests {
+	/** 500k rows: big enough that the planner's defaults reflect production choices. */
+	private static final int USERS = 100;
+	private static final int READINGS_PER_USER = 5000;
+
+	@Container
+	static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", postgres::getJdbcUrl);
+		registry.add("spring.datasource.username", postgres::getUsername);
+		registry.add("spring.datasource.password", postgres::getPassword);
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private UUID userId;
+	private Instant start;
+
+	@BeforeEach
+	void seed() {
+		jdbcTemplate.update("TRUNCATE users CASCADE");
+		start = Instant.now().minus(365, ChronoUnit.DAYS).truncatedTo(ChronoUnit.DAYS);
+		for (int u = 0; u < USERS; u++) {
+			UUID id = UUID.randomUUID();
+			jdbcTemplate.update("INSERT INTO users (id, email, password_hash) VALUES (?, ?, 'x')", id, id + "@example.com");
+			if (u == 0) {
+				userId = id;
+			}
+		}
+		// Insert in time order across users, as production traffic does, so created_at is
+		// correlated with the heap order and BRIN ranges stay tight
+		jdbcTemplate.update("""
+			INSERT INTO vital_readings (user_id, heart_rate, created_at)
+			SELECT u.id, 70, ?::timestamp + (g * interval '10 minutes')
+			FROM generate_series(0, ?) g
+			CROSS JOIN users u
+			ORDER BY g
+			""", Timestamp.from(start), READINGS_PER_USER - 1);
+		jdbcTemplate.execute("ANALYZE vital_readings");
+	}
+
+	@Test
+	void userRangeQueryUsesCompositeIndex() {
+		String plan = explain("""
+			SELECT * FROM vital_readings
+			WHERE user_id = ? AND created_at >= ? AND created_at < ?
+			ORDER BY created_at DESC LIMIT 50
+			""", userId, Timestamp.from(start.plus(10, ChronoUnit.DAYS)), Timestamp.from(start.plus(11, ChronoUnit.DAYS)));
+
+		assertThat(plan).contains("idx_vital_readings_user_created_at");
+		assertThat(plan).doesNotContain("Seq Scan");
+	}
+
+	@Test
+	void crossUserMaintenanceScanUsesBrinIndex() {
+		// The archiver's query with planner defaults: the oldest ~1% of a time-ordered table
+		String plan = explain("SELECT DISTINCT user_id FROM vital_readings WHERE created_at < ?",
+			Timestamp.from(start.plus(8, ChronoUnit.HOURS)));
+
+		assertThat(plan).contains("idx_vital_readings_created_at_brin");
+		assertThat(plan).doesNotContain("Seq Scan");
+	}
+
+	private String explain(String sql, Object... args) {
+		return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+	}
+}
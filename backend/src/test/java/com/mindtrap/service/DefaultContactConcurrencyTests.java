@@ -0,0 +1,117 @@
+package com.mindtrap.service;
+
+import com.mindtrap.dto.CreateContactRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers the default-contact swap from many threads against a real Postgres and checks
+ * that every request succeeds without retries and exactly one default remains.
+ */
+@SpringBootTest(properties = {"vitals.archive.enabled=false", "alerts.dispatch.enabled=false"})
+@Testcontainers(disabledWithoutDocker = true)
+class DefaultContactConcurrencyTests {
+	private static final int CONTACTS = 8;
+	private static final int REQUESTS = 200;
+
+	@Container
+	static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", postgres::getJdbcUrl);
+		registry.add("spring.datasource.username", postgres::getUsername);
+		registry.add("spring.datasource.password", postgres::getPassword);
+	}
+
+	@Autowired
+	private EmergencyContactService contactService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private UUID userId;
+	private final List<UUID> contactIds = new ArrayList<>();
+
+	@BeforeEach
+	void seed() {
+		jdbcTemplate.update("TRUNCATE users CASCADE");
+		userId = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO users (id, email, password_hash) VALUES (?, ?, 'x')", userId, userId + "@example.com");
+		contactIds.clear();
+		for (int i = 0; i < CONTACTS; i++) {
+			contactIds.add(contactService.createContact(userId, request("Contact " + i, i == 0), null).getId());
+		}
+	}
+
+	@Test
+	void parallelDefaultSwapsLeaveExactlyOneDefault() throws Exception {
+		List<Future<?>> results = runConcurrently(i ->
+			contactService.updateContact(userId, contactIds.get(i % CONTACTS), request(null, true), null));
+
+		for (Future<?> result : results) {
+			result.get();
+		}
+		assertThat(defaultCount()).isEqualTo(1);
+	}
+
+	@Test
+	void parallelDefaultCreatesLeaveExactlyOneDefault() throws Exception {
+		List<Future<?>> results = runConcurrently(i ->
+			contactService.createContact(userId, request("New " + i, true), null));
+
+		for (Future<?> result : results) {
+			result.get();
+		}
+		assertThat(defaultCount()).isEqualTo(1);
+	}
+
+	private List<Future<?>> runConcurrently(IntConsumer task) throws InterruptedException {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> results = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+			for (int i = 0; i < REQUESTS; i++) {
+				int index = i;
+				results.add(executor.submit(() -> {
+					start.await();
+					task.accept(index);
+					return null;
+				}));
+			}
+			start.countDown();
+		}
+		return results;
+	}
+
+	private int defaultCount() {
+		return jdbcTemplate.queryForObject(
+			"SELECT COUNT(*) FROM emergency_contacts WHERE user_id = ? AND is_default", Integer.class, userId);
+	}
+
+	private static CreateContactRequest request(String name, boolean isDefault) {
+		CreateContactRequest request = new CreateContactRequest();
+		request.setName(name);
+		request.setPhone(name == null ? null : "+100000000");
+		request.setIsDefault(isDefault);
+		return request;
+	}
+}
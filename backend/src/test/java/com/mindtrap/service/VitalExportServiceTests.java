@@ -0,0 +1,155 @@
+package com.mindtrap.service;
+
+import com.mindtrap.domain.Profile;
+import com.mindtrap.domain.User;
+import com.mindtrap.dto.VitalReadingDto;
+import com.mindtrap.repository.ProfileRepository;
+import com.mindtrap.repository.UserRepository;
+import com.mindtrap.service.vitals.VitalArchive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Exports a history spread over an archived-only month, a hot-only month, a month with
+ * rows on both sides and the current month; and checks that a slot is freed by the
+ * request's async completion even when its body never ran.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class VitalExportServiceTests {
+
+	@Autowired
+	private VitalExportService vitalExportService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ProfileRepository profileRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private VitalArchive vitalArchive;
+
+	private UUID userId;
+
+	@BeforeEach
+	void createUser() {
+		String email = UUID.randomUUID() + "@example.com";
+		User user = transactionTemplate.execute(status -> {
+			User saved = userRepository.save(User.builder().email(email).passwordHash("x").build());
+			profileRepository.save(Profile.builder().user(saved).fullName("Test User").email(email).build());
+			return saved;
+		});
+		userId = user.getId();
+	}
+
+	@Test
+	void exportsHotAndArchivedReadingsOldestFirst() throws Exception {
+		VitalReadingDto archivedOnly = reading(YearMonth.of(2025, 1), 0, 60);
+		vitalArchive.write(userId, YearMonth.of(2025, 1), List.of(archivedOnly));
+		VitalReadingDto hotOnly = reading(YearMonth.of(2025, 2), 0, 61);
+		insert(hotOnly);
+		// Archived while still hot: the shared reading must be written once
+		VitalReadingDto archivedEarlier = reading(YearMonth.of(2025, 3), 0, 62);
+		VitalReadingDto both = reading(YearMonth.of(2025, 3), 1, 63);
+		VitalReadingDto hotLater = reading(YearMonth.of(2025, 3), 2, 64);
+		vitalArchive.write(userId, YearMonth.of(2025, 3), List.of(archivedEarlier, both));
+		insert(both);
+		insert(hotLater);
+		VitalReadingDto current = VitalReadingDto.builder()
+			.id(UUID.randomUUID()).createdAt(Instant.now().truncatedTo(ChronoUnit.SECONDS)).heartRate(65).isEmergency(true).build();
+		insert(current);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		NativeWebRequest request = request();
+		vitalExportService.export(userId, VitalExportService.Format.CSV, request).writeTo(out);
+		complete(request);
+
+		List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+		assertThat(lines).hasSize(7);
+		assertThat(lines.subList(1, 7)).extracting(line -> line.split(",")[0]).containsExactly(
+			archivedOnly.getId().toString(), hotOnly.getId().toString(), archivedEarlier.getId().toString(),
+			both.getId().toString(), hotLater.getId().toString(), current.getId().toString());
+		assertThat(lines.get(6)).isEqualTo(current.getId() + "," + current.getCreatedAt() + ",65,,,,,true");
+	}
+
+	@Test
+	void slotIsFreedWhenTheRequestCompletesWithoutRunningTheBody() throws Exception {
+		List<NativeWebRequest> requests = new ArrayList<>();
+		assertThatThrownBy(() -> {
+			while (true) {
+				NativeWebRequest request = request();
+				vitalExportService.export(userId, VitalExportService.Format.NDJSON, request);
+				requests.add(request);
+			}
+		}).isInstanceOfSatisfying(ResponseStatusException.class,
+			ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+
+		// A timed-out request whose body never ran gives its slot back
+		complete(requests.remove(0));
+		NativeWebRequest request = request();
+		StreamingResponseBody body = vitalExportService.export(userId, VitalExportService.Format.NDJSON, request);
+		body.writeTo(new ByteArrayOutputStream());
+		requests.add(request);
+
+		for (NativeWebRequest pending : requests) {
+			complete(pending);
+		}
+	}
+
+	private static NativeWebRequest request() {
+		return new ServletWebRequest(new MockHttpServletRequest());
+	}
+
+	private static void complete(NativeWebRequest request) throws Exception {
+		WebAsyncUtils.getAsyncManager(request).getCallableInterceptor(VitalExportService.EXPORT_SLOT)
+			.afterCompletion(request, () -> null);
+	}
+
+	private void insert(VitalReadingDto reading) {
+		jdbcTemplate.update("INSERT INTO vital_readings (id, user_id, heart_rate, is_emergency, created_at) VALUES (?, ?, ?, ?, ?)",
+			reading.getId(), userId, reading.getHeartRate(), reading.getIsEmergency(),
+			LocalDateTime.ofInstant(reading.getCreatedAt(), ZoneOffset.UTC));
+	}
+
+	private static VitalReadingDto reading(YearMonth month, int minute, int heartRate) {
+		return VitalReadingDto.builder()
+			.id(UUID.randomUUID())
+			.createdAt(month.atDay(10).atStartOfDay(ZoneOffset.UTC).toInstant().plusSeconds(60L * minute))
+			.heartRate(heartRate)
+			.isEmergency(false)
+			.build();
+	}
+}
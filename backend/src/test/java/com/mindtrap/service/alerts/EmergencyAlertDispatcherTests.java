@@ -0,0 +1,350 @@
+package com.mindtrap.service.alerts;
+
+import com.mindtrap.domain.AlertStatus;
+import com.mindtrap.domain.EmergencyAlert;
+import com.mindtrap.repository.EmergencyAlertRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the dispatcher against the outbox table (H2 supports {@code SKIP LOCKED}) with a
+ * stub provider that can fail or block on demand. The scheduled poll is pushed out so
+ * each test drives the dispatcher itself.
+ */
+@SpringBootTest(properties = {
+	"alerts.provider=stub",
+	"alerts.dispatch.enabled=true",
+	"alerts.dispatch.poll-interval=PT1H",
+	"alerts.dispatch.lease=PT1S",
+	"alerts.dispatch.provider-timeout=PT0.5S",
+	"alerts.dispatch.initial-backoff=PT0.2S",
+	"alerts.dispatch.max-backoff=PT1S",
+	"alerts.dispatch.max-attempts=3"
+})
+@ActiveProfiles("test")
+class EmergencyAlertDispatcherTests {
+	private static final Duration DEADLINE = Duration.ofSeconds(2);
+
+	@Autowired
+	private EmergencyAlertDispatcher dispatcher;
+
+	@Autowired
+	private EmergencyAlertRepository alertRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private StubAlertProvider provider;
+
+	@BeforeEach
+	void reset() {
+		alertRepository.deleteAll();
+		provider.reset();
+	}
+
+	@Test
+	void deliversAndRecordsLatency() {
+		long latencyBefore = meterRegistry.get("alerts.delivery.latency").timer().count();
+		UUID id = queue(Instant.now(), 0);
+
+		Map<UUID, AlertStatus> statuses = dispatcher.deliverNow(List.of(id), DEADLINE);
+
+		assertThat(statuses).containsEntry(id, AlertStatus.DELIVERED);
+		assertThat(provider.delivered).extracting(AlertMessage::alertId).containsExactly(id);
+		EmergencyAlert alert = alertRepository.findById(id).orElseThrow();
+		assertThat(alert.getStatus()).isEqualTo(AlertStatus.DELIVERED);
+		assertThat(alert.getAttempts()).isEqualTo(1);
+		assertThat(alert.getDeliveredAt()).isNotNull();
+		assertThat(meterRegistry.get("alerts.delivery.latency").timer().count()).isEqualTo(latencyBefore + 1);
+	}
+
+	@Test
+	void claimSkipsAlertsLockedByAnotherDispatcher() throws Exception {
+		UUID held = queue(Instant.now(), 0);
+		UUID free = queue(Instant.now(), 0);
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		// Another node's claim transaction, still open
+		ExecutorService otherNode = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> claim = otherNode.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+				assertThat(alertRepository.lockUnclaimed(List.of(held))).hasSize(1);
+				locked.countDown();
+				await(release);
+			}));
+			assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+			Map<UUID, AlertStatus> statuses = dispatcher.deliverNow(List.of(held, free), DEADLINE);
+
+			release.countDown();
+			claim.get(5, TimeUnit.SECONDS);
+			assertThat(statuses).containsEntry(held, AlertStatus.PENDING).containsEntry(free, AlertStatus.DELIVERED);
+			assertThat(provider.delivered).extracting(AlertMessage::alertId).containsExactly(free);
+		} finally {
+			release.countDown();
+			otherNode.shutdownNow();
+		}
+	}
+
+	@Test
+	void failedAttemptIsRetriedAfterBackoff() {
+		provider.failures.set(1);
+		UUID id = queue(Instant.now(), 0);
+
+		dispatcher.wake();
+		awaitTrue(() -> provider.attempts.get() == 1 && alertRepository.findById(id).orElseThrow().getLastError() != null);
+		EmergencyAlert failed = alertRepository.findById(id).orElseThrow();
+		assertThat(failed.getStatus()).isEqualTo(AlertStatus.PENDING);
+		assertThat(failed.getAttempts()).isEqualTo(1);
+		// First backoff is 200ms with jitter in the upper half
+		Instant failedAt = Instant.now();
+		assertThat(failed.getNextAttemptAt()).isAfter(failedAt.minusMillis(150)).isBefore(failedAt.plusMillis(250));
+
+		awaitTrue(() -> {
+			dispatcher.wake();
+			return alertRepository.findById(id).orElseThrow().getStatus() == AlertStatus.DELIVERED;
+		});
+		EmergencyAlert delivered = alertRepository.findById(id).orElseThrow();
+		assertThat(delivered.getAttempts()).isEqualTo(2);
+		assertThat(delivered.getDeliveredAt()).isAfterOrEqualTo(failed.getNextAttemptAt());
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() {
+		provider.failures.set(Integer.MAX_VALUE);
+		UUID id = queue(Instant.now(), 0);
+
+		// deliverNow makes the first attempt only; retries come from the poll
+		assertThat(dispatcher.deliverNow(List.of(id), DEADLINE)).containsEntry(id, AlertStatus.PENDING);
+		awaitTrue(() -> {
+			dispatcher.wake();
+			return alertRepository.findById(id).orElseThrow().getStatus() == AlertStatus.FAILED;
+		});
+
+		EmergencyAlert alert = alertRepository.findById(id).orElseThrow();
+		assertThat(alert.getStatus()).isEqualTo(AlertStatus.FAILED);
+		assertThat(alert.getAttempts()).isEqualTo(3);
+		assertThat(alert.getLastError()).contains("provider down");
+	}
+
+	@Test
+	void claimHidesAlertForTheLease() throws Exception {
+		provider.gate = new CountDownLatch(1);
+		UUID id = queue(Instant.now(), 0);
+
+		dispatcher.wake();
+		awaitTrue(() -> provider.attempts.get() == 1);
+		// While the provider is busy the row is invisible to every other dispatcher's poll
+		EmergencyAlert claimed = alertRepository.findById(id).orElseThrow();
+		assertThat(claimed.getAttempts()).isEqualTo(1);
+		assertThat(claimed.getNextAttemptAt()).isAfter(Instant.now().plusMillis(500));
+		List<EmergencyAlert> due = transactionTemplate.execute(status -> alertRepository.lockDue(Instant.now(), 10));
+		assertThat(due).isEmpty();
+
+		provider.gate.countDown();
+		awaitTrue(() -> alertRepository.findById(id).orElseThrow().getStatus() == AlertStatus.DELIVERED);
+	}
+
+	@Test
+	void claimOfACrashedNodeExpiresAfterTheLease() {
+		// Claimed by a node that died before delivering: attempt counted, lease still running
+		UUID id = queue(Instant.now().plusMillis(700), 1);
+
+		dispatcher.wake();
+		sleep(300);
+		assertThat(provider.attempts.get()).isZero();
+
+		awaitTrue(() -> {
+			dispatcher.wake();
+			return alertRepository.findById(id).orElseThrow().getStatus() == AlertStatus.DELIVERED;
+		});
+		assertThat(alertRepository.findById(id).orElseThrow().getAttempts()).isEqualTo(2);
+	}
+
+	@Test
+	void slowProviderCallIsCutOffBeforeTheLeaseRunsOut() {
+		provider.gate = new CountDownLatch(1);
+		UUID id = queue(Instant.now(), 0);
+
+		Map<UUID, AlertStatus> statuses = dispatcher.deliverNow(List.of(id), DEADLINE);
+
+		provider.gate.countDown();
+		assertThat(statuses).containsEntry(id, AlertStatus.PENDING);
+		EmergencyAlert alert = alertRepository.findById(id).orElseThrow();
+		assertThat(alert.getStatus()).isEqualTo(AlertStatus.PENDING);
+		assertThat(alert.getLastError()).contains("did not answer within");
+		assertThat(provider.delivered).isEmpty();
+	}
+
+	@Test
+	void outcomeOfASupersededClaimIsNotRecorded() throws Exception {
+		provider.gate = new CountDownLatch(1);
+		provider.failures.set(1);
+		UUID id = queue(Instant.now(), 0);
+
+		ExecutorService caller = Executors.newSingleThreadExecutor();
+		try {
+			Future<Map<UUID, AlertStatus>> statuses = caller.submit(() -> dispatcher.deliverNow(List.of(id), DEADLINE));
+			awaitTrue(() -> provider.attempts.get() == 1);
+			// The lease ran out and another dispatcher claimed the alert again
+			transactionTemplate.executeWithoutResult(status -> alertRepository.findById(id).orElseThrow().setAttempts(2));
+			Instant nextAttemptAt = alertRepository.findById(id).orElseThrow().getNextAttemptAt();
+			provider.gate.countDown();
+
+			assertThat(statuses.get(5, TimeUnit.SECONDS)).containsEntry(id, AlertStatus.PENDING);
+			EmergencyAlert alert = alertRepository.findById(id).orElseThrow();
+			assertThat(alert.getLastError()).isNull();
+			assertThat(alert.getNextAttemptAt()).isEqualTo(nextAttemptAt);
+			assertThat(alert.getAttempts()).isEqualTo(2);
+		} finally {
+			caller.shutdownNow();
+		}
+	}
+
+	@Test
+	void alertAlreadyClaimedByThePollIsNotClaimedAgain() {
+		// The reservation ran out before deliverNow got to it, and the poll claimed it
+		UUID id = queue(Instant.now(), 1);
+
+		Map<UUID, AlertStatus> statuses = dispatcher.deliverNow(List.of(id), DEADLINE);
+
+		assertThat(statuses).containsEntry(id, AlertStatus.PENDING);
+		assertThat(provider.attempts.get()).isZero();
+		assertThat(alertRepository.findById(id).orElseThrow().getAttempts()).isEqualTo(1);
+	}
+
+	@Test
+	void claimThatWaitedTooLongForADeliveryThreadIsLeftToThePoll() {
+		UUID id = queue(Instant.now(), 0);
+		ExecutorService busy = Executors.newSingleThreadExecutor();
+		try {
+			// Queued behind work that outlasts lease minus provider timeout
+			busy.execute(() -> sleep(700));
+
+			Map<UUID, AlertStatus> statuses = dispatcher.deliverNow(List.of(id), DEADLINE, busy);
+
+			assertThat(statuses).containsEntry(id, AlertStatus.PENDING);
+			assertThat(provider.attempts.get()).isZero();
+		} finally {
+			busy.shutdownNow();
+		}
+		awaitTrue(() -> {
+			dispatcher.wake();
+			return alertRepository.findById(id).orElseThrow().getStatus() == AlertStatus.DELIVERED;
+		});
+		assertThat(provider.attempts.get()).isEqualTo(1);
+	}
+
+	@Test
+	void expiredLeaseOnTheLastAttemptFailsTheAlert() {
+		// The node that made attempt 3 of 3 died before recording the outcome
+		UUID id = queue(Instant.now(), 3);
+
+		dispatcher.wake();
+		awaitTrue(() -> alertRepository.findById(id).orElseThrow().getStatus() == AlertStatus.FAILED);
+
+		assertThat(provider.attempts.get()).isZero();
+		EmergencyAlert alert = alertRepository.findById(id).orElseThrow();
+		assertThat(alert.getAttempts()).isEqualTo(3);
+		assertThat(alert.getLastError()).contains("Lease expired");
+	}
+
+	private UUID queue(Instant nextAttemptAt, int attempts) {
+		return alertRepository.save(EmergencyAlert.builder()
+			.userId(UUID.randomUUID())
+			.recipientName("Contact")
+			.recipientPhone("+15550100")
+			.message("Emergency alert")
+			.attempts(attempts)
+			.nextAttemptAt(nextAttemptAt)
+			.build()).getId();
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+			sleep(20);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/** Records deliveries; fails the next {@code failures} attempts and can block on {@code gate}. */
+	static class StubAlertProvider implements AlertProvider {
+		final List<AlertMessage> delivered = new CopyOnWriteArrayList<>();
+		final AtomicInteger attempts = new AtomicInteger();
+		final AtomicInteger failures = new AtomicInteger();
+		volatile CountDownLatch gate;
+
+		void reset() {
+			delivered.clear();
+			attempts.set(0);
+			failures.set(0);
+			gate = null;
+		}
+
+		@Override
+		public void deliver(AlertMessage message) throws Exception {
+			attempts.incrementAndGet();
+			CountDownLatch current = gate;
+			if (current != null) {
+				current.await(5, TimeUnit.SECONDS);
+			}
+			if (failures.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0) {
+				throw new IllegalStateException("provider down");
+			}
+			delivered.add(message);
+		}
+	}
+
+	@TestConfiguration
+	static class StubProviderConfig {
+		@Bean
+		StubAlertProvider stubAlertProvider() {
+			return new StubAlertProvider();
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.mindtrap.service.diagnostics;
+
+import com.mindtrap.config.SqlProfilerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlProfilerTests {
+
+	@Test
+	void normalizesLiteralsListsAndWhitespace() {
+		assertThat(SqlProfiler.normalize("select u1_0.id from users u1_0\n\twhere u1_0.email = 'a''b@c.test' and u1_0.age > 42"))
+			.isEqualTo("select u1_0.id from users u1_0 where u1_0.email = ? and u1_0.age > ?");
+		assertThat(SqlProfiler.normalize("delete from vitals where id in (?, ?,?) and score = 3.5"))
+			.isEqualTo("delete from vitals where id in (?...) and score = ?");
+	}
+
+	@Test
+	void keepsPreparedPlaceholdersStable() {
+		String sql = "select p1_0.id,p1_0.version from profiles p1_0 where p1_0.id=?";
+		assertThat(SqlProfiler.normalize(sql)).isEqualTo(sql);
+	}
+
+	@Test
+	void countsRowsWhenTheResultSetIsClosed() throws Exception {
+		SqlProfiler profiler = profiler();
+		try (Connection connection = profiledDataSource(profiler).getConnection();
+			PreparedStatement statement = connection.prepareStatement("select x from system_range(1, 5)")) {
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					resultSet.getLong(1);
+				}
+				assertThat(resultSet.getStatement()).isSameAs(statement);
+			}
+			assertThat(rows(profiler)).isEqualTo(5);
+		}
+		assertThat(rows(profiler)).isEqualTo(5);
+	}
+
+	@Test
+	void countsRowsWhenOnlyTheStatementIsClosed() throws Exception {
+		SqlProfiler profiler = profiler();
+		try (Connection connection = profiledDataSource(profiler).getConnection()) {
+			Statement statement = connection.createStatement();
+			ResultSet resultSet = statement.executeQuery("select x from system_range(1, 3)");
+			while (resultSet.next()) {
+				resultSet.getLong(1);
+			}
+			assertThat(rows(profiler)).isZero();
+			statement.close();
+		}
+		assertThat(rows(profiler)).isEqualTo(3);
+	}
+
+	@Test
+	void readsAResultAtNearlyDriverSpeed() throws Exception {
+		JdbcDataSource h2 = h2();
+		ProfilingDataSource profiled = profiledDataSource(profiler());
+		String sql = "select x, x * 2, cast(x as varchar), x % 7 from system_range(1, 500)";
+		for (int i = 0; i < 300; i++) {
+			read(h2, sql);
+			read(profiled, sql);
+		}
+
+		// Best of several rounds, interleaved so both sides see the same machine noise
+		long raw = Long.MAX_VALUE;
+		long wrapped = Long.MAX_VALUE;
+		for (int round = 0; round < 7; round++) {
+			raw = Math.min(raw, time(h2, sql));
+			wrapped = Math.min(wrapped, time(profiled, sql));
+		}
+		// In-memory H2 is the worst case: against a database over the network the same
+		// fixed cost per statement and per getter is a far smaller share
+		assertThat(wrapped).as("profiled %d ns vs driver %d ns", wrapped, raw).isLessThan(raw * 3 / 2);
+	}
+
+	private static long time(DataSource dataSource, String sql) throws Exception {
+		long start = System.nanoTime();
+		for (int i = 0; i < 100; i++) {
+			read(dataSource, sql);
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static void read(DataSource dataSource, String sql) throws Exception {
+		try (Connection connection = dataSource.getConnection();
+			PreparedStatement statement = connection.prepareStatement(sql);
+			ResultSet resultSet = statement.executeQuery()) {
+			while (resultSet.next()) {
+				resultSet.getLong(1);
+				resultSet.getLong(2);
+				resultSet.getString(3);
+				resultSet.getInt(4);
+			}
+		}
+	}
+
+	private static SqlProfiler profiler() {
+		return new SqlProfiler(new SqlProfilerProperties(), new SimpleMeterRegistry());
+	}
+
+	private static ProfilingDataSource profiledDataSource(SqlProfiler profiler) {
+		return new ProfilingDataSource(h2(), () -> profiler);
+	}
+
+	private static JdbcDataSource h2() {
+		JdbcDataSource h2 = new JdbcDataSource();
+		h2.setURL("jdbc:h2:mem:sql-profiler");
+		return h2;
+	}
+
+	private static long rows(SqlProfiler profiler) {
+		return profiler.top(1, SqlProfiler.SortBy.ROWS).get(0).rows();
+	}
+}
@@ -0,0 +1,137 @@
+package com.mindtrap.service.doctors;
+
+import com.mindtrap.config.DoctorSearchCacheProperties;
+import com.mindtrap.dto.DoctorDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Single-flight behaviour: concurrent identical misses run one search, and a failed load,
+ * including an {@link Error}, releases every waiter and is retried by the next caller.
+ */
+class DoctorSearchCacheTests {
+	private static final int CALLERS = 8;
+	private static final DoctorSearchCache.Query QUERY =
+		new DoctorSearchCache.Query("Psychiatrist", 28.6139, 77.2090, null, null, 10);
+	private static final List<DoctorDto> RESULTS = List.of(DoctorDto.builder()
+		.id("d1").name("Dr. One").latitude(28.62).longitude(77.21).build());
+
+	private MeterRegistry meterRegistry;
+	private DoctorSearchCache cache;
+	private ExecutorService callers;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		cache = new DoctorSearchCache(new DoctorSearchCacheProperties(), meterRegistry);
+		callers = Executors.newFixedThreadPool(CALLERS);
+	}
+
+	@AfterEach
+	void tearDown() {
+		callers.shutdownNow();
+	}
+
+	@Test
+	void concurrentIdenticalMissesRunOneSearch() throws Exception {
+		AtomicInteger searches = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		List<Future<List<DoctorDto>>> calls = submitAll(query -> {
+			searches.incrementAndGet();
+			await(release);
+			return RESULTS;
+		});
+
+		awaitShared(CALLERS - 1);
+		release.countDown();
+
+		for (Future<List<DoctorDto>> call : calls) {
+			assertThat(call.get(5, TimeUnit.SECONDS)).extracting(DoctorDto::getId).containsExactly("d1");
+		}
+		assertThat(searches.get()).isEqualTo(1);
+		assertThat(counter("miss")).isEqualTo(1);
+		assertThat(cache.search(QUERY, query -> List.of())).extracting(DoctorDto::getId).containsExactly("d1");
+		assertThat(counter("hit")).isEqualTo(1);
+	}
+
+	@Test
+	void failedLoadReleasesWaitersAndIsRetried() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		List<Future<List<DoctorDto>>> calls = submitAll(query -> {
+			await(release);
+			throw new StackOverflowError("search blew up");
+		});
+
+		awaitShared(CALLERS - 1);
+		release.countDown();
+
+		for (Future<List<DoctorDto>> call : calls) {
+			assertThatThrownBy(() -> call.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+		}
+		assertThat(cache.search(QUERY, query -> RESULTS)).extracting(DoctorDto::getId).containsExactly("d1");
+		assertThat(counter("miss")).isEqualTo(2);
+	}
+
+	@Test
+	void runtimeFailureReachesEveryWaiter() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		List<Future<List<DoctorDto>>> calls = submitAll(query -> {
+			await(release);
+			throw new IllegalStateException("directory unavailable");
+		});
+
+		awaitShared(CALLERS - 1);
+		release.countDown();
+
+		for (Future<List<DoctorDto>> call : calls) {
+			assertThatThrownBy(() -> call.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+		}
+		assertThat(cache.search(QUERY, query -> RESULTS)).isNotEmpty();
+	}
+
+	private List<Future<List<DoctorDto>>> submitAll(Function<DoctorSearchCache.Query, List<DoctorDto>> search) {
+		List<Future<List<DoctorDto>>> calls = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			calls.add(callers.submit(() -> cache.search(QUERY, search)));
+		}
+		return calls;
+	}
+
+	/** Waits until all but the loading caller are parked on its future. */
+	private void awaitShared(int waiters) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (counter("miss") + counter("shared") < waiters + 1) {
+			assertThat(System.nanoTime()).as("callers did not arrive within 5s").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+		assertThat(counter("miss")).isEqualTo(1);
+	}
+
+	private long counter(String result) {
+		return (long) meterRegistry.get("doctors.search.cache").tag("result", result).counter().count();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.mindtrap.service.doctors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks grid answers against a brute-force scan over a synthetic directory clustered
+ * around a few cities, including a query across the antimeridian.
+ */
+class GeoGridIndexTests {
+	private static final int PROVIDERS = 200_000;
+	private static final double[][] CITIES = {{28.61, 77.21}, {19.08, 72.88}, {12.97, 77.59}, {-17.8, 179.9}};
+
+	private static double[] latitudes;
+	private static double[] longitudes;
+	private static GeoGridIndex index;
+
+	@BeforeAll
+	static void build() {
+		Random random = new Random(7);
+		latitudes = new double[PROVIDERS];
+		longitudes = new double[PROVIDERS];
+		for (int i = 0; i < PROVIDERS; i++) {
+			double[] city = CITIES[i % CITIES.length];
+			latitudes[i] = city[0] + random.nextGaussian() * 0.3;
+			double lng = city[1] + random.nextGaussian() * 0.3;
+			longitudes[i] = lng > 180 ? lng - 360 : lng;
+		}
+		double[] cosLatitudes = new double[PROVIDERS];
+		for (int i = 0; i < PROVIDERS; i++) {
+			cosLatitudes[i] = Geo.cosLatitude(latitudes[i]);
+		}
+		index = new GeoGridIndex(latitudes, longitudes, cosLatitudes, 0.1);
+	}
+
+	@Test
+	void nearestMatchesBruteForce() {
+		IntPredicate everyThird = provider -> provider % 3 == 0;
+		for (double[] city : CITIES) {
+			GeoHits hits = index.nearest(city[0] + 0.05, city[1] - 0.04, 25, 100, everyThird);
+			assertThat(hits.providers()).containsExactly(bruteForce(city[0] + 0.05, city[1] - 0.04, 100, 25, everyThird));
+		}
+	}
+
+	@Test
+	void withinMatchesBruteForce() {
+		for (double[] city : CITIES) {
+			GeoHits hits = index.within(city[0], city[1], 7.5, Integer.MAX_VALUE / 2, null);
+			int[] expected = bruteForce(city[0], city[1], 7.5, PROVIDERS, null);
+			assertThat(hits.providers()).containsExactly(expected);
+			assertThat(hits.distancesKm()).isSorted();
+		}
+	}
+
+	@Test
+	void nearestStaysWithinMaxRadius() {
+		GeoHits hits = index.nearest(0, 0, 10, 50, null);
+		assertThat(hits.size()).isZero();
+	}
+
+	private static int[] bruteForce(double lat, double lng, double radiusKm, int limit, IntPredicate filter) {
+		return IntStream.range(0, PROVIDERS)
+			.filter(provider -> filter == null || filter.test(provider))
+			.filter(provider -> Geo.distanceKm(lat, lng, latitudes[provider], longitudes[provider]) <= radiusKm)
+			.boxed()
+			.sorted(Comparator.comparingDouble(provider -> Geo.distanceKm(lat, lng, latitudes[provider], longitudes[provider])))
+			.limit(limit)
+			.mapToInt(Integer::intValue)
+			.toArray();
+	}
+}
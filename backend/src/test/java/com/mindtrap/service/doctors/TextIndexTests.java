@@ -0,0 +1,50 @@
+package com.mindtrap.service.doctors;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextIndexTests {
+	private static final String[] DOCUMENTS = {
+		"Dr. Priya Sharma Psychiatrist New Delhi",
+		"Dr. Rohan Mehta Psychologist Mumbai",
+		"Harmony Mental Health Clinic Bengaluru",
+		"Dr. Kavya Sharma Counselor Pune",
+		"Chennai Crisis Support Centre Crisis Center Chennai",
+	};
+
+	private final TextIndex index = TextIndex.build(DOCUMENTS);
+
+	@Test
+	void matchesEveryTokenWithPrefixOnTheLast() {
+		assertThat(index.search("sharma psy").docs()).containsExactly(0);
+		assertThat(index.search("sharma").docs()).containsExactly(0, 3);
+		assertThat(index.search("psych").docs()).containsExactly(0, 1);
+	}
+
+	@Test
+	void toleratesTyposWithinTheEditBudget() {
+		assertThat(index.search("psychiatist").docs()).containsExactly(0);
+		assertThat(index.search("mumbia").docs()).containsExactly(1);
+		assertThat(index.search("benglauru clinic").docs()).containsExactly(2);
+		// Three-letter tokens must match exactly or as a prefix
+		assertThat(index.search("pnu").size()).isZero();
+	}
+
+	@Test
+	void ranksExactAboveTypoAboveNothing() {
+		TextIndex.Matches exact = index.search("crisis");
+		TextIndex.Matches typo = index.search("crysis");
+		assertThat(exact.docs()).containsExactly(4);
+		assertThat(typo.docs()).containsExactly(4);
+		assertThat(exact.scores()[0]).isGreaterThan(typo.scores()[0]);
+	}
+
+	@Test
+	void boundedEditDistanceStopsEarly() {
+		assertThat(TextIndex.boundedEditDistance("therapist", "therapist", 2)).isZero();
+		assertThat(TextIndex.boundedEditDistance("therapist", "tehrapist", 2)).isEqualTo(1);
+		assertThat(TextIndex.boundedEditDistance("therapist", "tehrapsit", 2)).isEqualTo(2);
+		assertThat(TextIndex.boundedEditDistance("therapist", "counselor", 2)).isEqualTo(3);
+	}
+}
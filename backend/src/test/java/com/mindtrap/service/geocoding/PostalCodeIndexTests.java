@@ -0,0 +1,47 @@
+package com.mindtrap.service.geocoding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PostalCodeIndexTests {
+	private final PostalCodeIndex index = build();
+
+	private static PostalCodeIndex build() {
+		PostalCodeIndex.Builder builder = PostalCodeIndex.builder();
+		builder.add("IN", "560001", 12.97, 77.59);
+		builder.add("IN", "560038", 12.98, 77.64);
+		builder.add("IN", "110016", 28.55, 77.20);
+		builder.add("GB", "SW1A 1AA", 51.50, -0.14);
+		// Duplicate: the first row wins
+		builder.add("IN", "110016", 0, 0);
+		return builder.build();
+	}
+
+	@Test
+	void findsExactCodesAfterNormalizing() {
+		assertThat(index.size()).isEqualTo(4);
+		GeoPoint delhi = index.lookup("IN", "110016", 3);
+		assertThat(delhi.latitude()).isCloseTo(28.55, within(1e-4));
+		GeoPoint london = index.lookup("gb", "sw1a-1aa", 3);
+		assertThat(london.longitude()).isCloseTo(-0.14, within(1e-4));
+		assertThat(index.lookup("GB", "110016", 3)).isNull();
+	}
+
+	@Test
+	void fallsBackToTheCentroidOfTheLongestKnownPrefix() {
+		GeoPoint district = index.lookup("IN", "560099", 3);
+		assertThat(district.latitude()).isCloseTo(12.975, within(1e-4));
+		assertThat(district.longitude()).isCloseTo(77.615, within(1e-4));
+		assertThat(index.lookup("IN", "569999", 3)).isNull();
+	}
+
+	@Test
+	void rejectsUnusableInput() {
+		assertThat(index.lookup("IND", "560001", 3)).isNull();
+		assertThat(index.lookup("IN", "56/0001", 3)).isNull();
+		assertThat(index.lookup("IN", "", 3)).isNull();
+		assertThat(PostalCodeIndex.builder().add("IN", "560001", 91, 0)).isFalse();
+	}
+}
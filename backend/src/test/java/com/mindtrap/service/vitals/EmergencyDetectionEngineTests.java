@@ -0,0 +1,130 @@
+package com.mindtrap.service.vitals;
+
+import com.mindtrap.config.VitalDetectionProperties;
+import com.mindtrap.config.VitalDetectionProperties.Direction;
+import com.mindtrap.config.VitalDetectionProperties.Operator;
+import com.mindtrap.config.VitalDetectionProperties.RuleType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the incremental rules against brute-force evaluation over the full reading
+ * history, with a small window so the ring buffer and bit history wrap many times.
+ */
+class EmergencyDetectionEngineTests {
+	private static final UUID USER = UUID.randomUUID();
+	private static final int CAPACITY = 4;
+
+	@Test
+	void hardLimitFlagsASingleReading() {
+		EmergencyDetectionEngine engine = engine(countRule("heart-rate-critical-high", Operator.ABOVE, 180, 1, 1));
+
+		assertThat(observe(engine, heartRate(0, 90))).isEmpty();
+		assertThat(observe(engine, heartRate(1, 250))).containsExactly("heart-rate-critical-high");
+		assertThat(observe(engine, heartRate(2, 95))).isEmpty();
+	}
+
+	@Test
+	void countRuleMatchesBruteForceAcrossWrapAround() {
+		EmergencyDetectionEngine engine = engine(countRule("sustained-high", Operator.ABOVE, 120, 3, CAPACITY));
+		Random random = new Random(11);
+		List<Integer> history = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			// Missing readings count as non-matching
+			int value = random.nextInt(10) == 0 ? VitalSample.MISSING : 100 + random.nextInt(40);
+			history.add(value);
+			int hits = 0;
+			for (int j = Math.max(0, history.size() - CAPACITY); j < history.size(); j++) {
+				if (history.get(j) != VitalSample.MISSING && history.get(j) > 120) {
+					hits++;
+				}
+			}
+			assertThat(!observe(engine, heartRate(i, value)).isEmpty()).as("reading %d", i).isEqualTo(hits >= 3);
+		}
+	}
+
+	@Test
+	void trendRuleMatchesBruteForceAcrossWrapAround() {
+		VitalDetectionProperties.Rule rule = new VitalDetectionProperties.Rule();
+		rule.setName("spo2-falling");
+		rule.setVital(VitalSign.OXYGEN_SATURATION);
+		rule.setType(RuleType.TREND);
+		rule.setDirection(Direction.FALLING);
+		rule.setChange(3);
+		rule.setWithin(Duration.ofMinutes(10));
+		EmergencyDetectionEngine engine = engine(rule);
+
+		Random random = new Random(5);
+		List<long[]> history = new ArrayList<>();
+		long timestamp = 0;
+		for (int i = 0; i < 1000; i++) {
+			timestamp += random.nextInt(6) * 60_000L;
+			int value = VitalSign.OXYGEN_SATURATION.toScaled(88 + random.nextInt(12));
+			history.add(new long[] {timestamp, value});
+			// Highest value among the readings still in the ring buffer and inside the horizon
+			long highest = value;
+			for (int j = Math.max(0, history.size() - CAPACITY); j < history.size(); j++) {
+				if (history.get(j)[0] >= timestamp - Duration.ofMinutes(10).toMillis()) {
+					highest = Math.max(highest, history.get(j)[1]);
+				}
+			}
+			VitalSample sample = new VitalSample(timestamp, VitalSample.MISSING, VitalSample.MISSING,
+				VitalSample.MISSING, value, VitalSample.MISSING);
+			boolean expected = highest - value >= VitalSign.OXYGEN_SATURATION.toScaled(3);
+			assertThat(!observe(engine, sample).isEmpty()).as("reading %d", i).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void uncommittedReadingsDoNotChangeTheWindow() {
+		EmergencyDetectionEngine engine = engine(countRule("sustained-high", Operator.ABOVE, 120, 2, 2));
+
+		// Evaluated but rolled back: each one is judged against an empty window
+		for (int i = 0; i < 3; i++) {
+			assertThat(engine.evaluate(USER, heartRate(i, 140))).isEmpty();
+		}
+		assertThat(observe(engine, heartRate(3, 140))).isEmpty();
+		assertThat(engine.evaluate(USER, heartRate(4, 140))).containsExactly("sustained-high");
+	}
+
+	/** Evaluates a reading, then records it as committed. */
+	private static List<String> observe(EmergencyDetectionEngine engine, VitalSample sample) {
+		List<String> triggered = engine.evaluate(USER, sample);
+		engine.record(USER, sample);
+		return triggered;
+	}
+
+	private static EmergencyDetectionEngine engine(VitalDetectionProperties.Rule rule) {
+		VitalDetectionProperties properties = new VitalDetectionProperties();
+		properties.setWindowCapacity(CAPACITY);
+		properties.setRules(List.of(rule));
+		EmergencyDetectionEngine engine = new EmergencyDetectionEngine(properties, new SimpleMeterRegistry());
+		engine.compileRules();
+		return engine;
+	}
+
+	private static VitalDetectionProperties.Rule countRule(String name, Operator operator, double threshold,
+		int hits, int readings) {
+		VitalDetectionProperties.Rule rule = new VitalDetectionProperties.Rule();
+		rule.setName(name);
+		rule.setVital(VitalSign.HEART_RATE);
+		rule.setOperator(operator);
+		rule.setThreshold(threshold);
+		rule.setHits(hits);
+		rule.setReadings(readings);
+		return rule;
+	}
+
+	private static VitalSample heartRate(long timestamp, int heartRate) {
+		return new VitalSample(timestamp, heartRate, VitalSample.MISSING, VitalSample.MISSING,
+			VitalSample.MISSING, VitalSample.MISSING);
+	}
+}
@@ -0,0 +1,77 @@
+package com.mindtrap.service.vitals;
+
+import com.mindtrap.config.VitalArchiveProperties;
+import com.mindtrap.dto.VitalReadingDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round-trips segments through a temporary directory: lookups by id, and extending a
+ * segment that has already been read (which must replace the file in place).
+ */
+class VitalArchiveTests {
+	@TempDir
+	Path directory;
+
+	@Test
+	void findsReadingsByIdAcrossMonths() {
+		VitalArchive archive = archive();
+		UUID userId = UUID.randomUUID();
+		List<VitalReadingDto> january = readings(YearMonth.of(2026, 1), 50);
+		List<VitalReadingDto> february = readings(YearMonth.of(2026, 2), 50);
+		archive.write(userId, YearMonth.of(2026, 1), january);
+		archive.write(userId, YearMonth.of(2026, 2), february);
+
+		VitalReadingDto wanted = january.get(17);
+		assertThat(archive.find(userId, wanted.getId())).get()
+			.extracting(VitalReadingDto::getHeartRate)
+			.isEqualTo(wanted.getHeartRate());
+		assertThat(archive.find(userId, UUID.randomUUID())).isEmpty();
+		assertThat(archive.count(userId)).isEqualTo(100);
+	}
+
+	@Test
+	void extendsASegmentThatWasAlreadyRead() {
+		VitalArchive archive = archive();
+		UUID userId = UUID.randomUUID();
+		YearMonth month = YearMonth.of(2026, 3);
+		List<VitalReadingDto> readings = readings(month, 20);
+		archive.write(userId, month, readings.subList(0, 10));
+		assertThat(archive.newest(userId, 0, 5)).hasSize(5);
+
+		archive.write(userId, month, readings.subList(5, 20));
+
+		assertThat(archive.count(userId)).isEqualTo(20);
+		assertThat(archive.find(userId, readings.get(19).getId())).isPresent();
+	}
+
+	private VitalArchive archive() {
+		VitalArchiveProperties properties = new VitalArchiveProperties();
+		properties.setDirectory(directory);
+		return new VitalArchive(properties);
+	}
+
+	private static List<VitalReadingDto> readings(YearMonth month, int count) {
+		Instant start = month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+		List<VitalReadingDto> readings = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			readings.add(VitalReadingDto.builder()
+				.id(UUID.randomUUID())
+				.createdAt(start.plusSeconds(60L * i))
+				.heartRate(60 + i)
+				.isEmergency(false)
+				.build());
+		}
+		return readings;
+	}
+}
@@ -0,0 +1,99 @@
+package com.mindtrap.web;
+
+import com.mindtrap.domain.Profile;
+import com.mindtrap.domain.User;
+import com.mindtrap.repository.ProfileRepository;
+import com.mindtrap.repository.UserRepository;
+import com.mindtrap.security.UserPrincipal;
+import com.mindtrap.service.ProfileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ETagTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ProfileRepository profileRepository;
+
+	@SpyBean
+	private ProfileService profileService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private RequestPostProcessor asUser;
+
+	@BeforeEach
+	void createUser() {
+		String email = UUID.randomUUID() + "@example.com";
+		User user = transactionTemplate.execute(status -> {
+			User saved = userRepository.save(User.builder().email(email).passwordHash("x").build());
+			profileRepository.save(Profile.builder().user(saved).fullName("Test User").email(email).build());
+			return saved;
+		});
+		UserPrincipal principal = UserPrincipal.create(user);
+		asUser = authentication(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	@Test
+	void profileIsTaggedWithTheVersionItCarries() throws Exception {
+		var response = mockMvc.perform(get("/profiles/me").with(asUser))
+			.andExpect(status().isOk())
+			.andReturn().getResponse();
+
+		assertThat(response.getHeaders(HttpHeaders.ETAG)).containsExactly(ETags.of(ETags.PROFILE, 0));
+		assertThat(response.getContentAsString()).contains("\"version\":0");
+		mockMvc.perform(get("/profiles/me").with(asUser).header(HttpHeaders.IF_NONE_MATCH, ETags.of(ETags.PROFILE, 0)))
+			.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void fullResponseIsNotTaggedWithTheVersionLookup() throws Exception {
+		// The version lookup has seen a newer commit than the body that is served
+		doReturn(5L).when(profileService).getVersion(any());
+
+		var response = mockMvc.perform(get("/profiles/me").with(asUser).header(HttpHeaders.IF_NONE_MATCH, ETags.of(ETags.PROFILE, 4)))
+			.andExpect(status().isOk())
+			.andReturn().getResponse();
+
+		assertThat(response.getHeaders(HttpHeaders.ETAG)).containsExactly(ETags.of(ETags.PROFILE, 0));
+	}
+
+	@Test
+	void contactsAreTaggedWithTheVersionReadWithThem() throws Exception {
+		var response = mockMvc.perform(get("/contacts").with(asUser))
+			.andExpect(status().isOk())
+			.andReturn().getResponse();
+
+		assertThat(response.getHeaders(HttpHeaders.ETAG)).containsExactly(ETags.of(ETags.CONTACTS, 0));
+		mockMvc.perform(get("/contacts").with(asUser).header(HttpHeaders.IF_NONE_MATCH, ETags.of(ETags.CONTACTS, 0)))
+			.andExpect(status().isNotModified());
+	}
+}
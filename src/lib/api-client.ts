@@ -28,6 +28,8 @@ interface UserProfile {
   homeAddress?: string;
   country?: string;
   pincode?: string;
+  latitude?: number;
+  longitude?: number;
   initialScreeningCompleted?: boolean;
   [key: string]: any;
 }
@@ -68,6 +70,25 @@ interface VitalReading {
   createdAt: string;
 }
 
+interface ContactAlertResult {
+  contactId: string;
+  name: string;
+  phone: string;
+  status: 'DELIVERED' | 'PENDING' | 'FAILED';
+  coalesced?: boolean;
+}
+
+type DashboardSectionStatus = 'OK' | 'TIMEOUT' | 'ERROR';
+
+export interface DashboardData {
+  profile: UserProfile | null;
+  defaultContact: { id: string; name: string; phone: string; relationship?: string; isDefault: boolean } | null;
+  latestAssessments: Array<{ id: string; type: string; score: number; severity?: string; createdAt: string }> | null;
+  recentVitals: VitalReading[] | null;
+  // Sections that are not OK come back as null
+  sections: Record<'profile' | 'defaultContact' | 'latestAssessments' | 'recentVitals', DashboardSectionStatus>;
+}
+
 interface CreateVitalReadingRequest {
   heartRate: number;
   bloodPressureSystolic: number;
@@ -378,6 +399,18 @@ class ApiClient {
     }
   }
 
+  // Profile, default contact, latest assessments and recent vitals in one round trip
+  public async getDashboard(): Promise<DashboardData> {
+    const dashboard = await this.request<DashboardData>('/dashboard');
+    if (dashboard.profile) {
+      const { accessToken, refreshToken, userId } = getAuthData();
+      if (accessToken && refreshToken && userId) {
+        saveAuthData({ accessToken, refreshToken, userId }, dashboard.profile);
+      }
+    }
+    return dashboard;
+  }
+
   public async updateProfile(updates: Partial<UserProfile>): Promise<UserProfile> {
     return this.request<UserProfile>('/profiles/me', {
       method: 'PUT',
@@ -462,6 +495,63 @@ class ApiClient {
     });
   }
 
+  /**
+   * Subscribes to new readings pushed over Server-Sent Events. Uses fetch rather than
+   * EventSource so the bearer token can be sent; reconnects until the signal aborts.
+   */
+  public async streamVitals(
+    onReading: (reading: VitalReading, emergency: boolean) => void,
+    signal: AbortSignal
+  ): Promise<void> {
+    while (!signal.aborted) {
+      try {
+        const { accessToken, refreshToken } = getAuthData();
+        const response = await fetch(`${this.baseUrl}/vitals/stream`, {
+          headers: {
+            'Accept': 'text/event-stream',
+            ...(accessToken && { 'Authorization': `Bearer ${accessToken}` }),
+          },
+          credentials: 'include',
+          signal,
+        });
+
+        if (response.status === 401 && refreshToken) {
+          if (!(await this.refreshToken(refreshToken))) return;
+          continue;
+        }
+        if (!response.ok || !response.body) {
+          throw new Error(`Vital stream failed with status ${response.status}`);
+        }
+
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += value;
+          let boundary: number;
+          while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+            const frame = buffer.slice(0, boundary);
+            buffer = buffer.slice(boundary + 2);
+            let event = 'message';
+            let data = '';
+            for (const line of frame.split('\n')) {
+              if (line.startsWith('event:')) event = line.slice(6).trim();
+              else if (line.startsWith('data:')) data += line.slice(5).trim();
+            }
+            if (data && (event === 'reading' || event === 'emergency')) {
+              onReading(JSON.parse(data) as VitalReading, event === 'emergency');
+            }
+          }
+        }
+      } catch (error) {
+        if (signal.aborted) return;
+        console.warn('[API] Vital stream interrupted, reconnecting:', error);
+      }
+      await new Promise(resolve => setTimeout(resolve, 3000));
+    }
+  }
+
   // Contact Methods
   public async getContacts() {
     return this.request<Array<{
@@ -512,6 +602,13 @@ class ApiClient {
       method: 'POST',
     });
   }
+
+  // Alerts every contact in one request; the server fans out delivery
+  public async alertAllContacts() {
+    return this.request<ContactAlertResult[]>('/contacts/alert-all', {
+      method: 'POST',
+    });
+  }
 }
 
 export const apiClient = ApiClient.getInstance();
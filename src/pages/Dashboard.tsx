@@ -1,7 +1,7 @@
 import { useEffect, useState } from "react";
 import { useNavigate } from "react-router-dom";
 import { useAuth } from "@/hooks/useAuth";
-import { apiClient } from "@/lib/api-client";
+import { apiClient, type DashboardData } from "@/lib/api-client";
 import { Button } from "@/components/ui/button";
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card";
 import { toast } from "sonner";
@@ -21,6 +21,7 @@ const Dashboard = () => {
   const navigate = useNavigate();
   const { user, loading: authLoading, logout } = useAuth();
   const [profile, setProfile] = useState<any>(null);
+  const [dashboard, setDashboard] = useState<DashboardData | null>(null);
   const [loading, setLoading] = useState(true);
   const [sosRunning, setSosRunning] = useState(false);
 
@@ -44,7 +45,11 @@ const Dashboard = () => {
       }
 
       try {
-        const profileData = await apiClient.getProfile();
+        const dashboard = await apiClient.getDashboard();
+        // Fall back to the dedicated endpoint if the profile section was slow or failed
+        const profileData = dashboard.sections.profile === "OK" && dashboard.profile
+          ? dashboard.profile
+          : await apiClient.getProfile();
         
         // Check if initial screening is completed
         if (!profileData.initialScreeningCompleted) {
@@ -62,6 +67,7 @@ const Dashboard = () => {
         }
 
         setProfile(profileData);
+        setDashboard(dashboard);
       } catch (error: any) {
         console.error("Error fetching profile:", error);
         toast.error(error.message || "Failed to load profile");
@@ -85,7 +91,7 @@ const Dashboard = () => {
     setSosRunning(true);
 
     try {
-      const contacts = await apiClient.getContacts();
+      const contacts = await apiClient.alertAllContacts();
 
       if (!contacts || contacts.length === 0) {
         toast.warning("No emergency contacts found. Please add emergency contacts first.");
@@ -93,19 +99,16 @@ const Dashboard = () => {
         return;
       }
 
-      const alertPromises = contacts.map((contact: any) =>
-        apiClient.sendEmergencyAlert(contact.id).catch((err: any) => {
-          console.error(`Failed to alert ${contact.name}:`, err);
-        })
-      );
-      await Promise.all(alertPromises);
+      contacts
+        .filter((contact) => contact.status === "FAILED")
+        .forEach((contact) => console.error(`Failed to alert ${contact.name}`));
 
       toast.error("⚠️ CRITICAL: Opening Phone Link for emergency contacts...", {
         duration: 10000,
       });
 
       // Automatically open Phone Link for all contacts (browser will still require confirmation)
-      contacts.forEach((contact: any, index: number) => {
+      contacts.forEach((contact, index) => {
         setTimeout(() => {
           window.open(`tel:${contact.phone}`, "_blank");
           toast.info(`Opening Phone Link for ${contact.name} - ${contact.phone}`, {
@@ -121,6 +124,11 @@ const Dashboard = () => {
     }
   };
 
+  // Sections that timed out or failed are null; the cards then keep their default text
+  const defaultContact = dashboard?.defaultContact;
+  const latestVital = dashboard?.recentVitals?.[0];
+  const latestAssessments = dashboard?.latestAssessments ?? [];
+
   if (loading) {
     return (
       <div className="min-h-screen flex items-center justify-center bg-background">
@@ -212,6 +220,11 @@ const Dashboard = () => {
             <Phone className="w-4 h-4 mr-2" />
             {sosRunning ? "Sending SOS..." : "SOS"}
           </Button>
+          {defaultContact && (
+            <p className="text-sm text-muted-foreground mt-2 text-center">
+              Alerts all your emergency contacts, starting with {defaultContact.name} ({defaultContact.phone})
+            </p>
+          )}
         </div>
 
         {/* Quick Actions */}
@@ -220,7 +233,11 @@ const Dashboard = () => {
             <CardHeader>
               <Activity className="w-8 h-8 text-primary mb-2" />
               <CardTitle className="text-lg">Vital Monitor</CardTitle>
-              <CardDescription>Track your vital signs</CardDescription>
+              <CardDescription>
+                {latestVital
+                  ? `Last reading: ${latestVital.heartRate} bpm, ${latestVital.bloodPressureSystolic}/${latestVital.bloodPressureDiastolic} mmHg, SpO₂ ${latestVital.oxygenSaturation}%`
+                  : "Track your vital signs"}
+              </CardDescription>
             </CardHeader>
           </Card>
 
@@ -278,6 +295,19 @@ const Dashboard = () => {
               <CardDescription>View your assessment history</CardDescription>
             </CardHeader>
             <CardContent>
+              {latestAssessments.length > 0 && (
+                <ul className="mb-4 space-y-2">
+                  {latestAssessments.map((assessment) => (
+                    <li key={assessment.id} className="flex justify-between text-sm">
+                      <span className="font-medium">{assessment.type.replace(/_/g, " ")}</span>
+                      <span className="text-muted-foreground">
+                        {assessment.score}{assessment.severity ? ` · ${assessment.severity}` : ""} ·{" "}
+                        {new Date(assessment.createdAt).toLocaleDateString()}
+                      </span>
+                    </li>
+                  ))}
+                </ul>
+              )}
               <Button variant="outline" onClick={() => navigate("/history")}>
                 View History
               </Button>
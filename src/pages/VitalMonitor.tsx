@@ -43,6 +43,13 @@ const VitalMonitor = () => {
     }
 
     loadVitals();
+
+    // New readings (from this or any other tab/device) arrive over the push channel
+    const controller = new AbortController();
+    apiClient.streamVitals((reading) => {
+      setVitals(prev => [reading, ...prev.filter(v => v.id !== reading.id)].slice(0, 10));
+    }, controller.signal);
+    return () => controller.abort();
   }, [authLoading, navigate]);
 
   const loadVitals = async () => {
@@ -85,7 +92,8 @@ const VitalMonitor = () => {
         temperature: parseFloat(formData.temperature),
       };
 
-      await apiClient.createVital(vitalData);
+      const created = await apiClient.createVital(vitalData);
+      setVitals(prev => [created, ...prev.filter(v => v.id !== created.id)].slice(0, 10));
       toast.success("Vital signs recorded");
       
       const heartRateHigh = vitalData.heartRate > 105;
@@ -96,16 +104,12 @@ const VitalMonitor = () => {
       
       if (conditionsMet >= 2) {
         try {
-          const contacts = await apiClient.getContacts();
+          const contacts = await apiClient.alertAllContacts();
           
           if (contacts.length > 0) {
-            const alertPromises = contacts.map(contact => 
-              apiClient.sendEmergencyAlert(contact.id).catch(err => {
-                console.error(`Failed to alert ${contact.name}:`, err);
-              })
-            );
-            
-            await Promise.all(alertPromises);
+            contacts
+              .filter(contact => contact.status === 'FAILED')
+              .forEach(contact => console.error(`Failed to alert ${contact.name}`));
             
             toast.error("⚠️ CRITICAL: Multiple vital signs out of range! Opening Phone Link for emergency contacts...", {
               duration: 10000,
@@ -136,8 +140,6 @@ const VitalMonitor = () => {
         oxygenSaturation: "",
         temperature: "",
       });
-      
-      loadVitals();
     } catch (error: any) {
       toast.error(error.message || "Failed to record vitals");
     } finally {